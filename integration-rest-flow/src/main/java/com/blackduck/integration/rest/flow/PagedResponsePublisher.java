@@ -0,0 +1,197 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.flow;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import com.blackduck.integration.exception.IntegrationException;
+import com.blackduck.integration.rest.component.IntRestResponse;
+import com.blackduck.integration.rest.request.CursorPageRequestHandler;
+import com.blackduck.integration.rest.request.PageRequestHandler;
+import com.blackduck.integration.rest.request.Request;
+import com.blackduck.integration.rest.service.IntResponseTransformer;
+import com.blackduck.integration.rest.service.PageFetcher;
+import com.blackduck.integration.rest.service.PendingPage;
+
+/**
+ * Publishes the pages of a paged endpoint, in order, asking for each page only once the subscriber has requested it.
+ */
+public class PagedResponsePublisher<R extends IntRestResponse> implements Flow.Publisher<R> {
+    private final Supplier<PageFetcher<R>> pageFetcherSupplier;
+    private final int maxPagesInFlight;
+
+    public static <R extends IntRestResponse> PagedResponsePublisher<R> ofOffsetPages(IntResponseTransformer intResponseTransformer, Request.Builder requestBuilder,
+        PageRequestHandler pageRequestHandler, Class<R> responseClass, int pageSize, int maxPagesInFlight) {
+        return new PagedResponsePublisher<>(() -> intResponseTransformer.getPageFetcher(requestBuilder, pageRequestHandler, responseClass, pageSize), maxPagesInFlight);
+    }
+
+    public static <R extends IntRestResponse> PagedResponsePublisher<R> ofCursorPages(IntResponseTransformer intResponseTransformer, Request.Builder requestBuilder,
+        CursorPageRequestHandler cursorPageRequestHandler, Class<R> responseClass, int pageSize) {
+        return new PagedResponsePublisher<>(() -> intResponseTransformer.getPageFetcher(requestBuilder, cursorPageRequestHandler, responseClass, pageSize), 1);
+    }
+
+    /**
+     * @param pageFetcherSupplier Gives each subscription a fetcher of its own
+     */
+    public PagedResponsePublisher(Supplier<PageFetcher<R>> pageFetcherSupplier, int maxPagesInFlight) {
+        if (maxPagesInFlight < 1) {
+            throw new IllegalArgumentException("At least one page must be allowed in flight.");
+        }
+        this.pageFetcherSupplier = pageFetcherSupplier;
+        this.maxPagesInFlight = maxPagesInFlight;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super R> subscriber) {
+        Objects.requireNonNull(subscriber, "The subscriber can not be null.");
+        subscriber.onSubscribe(new PageSubscription(subscriber, pageFetcherSupplier.get()));
+    }
+
+    private class PageSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super R> subscriber;
+        private final PageFetcher<R> pageFetcher;
+        private final Deque<PendingPage<R>> pendingPages = new ArrayDeque<>();
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger drainRequests = new AtomicInteger();
+
+        private volatile boolean cancelled;
+        private volatile Throwable invalidRequest;
+        private boolean done;
+
+        private PageSubscription(Flow.Subscriber<? super R> subscriber, PageFetcher<R> pageFetcher) {
+            this.subscriber = subscriber;
+            this.pageFetcher = pageFetcher;
+        }
+
+        @Override
+        public void request(long count) {
+            if (count <= 0) {
+                invalidRequest = new IllegalArgumentException("The number of pages requested must be positive, but was " + count + ".");
+            } else {
+                requested.getAndUpdate(current -> Long.MAX_VALUE - current < count ? Long.MAX_VALUE : current + count);
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            drain();
+        }
+
+        private void drain() {
+            if (drainRequests.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                if (!done) {
+                    drainOnce();
+                }
+                missed = drainRequests.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void drainOnce() {
+            if (cancelled) {
+                finish();
+                return;
+            }
+            if (null != invalidRequest) {
+                fail(invalidRequest);
+                return;
+            }
+
+            while (requested.get() > 0 && !pendingPages.isEmpty() && pendingPages.peek().getResponse().isDone()) {
+                R response;
+                boolean morePages;
+                try {
+                    response = pendingPages.poll().getResponse().join();
+                    morePages = pageFetcher.pageReceived(response);
+                } catch (CompletionException e) {
+                    fail(null == e.getCause() ? e : e.getCause());
+                    return;
+                } catch (CancellationException | IntegrationException e) {
+                    fail(e);
+                    return;
+                }
+                if (!morePages) {
+                    cancelPendingPages();
+                }
+
+                requested.decrementAndGet();
+                try {
+                    subscriber.onNext(response);
+                } catch (Throwable e) {
+                    // the subscriber broke rule 2.13 by throwing, so the subscription is treated as cancelled
+                    cancelled = true;
+                    finish();
+                    return;
+                }
+                if (cancelled) {
+                    finish();
+                    return;
+                }
+                if (!morePages) {
+                    finish();
+                    subscriber.onComplete();
+                    return;
+                }
+            }
+
+            while (pendingPages.size() < Math.min(requested.get(), maxPagesInFlight)) {
+                Optional<PendingPage<R>> pendingPage;
+                try {
+                    pendingPage = pageFetcher.requestNextPage();
+                } catch (IntegrationException e) {
+                    fail(e);
+                    return;
+                }
+                if (!pendingPage.isPresent()) {
+                    break;
+                }
+                pendingPages.add(pendingPage.get());
+                pendingPage.get().getResponse().whenComplete((ignoredResponse, ignoredThrowable) -> drain());
+            }
+
+            if (pendingPages.isEmpty() && requested.get() > 0) {
+                // nothing is in flight and the planner has nothing more to ask for, so every page has been published
+                finish();
+                subscriber.onComplete();
+            }
+        }
+
+        private void fail(Throwable throwable) {
+            finish();
+            subscriber.onError(throwable);
+        }
+
+        private void finish() {
+            done = true;
+            cancelPendingPages();
+        }
+
+        private void cancelPendingPages() {
+            PendingPage<R> pendingPage;
+            while (null != (pendingPage = pendingPages.poll())) {
+                pendingPage.cancel();
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,371 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * Generates a Gson TypeAdapter for every component marked with GenerateTypeAdapter.
+ */
+public class TypeAdapterProcessor extends AbstractProcessor {
+    private static final String GENERATE_TYPE_ADAPTER = "com.blackduck.integration.rest.component.GenerateTypeAdapter";
+    private static final String INT_REST_COMPONENT = "com.blackduck.integration.rest.component.IntRestComponent";
+    private static final String INT_REST_RESPONSE = "com.blackduck.integration.rest.component.IntRestResponse";
+    private static final String SERIALIZED_NAME = "com.google.gson.annotations.SerializedName";
+    private static final String JSON_ADAPTER = "com.google.gson.annotations.JsonAdapter";
+    private static final String ADAPTER_SUFFIX = "_TypeAdapter";
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(GENERATE_TYPE_ADAPTER);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnvironment) {
+        TypeElement generateTypeAdapter = processingEnv.getElementUtils().getTypeElement(GENERATE_TYPE_ADAPTER);
+        if (null == generateTypeAdapter) {
+            return false;
+        }
+        for (Element element : roundEnvironment.getElementsAnnotatedWith(generateTypeAdapter)) {
+            try {
+                generateTypeAdapter(asComponent(element));
+            } catch (InvalidComponentException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, e.getMessage(), e.getElement());
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Could not write the type adapter: " + e.getMessage(), element);
+            }
+        }
+        return true;
+    }
+
+    private TypeElement asComponent(Element element) throws InvalidComponentException {
+        if (ElementKind.CLASS != element.getKind()) {
+            throw new InvalidComponentException("Only a class can have a generated type adapter.", element);
+        }
+        TypeElement component = (TypeElement) element;
+        TypeElement intRestComponent = processingEnv.getElementUtils().getTypeElement(INT_REST_COMPONENT);
+        if (null == intRestComponent || !processingEnv.getTypeUtils().isAssignable(component.asType(), intRestComponent.asType())) {
+            throw new InvalidComponentException("A class with a generated type adapter must extend IntRestComponent.", component);
+        }
+        if (component.getModifiers().contains(Modifier.ABSTRACT)) {
+            throw new InvalidComponentException("A class with a generated type adapter must not be abstract.", component);
+        }
+        if (!component.getTypeParameters().isEmpty()) {
+            throw new InvalidComponentException("A class with a generated type adapter must not be generic.", component);
+        }
+        if (NestingKind.TOP_LEVEL != component.getNestingKind() && (NestingKind.MEMBER != component.getNestingKind() || !component.getModifiers().contains(Modifier.STATIC))) {
+            throw new InvalidComponentException("A nested class with a generated type adapter must be a static member class.", component);
+        }
+        for (Element enclosing = component; enclosing instanceof TypeElement; enclosing = enclosing.getEnclosingElement()) {
+            if (enclosing.getModifiers().contains(Modifier.PRIVATE)) {
+                throw new InvalidComponentException("A class with a generated type adapter must be visible from its package.", component);
+            }
+        }
+        boolean hasConstructor = ElementFilter.constructorsIn(component.getEnclosedElements()).stream()
+                                     .anyMatch(constructor -> constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE));
+        if (!hasConstructor) {
+            throw new InvalidComponentException("A class with a generated type adapter must have a constructor without arguments that is visible from its package.", component);
+        }
+        return component;
+    }
+
+    private void generateTypeAdapter(TypeElement component) throws InvalidComponentException, IOException {
+        List<BoundField> boundFields = findBoundFields(component);
+        PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(component);
+        String packageName = packageElement.getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(component).toString();
+        String adapterSimpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)).replace('$', '_') + ADAPTER_SUFFIX;
+        String componentName = component.getQualifiedName().toString();
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("/**\n * Generated by ").append(TypeAdapterProcessor.class.getName()).append(" from ").append(componentName).append(" - do not edit.\n */\n");
+        source.append("@SuppressWarnings({\"rawtypes\", \"unchecked\"})\n");
+        source.append("public final class ").append(adapterSimpleName).append(" extends com.google.gson.TypeAdapter<").append(componentName).append("> {\n");
+        for (BoundField boundField : boundFields) {
+            source.append("    private final com.google.gson.TypeAdapter<").append(boundField.adapterType).append("> ").append(boundField.adapterField).append(";\n");
+        }
+
+        source.append("\n    public ").append(adapterSimpleName).append("(com.google.gson.Gson gson) {\n");
+        for (BoundField boundField : boundFields) {
+            source.append("        this.").append(boundField.adapterField).append(" = ").append(boundField.adapterLookup).append(";\n");
+        }
+        source.append("    }\n");
+
+        source.append("\n    @Override\n");
+        source.append("    public void write(com.google.gson.stream.JsonWriter out, ").append(componentName).append(" value) throws java.io.IOException {\n");
+        source.append("        if (null == value) {\n            out.nullValue();\n            return;\n        }\n");
+        source.append("        out.beginObject();\n");
+        for (BoundField boundField : boundFields) {
+            source.append("        out.name(").append(quote(boundField.names.get(0))).append(");\n");
+            source.append("        ").append(boundField.adapterField).append(".write(out, ").append(boundField.getter).append(");\n");
+        }
+        source.append("        out.endObject();\n    }\n");
+
+        source.append("\n    @Override\n");
+        source.append("    public ").append(componentName).append(" read(com.google.gson.stream.JsonReader in) throws java.io.IOException {\n");
+        source.append("        if (com.google.gson.stream.JsonToken.NULL == in.peek()) {\n            in.nextNull();\n            return null;\n        }\n");
+        source.append("        ").append(componentName).append(" value = new ").append(componentName).append("();\n");
+        source.append("        in.beginObject();\n");
+        source.append("        while (in.hasNext()) {\n");
+        source.append("            switch (in.nextName()) {\n");
+        for (BoundField boundField : boundFields) {
+            for (String name : boundField.names) {
+                source.append("                case ").append(quote(name)).append(":\n");
+            }
+            source.append("                {\n");
+            source.append("                    ").append(boundField.adapterType).append(" fieldValue = ").append(boundField.adapterField).append(".read(in);\n");
+            if (boundField.primitive) {
+                source.append("                    if (null != fieldValue) {\n                        ").append(boundField.setter).append(";\n                    }\n");
+            } else {
+                source.append("                    ").append(boundField.setter).append(";\n");
+            }
+            source.append("                    break;\n                }\n");
+        }
+        source.append("                default:\n                    in.skipValue();\n");
+        source.append("            }\n        }\n");
+        source.append("        in.endObject();\n        return value;\n    }\n\n}\n");
+
+        String adapterName = packageName.isEmpty() ? adapterSimpleName : packageName + "." + adapterSimpleName;
+        JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(adapterName, component);
+        try (Writer writer = sourceFile.openWriter()) {
+            writer.write(source.toString());
+        }
+    }
+
+    // Subclass fields come first, as they do for Gson's reflective adapter
+    private List<BoundField> findBoundFields(TypeElement component) throws InvalidComponentException {
+        List<BoundField> boundFields = new ArrayList<>();
+        Set<String> boundNames = new HashSet<>();
+        DeclaredType componentType = (DeclaredType) component.asType();
+        for (TypeElement declaringType = component; null != declaringType; declaringType = findSuperclass(declaringType)) {
+            String declaringTypeName = declaringType.getQualifiedName().toString();
+            if (INT_REST_COMPONENT.equals(declaringTypeName) || INT_REST_RESPONSE.equals(declaringTypeName) || Object.class.getName().equals(declaringTypeName)) {
+                break;
+            }
+            for (VariableElement field : ElementFilter.fieldsIn(declaringType.getEnclosedElements())) {
+                if (field.getModifiers().contains(Modifier.STATIC) || field.getModifiers().contains(Modifier.TRANSIENT)) {
+                    continue;
+                }
+                if (findAnnotation(field, JSON_ADAPTER).isPresent()) {
+                    throw new InvalidComponentException("A field with a JsonAdapter annotation can not be bound by a generated type adapter.", field);
+                }
+                BoundField boundField = createBoundField(component, componentType, declaringType, field, boundFields.size());
+                for (String name : boundField.names) {
+                    if (!boundNames.add(name)) {
+                        throw new InvalidComponentException(String.format("%s declares more than one json member named %s.", component.getQualifiedName(), name), field);
+                    }
+                }
+                boundFields.add(boundField);
+            }
+        }
+        return boundFields;
+    }
+
+    private BoundField createBoundField(TypeElement component, DeclaredType componentType, TypeElement declaringType, VariableElement field, int index)
+        throws InvalidComponentException {
+        // the type arguments of the superclasses are known, so the type of every field is too
+        TypeMirror fieldType = processingEnv.getTypeUtils().asMemberOf(componentType, field);
+        boolean primitive = fieldType.getKind().isPrimitive();
+        String adapterType = primitive ? processingEnv.getTypeUtils().boxedClass((PrimitiveType) fieldType).getQualifiedName().toString() : fieldType.toString();
+        String adapterLookup;
+        if (primitive || isRawType(fieldType)) {
+            adapterLookup = "gson.getAdapter(" + processingEnv.getTypeUtils().erasure(fieldType) + ".class)";
+        } else {
+            adapterLookup = "gson.getAdapter(new com.google.gson.reflect.TypeToken<" + adapterType + ">() {})";
+        }
+
+        String fieldName = field.getSimpleName().toString();
+        // a superclass field may be hidden by a subclass field of the same name
+        String target = component.equals(declaringType) ? "value" : "((" + findSupertype(componentType, declaringType) + ") value)";
+        String getter;
+        String setter;
+        if (isVisible(component, declaringType, field)) {
+            getter = target + "." + fieldName;
+            setter = target + "." + fieldName + " = fieldValue";
+        } else {
+            String propertyName = fieldName.substring(0, 1).toUpperCase(Locale.ENGLISH) + fieldName.substring(1);
+            Optional<ExecutableElement> getterMethod = findMethod(component, "get" + propertyName, 0);
+            if (!getterMethod.isPresent() && TypeKind.BOOLEAN == fieldType.getKind()) {
+                getterMethod = findMethod(component, "is" + propertyName, 0);
+            }
+            Optional<ExecutableElement> setterMethod = findMethod(component, "set" + propertyName, 1);
+            if (!getterMethod.isPresent() || !setterMethod.isPresent()) {
+                throw new InvalidComponentException(String.format("The field %s must either be visible from the package of %s or have a getter and a setter that are.", fieldName,
+                    component.getQualifiedName()), field);
+            }
+            getter = "value." + getterMethod.get().getSimpleName() + "()";
+            setter = "value." + setterMethod.get().getSimpleName() + "(fieldValue)";
+        }
+
+        List<String> names = new ArrayList<>();
+        Optional<? extends AnnotationMirror> serializedName = findAnnotation(field, SERIALIZED_NAME);
+        if (serializedName.isPresent()) {
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value : processingEnv.getElementUtils().getElementValuesWithDefaults(serializedName.get()).entrySet()) {
+                String valueName = value.getKey().getSimpleName().toString();
+                if ("value".equals(valueName)) {
+                    names.add(0, (String) value.getValue().getValue());
+                } else if ("alternate".equals(valueName)) {
+                    for (Object alternate : (List<?>) value.getValue().getValue()) {
+                        names.add((String) ((AnnotationValue) alternate).getValue());
+                    }
+                }
+            }
+        } else {
+            names.add(fieldName);
+        }
+        return new BoundField(names, adapterType, "adapter" + index, adapterLookup, getter, setter, primitive);
+    }
+
+    private boolean isVisible(TypeElement component, TypeElement declaringType, Element member) {
+        Set<Modifier> modifiers = member.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE)) {
+            return false;
+        }
+        if (modifiers.contains(Modifier.PUBLIC) && isVisibleType(declaringType)) {
+            return true;
+        }
+        return processingEnv.getElementUtils().getPackageOf(component).equals(processingEnv.getElementUtils().getPackageOf(declaringType));
+    }
+
+    private boolean isVisibleType(TypeElement typeElement) {
+        for (Element enclosing = typeElement; enclosing instanceof TypeElement; enclosing = enclosing.getEnclosingElement()) {
+            if (!enclosing.getModifiers().contains(Modifier.PUBLIC)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Optional<ExecutableElement> findMethod(TypeElement component, String methodName, int parameterCount) {
+        return ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(component)).stream()
+                   .filter(method -> method.getSimpleName().contentEquals(methodName))
+                   .filter(method -> method.getParameters().size() == parameterCount && !method.getModifiers().contains(Modifier.STATIC))
+                   .filter(method -> isVisible(component, (TypeElement) method.getEnclosingElement(), method))
+                   .findFirst();
+    }
+
+    private Optional<? extends AnnotationMirror> findAnnotation(Element element, String annotationName) {
+        return element.getAnnotationMirrors().stream()
+                   .filter(annotation -> ((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationName))
+                   .findFirst();
+    }
+
+    private TypeElement findSuperclass(TypeElement typeElement) {
+        TypeMirror superclass = typeElement.getSuperclass();
+        return TypeKind.DECLARED == superclass.getKind() ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+    }
+
+    // the superclass with the type arguments the component gives it, so that its fields have their resolved types
+    private DeclaredType findSupertype(DeclaredType type, TypeElement supertypeElement) {
+        for (TypeMirror supertype : processingEnv.getTypeUtils().directSupertypes(type)) {
+            if (TypeKind.DECLARED == supertype.getKind() && ((DeclaredType) supertype).asElement().getKind() == ElementKind.CLASS) {
+                DeclaredType superclass = (DeclaredType) supertype;
+                return supertypeElement.equals(superclass.asElement()) ? superclass : findSupertype(superclass, supertypeElement);
+            }
+        }
+        throw new IllegalArgumentException(supertypeElement + " is not a superclass of " + type);
+    }
+
+    private boolean isRawType(TypeMirror type) {
+        if (TypeKind.ARRAY == type.getKind()) {
+            return isRawType(((ArrayType) type).getComponentType());
+        }
+        return TypeKind.DECLARED != type.getKind() || ((DeclaredType) type).getTypeArguments().isEmpty();
+    }
+
+    private String quote(String value) {
+        StringBuilder quoted = new StringBuilder("\"");
+        for (char character : value.toCharArray()) {
+            if ('"' == character || '\\' == character) {
+                quoted.append('\\').append(character);
+            } else if (character < 0x20 || character > 0x7e) {
+                quoted.append(String.format("\\u%04x", (int) character));
+            } else {
+                quoted.append(character);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    private static class BoundField {
+        private final List<String> names;
+        private final String adapterType;
+        private final String adapterField;
+        private final String adapterLookup;
+        private final String getter;
+        private final String setter;
+        private final boolean primitive;
+
+        private BoundField(List<String> names, String adapterType, String adapterField, String adapterLookup, String getter, String setter, boolean primitive) {
+            this.names = names;
+            this.adapterType = adapterType;
+            this.adapterField = adapterField;
+            this.adapterLookup = adapterLookup;
+            this.getter = getter;
+            this.setter = setter;
+            this.primitive = primitive;
+        }
+
+    }
+
+    private static class InvalidComponentException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Element element;
+
+        private InvalidComponentException(String message, Element element) {
+            super(message);
+            this.element = element;
+        }
+
+        private Element getElement() {
+            return element;
+        }
+
+    }
+
+}
@@ -0,0 +1,265 @@
+package com.blackduck.integration.rest.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.blackduck.integration.rest.component.GeneratedTypeAdapterFactory;
+import com.google.gson.FieldNamingPolicy;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+public class TypeAdapterProcessorTest {
+    private static final String NAMED = String.join("\n",
+        "package sample;",
+        "import com.blackduck.integration.rest.component.IntRestComponent;",
+        "public class Named extends IntRestComponent {",
+        "    String name;",
+        "}");
+    private static final String PROJECT = String.join("\n",
+        "package sample;",
+        "import com.blackduck.integration.rest.component.GenerateTypeAdapter;",
+        "import com.google.gson.annotations.SerializedName;",
+        "@GenerateTypeAdapter",
+        "public class Project extends Named {",
+        "    @SerializedName(value = \"version_count\", alternate = { \"versionCount\", \"versions\" })",
+        "    int versionCount = 7;",
+        "    private boolean active;",
+        "    transient String ignored;",
+        "    public boolean isActive() { return active; }",
+        "    public void setActive(boolean active) { this.active = active; }",
+        "}");
+
+    private final List<Path> outputDirectories = new ArrayList<>();
+
+    @AfterEach
+    public void deleteOutput() throws IOException {
+        for (Path outputDirectory : outputDirectories) {
+            try (Stream<Path> paths = Files.walk(outputDirectory)) {
+                for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testGeneratedSource() throws IOException {
+        Compilation compilation = compile(NAMED, PROJECT);
+        assertTrue(compilation.succeeded, compilation.errors.toString());
+
+        String source = new String(Files.readAllBytes(compilation.sourceOutput.resolve("sample/Project_TypeAdapter.java")), StandardCharsets.UTF_8);
+        assertTrue(source.contains("public final class Project_TypeAdapter extends com.google.gson.TypeAdapter<sample.Project>"));
+        assertTrue(source.contains("public Project_TypeAdapter(com.google.gson.Gson gson)"));
+        assertTrue(source.contains("out.name(\"version_count\");"));
+        assertTrue(source.contains("case \"versions\":"));
+        assertTrue(source.contains("value.setActive(fieldValue);"));
+        assertTrue(source.contains("((sample.Named) value).name = fieldValue;"));
+        assertFalse(source.contains("ignored"));
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        Compilation compilation = compile(NAMED, PROJECT);
+        assertTrue(compilation.succeeded, compilation.errors.toString());
+
+        try (URLClassLoader classLoader = compilation.newClassLoader()) {
+            Class<?> projectClass = classLoader.loadClass("sample.Project");
+            Gson gson = new GsonBuilder().registerTypeAdapterFactory(new GeneratedTypeAdapterFactory()).create();
+            assertEquals("sample.Project_TypeAdapter", gson.getAdapter(projectClass).getClass().getName());
+
+            // subclass fields are written first, unknown members are skipped and every name and alternate is read
+            String json = "{\"name\":\"a\",\"unknown\":[1,{\"b\":2}],\"versions\":3,\"active\":true}";
+            assertEquals("{\"version_count\":3,\"active\":true,\"name\":\"a\"}", gson.toJson(gson.fromJson(json, projectClass)));
+            assertEquals("{\"version_count\":4,\"active\":false}", gson.toJson(gson.fromJson("{\"versionCount\":4}", projectClass)));
+            assertEquals("{\"version_count\":5,\"active\":false}", gson.toJson(gson.fromJson("{\"version_count\":5}", projectClass)));
+            assertEquals("null", gson.toJson(gson.fromJson("null", projectClass)));
+        }
+    }
+
+    @Test
+    public void testGenericSuperclass() throws Exception {
+        Compilation compilation = compile(
+            "package sample; import java.util.List; public class Tagged<T> extends com.blackduck.integration.rest.component.IntRestComponent { T tag; List<T> tags; }",
+            "package sample; @com.blackduck.integration.rest.component.GenerateTypeAdapter public class Release extends Tagged<Integer> {}");
+        assertTrue(compilation.succeeded, compilation.errors.toString());
+
+        try (URLClassLoader classLoader = compilation.newClassLoader()) {
+            Class<?> releaseClass = classLoader.loadClass("sample.Release");
+            Gson gson = new GsonBuilder().registerTypeAdapterFactory(new GeneratedTypeAdapterFactory()).create();
+            // read as integers, rather than as the doubles Gson reads numbers of an unknown type as
+            assertEquals("{\"tag\":1,\"tags\":[2,3]}", gson.toJson(gson.fromJson("{\"tag\":1,\"tags\":[2,3]}", releaseClass)));
+        }
+    }
+
+    @Test
+    public void testNullLeavesPrimitivesUnset() throws Exception {
+        Compilation compilation = compile(NAMED, PROJECT);
+        assertTrue(compilation.succeeded, compilation.errors.toString());
+
+        try (URLClassLoader classLoader = compilation.newClassLoader()) {
+            Class<?> projectClass = classLoader.loadClass("sample.Project");
+            Gson gson = new GsonBuilder().registerTypeAdapterFactory(new GeneratedTypeAdapterFactory()).serializeNulls().create();
+            String json = "{\"version_count\":null,\"active\":null,\"name\":null}";
+            assertEquals("{\"version_count\":7,\"active\":false,\"name\":null}", gson.toJson(gson.fromJson(json, projectClass)));
+        }
+    }
+
+    @Test
+    public void testOnlyUsedWithoutRenaming() throws Exception {
+        Compilation compilation = compile(NAMED, PROJECT);
+        assertTrue(compilation.succeeded, compilation.errors.toString());
+
+        try (URLClassLoader classLoader = compilation.newClassLoader()) {
+            Class<?> projectClass = classLoader.loadClass("sample.Project");
+            Gson gson = new GsonBuilder().setFieldNamingPolicy(FieldNamingPolicy.UPPER_CAMEL_CASE).registerTypeAdapterFactory(new GeneratedTypeAdapterFactory()).create();
+            assertNotEquals("sample.Project_TypeAdapter", gson.getAdapter(projectClass).getClass().getName());
+        }
+    }
+
+    @Test
+    public void testInvalidComponents() throws IOException {
+        assertError("Only a class can have a generated type adapter.",
+            "@GenerateTypeAdapter public interface Sample {}");
+        assertError("A class with a generated type adapter must extend IntRestComponent.",
+            "@GenerateTypeAdapter public class Sample {}");
+        assertError("A class with a generated type adapter must not be abstract.",
+            "@GenerateTypeAdapter public abstract class Sample extends IntRestComponent {}");
+        assertError("A class with a generated type adapter must not be generic.",
+            "@GenerateTypeAdapter public class Sample<T> extends IntRestComponent {}");
+        assertError("A nested class with a generated type adapter must be a static member class.",
+            "public class Sample { @GenerateTypeAdapter public class Inner extends IntRestComponent {} }");
+        assertError("A class with a generated type adapter must be visible from its package.",
+            "public class Sample { @GenerateTypeAdapter private static class Inner extends IntRestComponent {} }");
+        assertError("A class with a generated type adapter must have a constructor without arguments that is visible from its package.",
+            "@GenerateTypeAdapter public class Sample extends IntRestComponent { public Sample(String name) {} }");
+        assertError("A field with a JsonAdapter annotation can not be bound by a generated type adapter.",
+            "@GenerateTypeAdapter public class Sample extends IntRestComponent { @com.google.gson.annotations.JsonAdapter(Object.class) String name; }");
+        assertError("sample.Sample declares more than one json member named a.",
+            "@GenerateTypeAdapter public class Sample extends IntRestComponent { String a; @com.google.gson.annotations.SerializedName(value = \"b\", alternate = \"a\") String b; }");
+        assertError("The field name must either be visible from the package of sample.Sample or have a getter and a setter that are.",
+            "@GenerateTypeAdapter public class Sample extends IntRestComponent { private String name; public String getName() { return name; } }");
+    }
+
+    @Test
+    public void testAdapterThatCanNotBeWritten() throws IOException {
+        // both components would get an adapter named sample.Sample_Inner_TypeAdapter
+        Compilation compilation = compile(
+            "package sample; import com.blackduck.integration.rest.component.*; @GenerateTypeAdapter public class Sample_Inner extends IntRestComponent {}",
+            "package sample; import com.blackduck.integration.rest.component.*; public class Sample { @GenerateTypeAdapter public static class Inner extends IntRestComponent {} }");
+        assertFalse(compilation.succeeded);
+        assertTrue(compilation.errors.stream().anyMatch(error -> error.startsWith("Could not write the type adapter: ")), compilation.errors.toString());
+    }
+
+    private void assertError(String expectedError, String sampleDeclaration) throws IOException {
+        Compilation compilation = compile("package sample; import com.blackduck.integration.rest.component.*; " + sampleDeclaration);
+        assertFalse(compilation.succeeded, sampleDeclaration);
+        assertEquals(Collections.singletonList(expectedError), compilation.errors);
+    }
+
+    private Compilation compile(String... sources) throws IOException {
+        Path classOutput = createOutputDirectory("classes");
+        Path sourceOutput = createOutputDirectory("sources");
+        List<JavaFileObject> sourceFiles = new ArrayList<>();
+        for (String source : sources) {
+            sourceFiles.add(new SampleSource(source));
+        }
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, Locale.ENGLISH, StandardCharsets.UTF_8)) {
+            fileManager.setLocation(StandardLocation.CLASS_OUTPUT, Collections.singletonList(classOutput.toFile()));
+            fileManager.setLocation(StandardLocation.SOURCE_OUTPUT, Collections.singletonList(sourceOutput.toFile()));
+            List<String> options = Arrays.asList("-classpath", System.getProperty("java.class.path"));
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null, sourceFiles);
+            task.setProcessors(Collections.singletonList(new TypeAdapterProcessor()));
+            boolean succeeded = task.call();
+            List<String> errors = diagnostics.getDiagnostics().stream()
+                                      .filter(diagnostic -> Diagnostic.Kind.ERROR == diagnostic.getKind())
+                                      .map(diagnostic -> diagnostic.getMessage(Locale.ENGLISH))
+                                      .collect(Collectors.toList());
+            return new Compilation(succeeded, errors, classOutput, sourceOutput);
+        }
+    }
+
+    private Path createOutputDirectory(String prefix) throws IOException {
+        Path outputDirectory = Files.createTempDirectory(prefix);
+        outputDirectories.add(outputDirectory);
+        return outputDirectory;
+    }
+
+    private static class SampleSource extends SimpleJavaFileObject {
+        private final String source;
+
+        private SampleSource(String source) {
+            super(URI.create("string:///" + findClassName(source).replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.source = source;
+        }
+
+        private static String findClassName(String source) {
+            Matcher packageName = Pattern.compile("package ([\\w.]+);").matcher(source);
+            Matcher typeName = Pattern.compile("(?:class|interface) (\\w+)").matcher(source);
+            packageName.find();
+            typeName.find();
+            return packageName.group(1) + "." + typeName.group(1);
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return source;
+        }
+
+    }
+
+    private static class Compilation {
+        private final boolean succeeded;
+        private final List<String> errors;
+        private final Path classOutput;
+        private final Path sourceOutput;
+
+        private Compilation(boolean succeeded, List<String> errors, Path classOutput, Path sourceOutput) {
+            this.succeeded = succeeded;
+            this.errors = errors;
+            this.classOutput = classOutput;
+            this.sourceOutput = sourceOutput;
+        }
+
+        private URLClassLoader newClassLoader() throws IOException {
+            URL[] urls = { classOutput.toUri().toURL() };
+            return new URLClassLoader(urls, TypeAdapterProcessorTest.class.getClassLoader());
+        }
+
+    }
+
+}
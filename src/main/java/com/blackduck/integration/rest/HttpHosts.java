@@ -0,0 +1,37 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest;
+
+import java.net.URI;
+
+import org.apache.http.HttpHost;
+
+/**
+ * Keys every per-host setting and state by host.
+ */
+public final class HttpHosts {
+    private HttpHosts() {
+    }
+
+    /**
+     * @return The scheme, host and port of the uri, with the default port of the scheme when the uri has none
+     */
+    public static HttpHost fromUri(URI uri) {
+        String scheme = null == uri.getScheme() ? "http" : uri.getScheme();
+        int port = uri.getPort();
+        if (port < 0) {
+            port = "https".equalsIgnoreCase(scheme) ? 443 : 80;
+        }
+        return new HttpHost(uri.getHost(), port, scheme);
+    }
+
+    public static HttpHost fromHttpUrl(HttpUrl httpUrl) {
+        return fromUri(httpUrl.uri());
+    }
+
+}
@@ -50,6 +50,7 @@ public class RestConstants {
     public static final int ENTITY_TOO_LARGE_413 = HttpURLConnection.HTTP_ENTITY_TOO_LARGE;
     public static final int REQ_TOO_LONG_414 = HttpURLConnection.HTTP_REQ_TOO_LONG;
     public static final int UNSUPPORTED_TYPE_415 = HttpURLConnection.HTTP_UNSUPPORTED_TYPE;
+    public static final int TOO_MANY_REQUESTS_429 = 429;
 
     /* 5XX: server error */
     public static final int INTERNAL_ERROR_500 = HttpURLConnection.HTTP_INTERNAL_ERROR;
@@ -0,0 +1,66 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.batch;
+
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+import com.blackduck.integration.builder.Buildable;
+import com.blackduck.integration.util.Stringable;
+
+/**
+ * How a batch of requests is run by IntHttpClient.executeAll.
+ */
+public class BatchOptions extends Stringable implements Buildable {
+    /**
+     * Run as many requests at once as the connection pool allows for a single host.
+     */
+    public static final int POOL_PARALLELISM = 0;
+
+    public static final BatchOptions DEFAULT = new BatchOptions();
+
+    public static BatchOptionsBuilder newBuilder() {
+        return new BatchOptionsBuilder();
+    }
+
+    private final int parallelism;
+    private final boolean failFast;
+    private final Executor executor;
+
+    BatchOptions(int parallelism, boolean failFast, Executor executor) {
+        this.parallelism = parallelism;
+        this.failFast = failFast;
+        this.executor = executor;
+    }
+
+    BatchOptions() {
+        this(POOL_PARALLELISM, false, null);
+    }
+
+    /**
+     * @return The maximum number of requests in flight at once, or POOL_PARALLELISM to match the connection pool
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * @return true if the first failure aborts the rest of the batch, false to capture each failure in its result
+     */
+    public boolean isFailFast() {
+        return failFast;
+    }
+
+    /**
+     * @return The executor to run the batch on, or empty to use the executor of the client
+     */
+    public Optional<Executor> getExecutor() {
+        return Optional.ofNullable(executor);
+    }
+
+}
@@ -0,0 +1,56 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.batch;
+
+import java.util.concurrent.Executor;
+
+import com.blackduck.integration.builder.BuilderStatus;
+import com.blackduck.integration.builder.IntegrationBuilder;
+
+public class BatchOptionsBuilder extends IntegrationBuilder<BatchOptions> {
+    private int parallelism = BatchOptions.POOL_PARALLELISM;
+    private boolean failFast;
+    private Executor executor;
+
+    @Override
+    protected BatchOptions buildWithoutValidation() {
+        return new BatchOptions(parallelism, failFast, executor);
+    }
+
+    @Override
+    protected void validate(BuilderStatus builderStatus) {
+        if (parallelism < 0) {
+            builderStatus.addErrorMessage("The parallelism must not be negative.");
+        }
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public boolean isFailFast() {
+        return failFast;
+    }
+
+    public void setFailFast(boolean failFast) {
+        this.failFast = failFast;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+}
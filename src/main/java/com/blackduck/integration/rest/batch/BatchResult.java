@@ -0,0 +1,73 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.batch;
+
+import java.util.Optional;
+
+import com.blackduck.integration.exception.IntegrationException;
+import com.blackduck.integration.rest.request.Request;
+import com.blackduck.integration.util.Stringable;
+
+/**
+ * The outcome of one request of a batch.
+ */
+public class BatchResult<T> extends Stringable {
+    private final int index;
+    private final Request request;
+    private final T value;
+    private final Exception failure;
+
+    public static <T> BatchResult<T> success(int index, Request request, T value) {
+        return new BatchResult<>(index, request, value, null);
+    }
+
+    public static <T> BatchResult<T> failure(int index, Request request, Exception failure) {
+        return new BatchResult<>(index, request, null, failure);
+    }
+
+    private BatchResult(int index, Request request, T value, Exception failure) {
+        this.index = index;
+        this.request = request;
+        this.value = value;
+        this.failure = failure;
+    }
+
+    /**
+     * @return The position of the request in the batch
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public Request getRequest() {
+        return request;
+    }
+
+    public boolean isSuccess() {
+        return null == failure;
+    }
+
+    public Optional<T> getValue() {
+        return Optional.ofNullable(value);
+    }
+
+    public Optional<Exception> getFailure() {
+        return Optional.ofNullable(failure);
+    }
+
+    public T getValueOrThrow() throws IntegrationException {
+        if (null == failure) {
+            return value;
+        }
+        if (failure instanceof IntegrationException) {
+            throw (IntegrationException) failure;
+        }
+        throw new IntegrationException(failure.getMessage(), failure);
+    }
+
+}
@@ -0,0 +1,19 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.batch;
+
+import com.blackduck.integration.exception.IntegrationException;
+import com.blackduck.integration.rest.response.Response;
+
+/**
+ * Converts a response, which is closed once the conversion returns, into a result.
+ */
+@FunctionalInterface
+public interface ResponseConverter<T> {
+    T convert(Response response) throws IntegrationException;
+}
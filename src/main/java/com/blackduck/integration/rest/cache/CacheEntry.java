@@ -0,0 +1,56 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.cache;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.blackduck.integration.rest.response.BufferedResponse;
+
+/**
+ * A stored response, when it was stored, and the request headers it varies on.
+ */
+public class CacheEntry {
+    private final BufferedResponse response;
+    private final long storedAtInMilliseconds;
+    private final Map<String, String> varyHeaders;
+
+    public CacheEntry(BufferedResponse response, long storedAtInMilliseconds, Map<String, String> varyHeaders) {
+        this.response = response;
+        this.storedAtInMilliseconds = storedAtInMilliseconds;
+        this.varyHeaders = Collections.unmodifiableMap(new LinkedHashMap<>(varyHeaders));
+    }
+
+    public BufferedResponse getResponse() {
+        return response;
+    }
+
+    public long getStoredAtInMilliseconds() {
+        return storedAtInMilliseconds;
+    }
+
+    /**
+     * @return The values the request headers named by Vary had on the request that was answered
+     */
+    public Map<String, String> getVaryHeaders() {
+        return varyHeaders;
+    }
+
+    /**
+     * @return The approximate memory held by the entry
+     */
+    public long getSizeInBytes() {
+        long headerBytes = 0;
+        for (Map.Entry<String, String> header : response.getHeaders().entrySet()) {
+            headerBytes += header.getKey().length() + (null == header.getValue() ? 0 : header.getValue().length());
+        }
+        return response.getBufferedLength() + 2 * headerBytes;
+    }
+
+}
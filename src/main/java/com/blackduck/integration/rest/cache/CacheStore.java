@@ -0,0 +1,26 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.cache;
+
+import java.util.Optional;
+
+/**
+ * Where an HttpCache keeps its entries. Implementations must be thread-safe.
+ */
+public interface CacheStore {
+    Optional<CacheEntry> get(String key);
+
+    void put(String key, CacheEntry cacheEntry);
+
+    void remove(String key);
+
+    void clear();
+
+    int size();
+
+}
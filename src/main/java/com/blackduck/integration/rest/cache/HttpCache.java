@@ -0,0 +1,329 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.cache;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.utils.DateUtils;
+
+import com.blackduck.integration.exception.IntegrationException;
+import com.blackduck.integration.rest.RestConstants;
+import com.blackduck.integration.rest.response.BufferedResponse;
+import com.blackduck.integration.rest.response.Response;
+
+/**
+ * A private cache of GET responses, following the freshness and validation rules of RFC 7234, for requests made as one user.
+ */
+public class HttpCache {
+    private static final Set<String> CONDITIONAL_REQUEST_HEADERS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+        HttpHeaders.IF_NONE_MATCH, HttpHeaders.IF_MODIFIED_SINCE, HttpHeaders.IF_MATCH, HttpHeaders.IF_UNMODIFIED_SINCE, HttpHeaders.IF_RANGE, HttpHeaders.RANGE)));
+    private static final Set<String> CONTENT_HEADERS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+        HttpHeaders.CONTENT_LENGTH, HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_ENCODING, HttpHeaders.TRANSFER_ENCODING)));
+
+    private final HttpCacheConfig httpCacheConfig;
+    private final CacheStore cacheStore;
+    private final LongSupplier clock;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder revalidationCount = new LongAdder();
+    private final LongAdder storeCount = new LongAdder();
+
+    /**
+     * Sends a request that the cache could not answer on its own.
+     */
+    @FunctionalInterface
+    public interface Call {
+        Response send() throws IntegrationException, IOException;
+
+    }
+
+    public HttpCache(HttpCacheConfig httpCacheConfig) {
+        this(httpCacheConfig, new InMemoryCacheStore(httpCacheConfig.getMaxEntries(), httpCacheConfig.getMaxTotalBytes()));
+    }
+
+    public HttpCache(HttpCacheConfig httpCacheConfig, CacheStore cacheStore) {
+        this(httpCacheConfig, cacheStore, System::currentTimeMillis);
+    }
+
+    HttpCache(HttpCacheConfig httpCacheConfig, CacheStore cacheStore, LongSupplier clock) {
+        this.httpCacheConfig = httpCacheConfig;
+        this.cacheStore = cacheStore;
+        this.clock = clock;
+    }
+
+    public boolean isCacheable(HttpUriRequest request) {
+        if (!"GET".equals(request.getMethod())) {
+            return false;
+        }
+        for (String conditionalHeader : CONDITIONAL_REQUEST_HEADERS) {
+            if (request.containsHeader(conditionalHeader)) {
+                return false;
+            }
+        }
+        return !parseCacheControl(request.getHeaders(HttpHeaders.CACHE_CONTROL)).containsKey("no-store");
+    }
+
+    /**
+     * Answers a cacheable request from the cache if it can, otherwise sends it - conditionally, if a stale response is stored - and stores the response.
+     */
+    public Response execute(HttpUriRequest request, Call call) throws IntegrationException, IOException {
+        String key = createKey(request);
+        Optional<CacheEntry> storedEntry = cacheStore.get(key).filter(cacheEntry -> matchesVaryHeaders(cacheEntry, request));
+        if (storedEntry.isPresent()) {
+            if (isFresh(storedEntry.get(), request)) {
+                hitCount.increment();
+                return storedEntry.get().getResponse().withRequest(request);
+            }
+        }
+
+        Response response;
+        if (storedEntry.isPresent()) {
+            // the request may be sent again, to re-authenticate for example, so it must be left as it was found
+            addConditionalHeaders(request, storedEntry.get().getResponse());
+            try {
+                response = call.send();
+            } finally {
+                request.removeHeaders(HttpHeaders.IF_NONE_MATCH);
+                request.removeHeaders(HttpHeaders.IF_MODIFIED_SINCE);
+            }
+        } else {
+            response = call.send();
+        }
+        if (storedEntry.isPresent() && RestConstants.NOT_MODIFIED_304 == response.getStatusCode()) {
+            revalidationCount.increment();
+            CacheEntry refreshedEntry = refresh(storedEntry.get(), response);
+            response.close();
+            cacheStore.put(key, refreshedEntry);
+            return refreshedEntry.getResponse().withRequest(request);
+        }
+
+        missCount.increment();
+        if (!isStorable(response)) {
+            if (storedEntry.isPresent() && RestConstants.OK_200 == response.getStatusCode()) {
+                // the stored response has been replaced by one that can not be stored
+                cacheStore.remove(key);
+            }
+            return response;
+        }
+        return store(key, request, response);
+    }
+
+    public HttpCacheMetrics getMetrics() {
+        return new HttpCacheMetrics(hitCount.sum(), missCount.sum(), revalidationCount.sum(), storeCount.sum());
+    }
+
+    public CacheStore getCacheStore() {
+        return cacheStore;
+    }
+
+    public HttpCacheConfig getHttpCacheConfig() {
+        return httpCacheConfig;
+    }
+
+    private Response store(String key, HttpUriRequest request, Response response) throws IntegrationException, IOException {
+        if (null == response.getContent()) {
+            return response;
+        }
+
+        // read no more than a storable response can hold, so that a large download is not buffered just to find out it is too large
+        Response readResponse = BufferedResponse.bufferUpTo(response, httpCacheConfig.getMaxEntryBytes());
+        if (!(readResponse instanceof BufferedResponse)) {
+            return readResponse;
+        }
+
+        BufferedResponse bufferedResponse = ((BufferedResponse) readResponse).withRequest(request);
+        cacheStore.put(key, new CacheEntry(bufferedResponse, clock.getAsLong(), captureVaryHeaders(request, bufferedResponse)));
+        storeCount.increment();
+        return bufferedResponse;
+    }
+
+    private boolean isStorable(Response response) {
+        if (RestConstants.OK_200 != response.getStatusCode()) {
+            return false;
+        }
+        Map<String, String> cacheControl = parseCacheControl(response.getHeaderValue(HttpHeaders.CACHE_CONTROL));
+        if (cacheControl.containsKey("no-store") || "*".equals(StringUtils.trim(response.getHeaderValue(HttpHeaders.VARY)))) {
+            return false;
+        }
+        Long contentLength = response.getContentLength();
+        if (null != contentLength && contentLength > httpCacheConfig.getMaxEntryBytes()) {
+            return false;
+        }
+        boolean hasValidator = null != response.getHeaderValue(HttpHeaders.ETAG) || null != response.getHeaderValue(HttpHeaders.LAST_MODIFIED);
+        return hasValidator || getFreshnessLifetime(response) > 0;
+    }
+
+    private boolean isFresh(CacheEntry cacheEntry, HttpUriRequest request) {
+        Map<String, String> requestCacheControl = parseCacheControl(request.getHeaders(HttpHeaders.CACHE_CONTROL));
+        if (requestCacheControl.containsKey("no-cache")) {
+            return false;
+        }
+        long age = getCurrentAge(cacheEntry);
+        long requestMaxAge = parseSecondsAsMillis(requestCacheControl.get("max-age"));
+        if (requestMaxAge >= 0 && age > requestMaxAge) {
+            return false;
+        }
+        return getFreshnessLifetime(cacheEntry.getResponse()) > age;
+    }
+
+    private long getFreshnessLifetime(Response response) {
+        Map<String, String> cacheControl = parseCacheControl(response.getHeaderValue(HttpHeaders.CACHE_CONTROL));
+        if (cacheControl.containsKey("no-cache")) {
+            return 0;
+        }
+        long maxAge = parseSecondsAsMillis(cacheControl.get("max-age"));
+        if (maxAge >= 0) {
+            return maxAge;
+        }
+        String expires = response.getHeaderValue(HttpHeaders.EXPIRES);
+        if (null != expires) {
+            Date expiresDate = DateUtils.parseDate(expires);
+            Date responseDate = parseDate(response.getHeaderValue(HttpHeaders.DATE));
+            if (null == expiresDate || null == responseDate) {
+                // an invalid Expires means the response has already expired
+                return 0;
+            }
+            return Math.max(0L, expiresDate.getTime() - responseDate.getTime());
+        }
+        return 0;
+    }
+
+    /**
+     * @return The age of the stored response in milliseconds, counting both the Age reported by the server and the time since it was stored
+     */
+    private long getCurrentAge(CacheEntry cacheEntry) {
+        long ageHeader = Math.max(0L, parseSecondsAsMillis(cacheEntry.getResponse().getHeaderValue(HttpHeaders.AGE)));
+        return ageHeader + Math.max(0L, clock.getAsLong() - cacheEntry.getStoredAtInMilliseconds());
+    }
+
+    private void addConditionalHeaders(HttpUriRequest request, Response storedResponse) {
+        String etag = storedResponse.getHeaderValue(HttpHeaders.ETAG);
+        if (null != etag) {
+            request.setHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        }
+        String lastModified = storedResponse.getHeaderValue(HttpHeaders.LAST_MODIFIED);
+        if (null != lastModified) {
+            request.setHeader(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+        }
+    }
+
+    /**
+     * Updates the stored headers with those of the 304, as RFC 7234 requires, keeping the stored content and the headers that describe it.
+     */
+    private CacheEntry refresh(CacheEntry cacheEntry, Response notModifiedResponse) {
+        BufferedResponse storedResponse = cacheEntry.getResponse();
+        Map<String, String> headers = new LinkedHashMap<>(storedResponse.getHeaders());
+        for (Map.Entry<String, String> header : notModifiedResponse.getHeaders().entrySet()) {
+            if (!CONTENT_HEADERS.contains(header.getKey())) {
+                headers.keySet().removeIf(name -> name.equalsIgnoreCase(header.getKey()));
+                headers.put(header.getKey(), header.getValue());
+            }
+        }
+        BufferedResponse refreshedResponse = BufferedResponse.create(storedResponse.getRequest(), storedResponse.getStatusCode(), storedResponse.getStatusMessage(), headers,
+            storedResponse.getBufferedContent(), storedResponse.getContentType(), storedResponse.getContentEncoding());
+        return new CacheEntry(refreshedResponse, clock.getAsLong(), cacheEntry.getVaryHeaders());
+    }
+
+    private Map<String, String> captureVaryHeaders(HttpUriRequest request, Response response) {
+        Map<String, String> varyHeaders = new LinkedHashMap<>();
+        String vary = response.getHeaderValue(HttpHeaders.VARY);
+        if (StringUtils.isNotBlank(vary)) {
+            for (String headerName : vary.split(",")) {
+                String trimmedHeaderName = headerName.trim();
+                varyHeaders.put(trimmedHeaderName, getHeaderValues(request, trimmedHeaderName));
+            }
+        }
+        return varyHeaders;
+    }
+
+    private boolean matchesVaryHeaders(CacheEntry cacheEntry, HttpUriRequest request) {
+        for (Map.Entry<String, String> varyHeader : cacheEntry.getVaryHeaders().entrySet()) {
+            if (!varyHeader.getValue().equals(getHeaderValues(request, varyHeader.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String getHeaderValues(HttpUriRequest request, String headerName) {
+        StringBuilder values = new StringBuilder();
+        for (Header header : request.getHeaders(headerName)) {
+            if (values.length() > 0) {
+                values.append(',');
+            }
+            values.append(header.getValue());
+        }
+        return values.toString();
+    }
+
+    private String createKey(HttpUriRequest request) {
+        return request.getURI().toString();
+    }
+
+    private Map<String, String> parseCacheControl(Header[] headers) {
+        Map<String, String> directives = new HashMap<>();
+        for (Header header : headers) {
+            directives.putAll(parseCacheControl(header.getValue()));
+        }
+        return directives;
+    }
+
+    private Map<String, String> parseCacheControl(String cacheControl) {
+        Map<String, String> directives = new HashMap<>();
+        if (StringUtils.isBlank(cacheControl)) {
+            return directives;
+        }
+        for (String directive : cacheControl.split(",")) {
+            String[] nameAndValue = directive.split("=", 2);
+            String name = nameAndValue[0].trim().toLowerCase(Locale.ENGLISH);
+            String value = nameAndValue.length > 1 ? StringUtils.strip(nameAndValue[1].trim(), "\"") : "";
+            if (!name.isEmpty()) {
+                directives.put(name, value);
+            }
+        }
+        return directives;
+    }
+
+    /**
+     * @return The number of seconds converted to milliseconds, or -1 if the value is missing or invalid
+     */
+    private long parseSecondsAsMillis(String seconds) {
+        String trimmedSeconds = StringUtils.trimToEmpty(seconds);
+        if (!StringUtils.isNumeric(trimmedSeconds)) {
+            return -1L;
+        }
+        try {
+            return TimeUnit.SECONDS.toMillis(Long.parseLong(trimmedSeconds));
+        } catch (NumberFormatException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private Date parseDate(String date) {
+        return null == date ? null : DateUtils.parseDate(date);
+    }
+
+}
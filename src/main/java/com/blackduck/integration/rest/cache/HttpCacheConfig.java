@@ -0,0 +1,53 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.cache;
+
+import com.blackduck.integration.builder.Buildable;
+import com.blackduck.integration.util.Stringable;
+
+/**
+ * The bounds of an HttpCache.
+ */
+public class HttpCacheConfig extends Stringable implements Buildable {
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+    public static final long DEFAULT_MAX_TOTAL_BYTES = 64L * 1024 * 1024;
+    public static final long DEFAULT_MAX_ENTRY_BYTES = 4L * 1024 * 1024;
+
+    public static final HttpCacheConfig DEFAULT = new HttpCacheConfig();
+
+    public static HttpCacheConfigBuilder newBuilder() {
+        return new HttpCacheConfigBuilder();
+    }
+
+    private final int maxEntries;
+    private final long maxTotalBytes;
+    private final long maxEntryBytes;
+
+    HttpCacheConfig(int maxEntries, long maxTotalBytes, long maxEntryBytes) {
+        this.maxEntries = maxEntries;
+        this.maxTotalBytes = maxTotalBytes;
+        this.maxEntryBytes = maxEntryBytes;
+    }
+
+    HttpCacheConfig() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_TOTAL_BYTES, DEFAULT_MAX_ENTRY_BYTES);
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public long getMaxTotalBytes() {
+        return maxTotalBytes;
+    }
+
+    public long getMaxEntryBytes() {
+        return maxEntryBytes;
+    }
+
+}
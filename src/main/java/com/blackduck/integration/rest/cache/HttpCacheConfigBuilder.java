@@ -0,0 +1,62 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.cache;
+
+import com.blackduck.integration.builder.BuilderStatus;
+import com.blackduck.integration.builder.IntegrationBuilder;
+
+public class HttpCacheConfigBuilder extends IntegrationBuilder<HttpCacheConfig> {
+    private int maxEntries = HttpCacheConfig.DEFAULT_MAX_ENTRIES;
+    private long maxTotalBytes = HttpCacheConfig.DEFAULT_MAX_TOTAL_BYTES;
+    private long maxEntryBytes = HttpCacheConfig.DEFAULT_MAX_ENTRY_BYTES;
+
+    @Override
+    protected HttpCacheConfig buildWithoutValidation() {
+        return new HttpCacheConfig(maxEntries, maxTotalBytes, maxEntryBytes);
+    }
+
+    @Override
+    protected void validate(BuilderStatus builderStatus) {
+        if (maxEntries <= 0) {
+            builderStatus.addErrorMessage("The maximum entries must be greater than zero.");
+        }
+
+        if (maxTotalBytes <= 0) {
+            builderStatus.addErrorMessage("The maximum total bytes must be greater than zero.");
+        }
+
+        if (maxEntryBytes <= 0) {
+            builderStatus.addErrorMessage("The maximum entry bytes must be greater than zero.");
+        }
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public long getMaxTotalBytes() {
+        return maxTotalBytes;
+    }
+
+    public void setMaxTotalBytes(long maxTotalBytes) {
+        this.maxTotalBytes = maxTotalBytes;
+    }
+
+    public long getMaxEntryBytes() {
+        return maxEntryBytes;
+    }
+
+    public void setMaxEntryBytes(long maxEntryBytes) {
+        this.maxEntryBytes = maxEntryBytes;
+    }
+
+}
@@ -0,0 +1,53 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.cache;
+
+import com.blackduck.integration.util.Stringable;
+
+/**
+ * A snapshot of how often responses were served from an HttpCache.
+ */
+public class HttpCacheMetrics extends Stringable {
+    private final long hitCount;
+    private final long missCount;
+    private final long revalidationCount;
+    private final long storeCount;
+
+    HttpCacheMetrics(long hitCount, long missCount, long revalidationCount, long storeCount) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.revalidationCount = revalidationCount;
+        this.storeCount = storeCount;
+    }
+
+    /**
+     * @return The responses served from the cache without contacting the server
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return The requests for which the server sent a full response
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return The responses served from the cache after the server confirmed, with a 304, that they were still current
+     */
+    public long getRevalidationCount() {
+        return revalidationCount;
+    }
+
+    public long getStoreCount() {
+        return storeCount;
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the least recently used entries in memory, within a maximum count and total size.
+ */
+public class InMemoryCacheStore implements CacheStore {
+    private final int maxEntries;
+    private final long maxTotalBytes;
+    private final Lock lock = new ReentrantLock();
+    private final LinkedHashMap<String, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+    private long evictionCount;
+
+    public InMemoryCacheStore(int maxEntries, long maxTotalBytes) {
+        this.maxEntries = maxEntries;
+        this.maxTotalBytes = maxTotalBytes;
+    }
+
+    @Override
+    public Optional<CacheEntry> get(String key) {
+        lock.lock();
+        try {
+            return Optional.ofNullable(entries.get(key));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(String key, CacheEntry cacheEntry) {
+        long entryBytes = cacheEntry.getSizeInBytes();
+        lock.lock();
+        try {
+            removeEntry(key);
+            if (entryBytes > maxTotalBytes) {
+                return;
+            }
+            entries.put(key, cacheEntry);
+            totalBytes += entryBytes;
+
+            Iterator<Map.Entry<String, CacheEntry>> leastRecentlyUsed = entries.entrySet().iterator();
+            while ((entries.size() > maxEntries || totalBytes > maxTotalBytes) && leastRecentlyUsed.hasNext()) {
+                totalBytes -= leastRecentlyUsed.next().getValue().getSizeInBytes();
+                leastRecentlyUsed.remove();
+                evictionCount++;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void remove(String key) {
+        lock.lock();
+        try {
+            removeEntry(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+            totalBytes = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getTotalBytes() {
+        lock.lock();
+        try {
+            return totalBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getEvictionCount() {
+        lock.lock();
+        try {
+            return evictionCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void removeEntry(String key) {
+        CacheEntry removed = entries.remove(key);
+        if (null != removed) {
+            totalBytes -= removed.getSizeInBytes();
+        }
+    }
+
+}
@@ -0,0 +1,542 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+import com.blackduck.integration.exception.IntegrationException;
+import com.blackduck.integration.rest.response.BufferedResponse;
+
+/**
+ * Keeps entries in memory-mapped segment files under a directory, so they survive a restart.
+ */
+public class MappedFileCacheStore implements CacheStore, Closeable {
+    public static final long DEFAULT_SEGMENT_SIZE_IN_BYTES = 64L * 1024 * 1024;
+    public static final int DEFAULT_MAX_SEGMENTS = 8;
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".cache";
+    private static final String LOCK_FILE_NAME = "cache.lock";
+    private static final int RECORD_MAGIC = 0x49524331;
+    private static final int RECORD_HEADER_BYTES = 12;
+    private static final int KEY_HASH_BYTES = 32;
+    private static final byte ENTRY_RECORD = 1;
+    private static final byte REMOVAL_RECORD = 2;
+    private static final int NO_CONTENT = -1;
+    private static final int NO_STRING = -1;
+
+    private final Path directory;
+    private final int segmentSizeInBytes;
+    private final int maxSegments;
+    private final Lock lock = new ReentrantLock();
+    private final Map<ByteBuffer, RecordLocation> index = new HashMap<>();
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private final FileChannel lockChannel;
+    private final FileLock directoryLock;
+    private long nextSequence = 1;
+    private long evictionCount;
+    private long writeFailureCount;
+    private boolean closed;
+
+    public MappedFileCacheStore(Path directory) throws IntegrationException {
+        this(directory, DEFAULT_SEGMENT_SIZE_IN_BYTES, DEFAULT_MAX_SEGMENTS);
+    }
+
+    /**
+     * @throws IntegrationException if the directory is already in use by another store
+     * @param segmentSizeInBytes The size of each segment file, which is also the largest entry that can be stored
+     * @param maxSegments The number of segment files kept
+     */
+    public MappedFileCacheStore(Path directory, long segmentSizeInBytes, int maxSegments) throws IntegrationException {
+        if (segmentSizeInBytes <= RECORD_HEADER_BYTES + KEY_HASH_BYTES || segmentSizeInBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The segment size must be greater than " + (RECORD_HEADER_BYTES + KEY_HASH_BYTES) + " bytes and at most " + Integer.MAX_VALUE + " bytes.");
+        }
+        if (maxSegments <= 0) {
+            throw new IllegalArgumentException("The maximum number of segments must be greater than zero.");
+        }
+        this.directory = directory;
+        this.segmentSizeInBytes = (int) segmentSizeInBytes;
+        this.maxSegments = maxSegments;
+
+        try {
+            Files.createDirectories(directory);
+            lockChannel = FileChannel.open(directory.resolve(LOCK_FILE_NAME), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new IntegrationException(String.format("Could not open the cache in %s: %s", directory, e.getMessage()), e);
+        }
+        directoryLock = lockDirectory(lockChannel, directory);
+
+        try {
+            for (Path segmentFile : findSegmentFiles()) {
+                Segment segment = mapSegment(segmentFile, parseSequence(segmentFile), Files.size(segmentFile));
+                readRecords(segment);
+                segments.addLast(segment);
+                nextSequence = segment.sequence + 1;
+            }
+            while (segments.size() > maxSegments) {
+                evictOldestSegment();
+            }
+        } catch (IOException e) {
+            releaseDirectory();
+            throw new IntegrationException(String.format("Could not open the cache in %s: %s", directory, e.getMessage()), e);
+        }
+    }
+
+    @Override
+    public Optional<CacheEntry> get(String key) {
+        ByteBuffer keyHash = hashKey(key);
+        RecordLocation location;
+        lock.lock();
+        try {
+            location = closed ? null : index.get(keyHash);
+        } finally {
+            lock.unlock();
+        }
+        // segments are only ever appended to, so a record can be read outside the lock - even once its segment has been evicted, the mapping stays valid
+        return Optional.ofNullable(location).map(this::readEntry);
+    }
+
+    @Override
+    public void put(String key, CacheEntry cacheEntry) {
+        ByteBuffer keyHash = hashKey(key);
+        byte[] metadata = encodeMetadata(cacheEntry);
+        ByteBuffer content = cacheEntry.getResponse().getBufferedContent();
+        long payloadLength = KEY_HASH_BYTES + 1L + 4 + metadata.length + 4 + (null == content ? 0 : content.remaining());
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            if (RECORD_HEADER_BYTES + payloadLength > segmentSizeInBytes) {
+                removeEntry(keyHash);
+                return;
+            }
+            try {
+                index.put(keyHash, appendRecord(keyHash, ENTRY_RECORD, (int) payloadLength, metadata, content));
+            } catch (IOException e) {
+                writeFailureCount++;
+                removeEntry(keyHash);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void remove(String key) {
+        ByteBuffer keyHash = hashKey(key);
+        lock.lock();
+        try {
+            if (!closed) {
+                removeEntry(keyHash);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            index.clear();
+            while (!segments.isEmpty()) {
+                deleteSegmentFile(segments.removeFirst());
+            }
+            nextSequence = 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return index.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Forces any outstanding writes to disk and releases the directory.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (Segment segment : segments) {
+                segment.buffer.force();
+            }
+            index.clear();
+            segments.clear();
+            releaseDirectory();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public int getSegmentCount() {
+        lock.lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getEvictionCount() {
+        lock.lock();
+        try {
+            return evictionCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The number of entries that could not be written, and so were left out of the store
+     */
+    public long getWriteFailureCount() {
+        lock.lock();
+        try {
+            return writeFailureCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static FileLock lockDirectory(FileChannel lockChannel, Path directory) throws IntegrationException {
+        FileLock fileLock;
+        try {
+            fileLock = lockChannel.tryLock();
+        } catch (IOException | OverlappingFileLockException e) {
+            fileLock = null;
+        }
+        if (null == fileLock) {
+            try {
+                lockChannel.close();
+            } catch (IOException e) {
+                // the directory is unusable either way
+            }
+            throw new IntegrationException(String.format("The cache in %s is already in use by another store.", directory));
+        }
+        return fileLock;
+    }
+
+    private void releaseDirectory() {
+        try {
+            directoryLock.release();
+            lockChannel.close();
+        } catch (IOException e) {
+            // closing the channel releases the lock, and the operating system releases it when the process ends regardless
+        }
+    }
+
+    private void removeEntry(ByteBuffer keyHash) {
+        if (null == index.remove(keyHash)) {
+            return;
+        }
+        try {
+            appendRecord(keyHash, REMOVAL_RECORD, KEY_HASH_BYTES + 1, null, null);
+        } catch (IOException e) {
+            // without the removal record the entry will come back when the directory is opened again, where the cache will revalidate it as usual
+            writeFailureCount++;
+        }
+    }
+
+    private RecordLocation appendRecord(ByteBuffer keyHash, byte recordType, int payloadLength, byte[] metadata, ByteBuffer content) throws IOException {
+        Segment segment = findSegmentWithRoom(RECORD_HEADER_BYTES + payloadLength);
+        ByteBuffer buffer = segment.buffer.duplicate();
+        int recordPosition = segment.writePosition;
+        int payloadPosition = recordPosition + RECORD_HEADER_BYTES;
+
+        buffer.position(payloadPosition);
+        buffer.put(keyHash.duplicate());
+        buffer.put(recordType);
+        if (ENTRY_RECORD == recordType) {
+            buffer.putInt(metadata.length);
+            buffer.put(metadata);
+            if (null == content) {
+                buffer.putInt(NO_CONTENT);
+            } else {
+                buffer.putInt(content.remaining());
+                buffer.put(content.duplicate());
+            }
+        }
+
+        // the magic number goes last so a record is never taken as valid before the rest of it is in place
+        buffer.putInt(recordPosition + 8, checksum(buffer, payloadPosition, payloadLength));
+        buffer.putInt(recordPosition + 4, payloadLength);
+        buffer.putInt(recordPosition, RECORD_MAGIC);
+        segment.writePosition = payloadPosition + payloadLength;
+        return new RecordLocation(segment, payloadPosition);
+    }
+
+    private Segment findSegmentWithRoom(int recordBytes) throws IOException {
+        Segment newestSegment = segments.peekLast();
+        if (null != newestSegment && newestSegment.buffer.capacity() - newestSegment.writePosition >= recordBytes) {
+            return newestSegment;
+        }
+
+        long sequence = nextSequence;
+        Path segmentFile = createSegmentPath(sequence);
+        while (Files.exists(segmentFile)) {
+            // a segment that could not be deleted is never written to again
+            segmentFile = createSegmentPath(++sequence);
+        }
+        Segment segment = mapSegment(segmentFile, sequence, segmentSizeInBytes);
+        nextSequence = sequence + 1;
+        segments.addLast(segment);
+        while (segments.size() > maxSegments) {
+            evictOldestSegment();
+        }
+        return segment;
+    }
+
+    private Path createSegmentPath(long sequence) {
+        return directory.resolve(String.format("%s%019d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX));
+    }
+
+    private void evictOldestSegment() {
+        Segment oldestSegment = segments.removeFirst();
+        Iterator<RecordLocation> locations = index.values().iterator();
+        while (locations.hasNext()) {
+            if (locations.next().segment == oldestSegment) {
+                locations.remove();
+                evictionCount++;
+            }
+        }
+        deleteSegmentFile(oldestSegment);
+    }
+
+    private void deleteSegmentFile(Segment segment) {
+        try {
+            Files.deleteIfExists(segment.path);
+        } catch (IOException e) {
+            // some platforms refuse to delete a file that is still mapped - undoing its first record leaves it empty, to be evicted when the directory is reopened
+            segment.buffer.putInt(0, 0);
+        }
+    }
+
+    private List<Path> findSegmentFiles() throws IOException {
+        List<Path> segmentFiles = new ArrayList<>();
+        try (DirectoryStream<Path> paths = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path path : paths) {
+                if (parseSequence(path) > 0) {
+                    segmentFiles.add(path);
+                }
+            }
+        }
+        segmentFiles.sort((first, second) -> Long.compare(parseSequence(first), parseSequence(second)));
+        return segmentFiles;
+    }
+
+    private long parseSequence(Path segmentFile) {
+        String fileName = segmentFile.getFileName().toString();
+        try {
+            return Long.parseLong(fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            return 0;
+        }
+    }
+
+    private Segment mapSegment(Path path, long sequence, long sizeInBytes) throws IOException {
+        // mapping grows a new file to the full size, and the mapping outlives the channel - it stays valid until it is garbage collected
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return new Segment(path, sequence, channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.min(sizeInBytes, Integer.MAX_VALUE)));
+        }
+    }
+
+    private void readRecords(Segment segment) {
+        ByteBuffer buffer = segment.buffer.duplicate();
+        int position = 0;
+        while (buffer.capacity() - position >= RECORD_HEADER_BYTES && RECORD_MAGIC == buffer.getInt(position)) {
+            int payloadLength = buffer.getInt(position + 4);
+            int payloadPosition = position + RECORD_HEADER_BYTES;
+            if (payloadLength <= KEY_HASH_BYTES || payloadLength > buffer.capacity() - payloadPosition
+                    || checksum(buffer, payloadPosition, payloadLength) != buffer.getInt(position + 8)) {
+                break;
+            }
+
+            byte[] keyHash = new byte[KEY_HASH_BYTES];
+            buffer.position(payloadPosition);
+            buffer.get(keyHash);
+            if (ENTRY_RECORD == buffer.get()) {
+                index.put(ByteBuffer.wrap(keyHash), new RecordLocation(segment, payloadPosition));
+            } else {
+                index.remove(ByteBuffer.wrap(keyHash));
+            }
+            position = payloadPosition + payloadLength;
+        }
+        // anything past the last valid record was cut short by a crash, and is written over
+        segment.writePosition = position;
+    }
+
+    private CacheEntry readEntry(RecordLocation location) {
+        ByteBuffer buffer = location.segment.buffer.duplicate();
+        buffer.position(location.payloadPosition + KEY_HASH_BYTES + 1);
+        int metadataLength = buffer.getInt();
+        int metadataEnd = buffer.position() + metadataLength;
+
+        long storedAtInMilliseconds = buffer.getLong();
+        int statusCode = buffer.getInt();
+        String statusMessage = readString(buffer);
+        Map<String, String> headers = readStrings(buffer);
+        String contentType = readString(buffer);
+        String contentEncoding = readString(buffer);
+        Map<String, String> varyHeaders = readStrings(buffer);
+
+        buffer.position(metadataEnd);
+        int contentLength = buffer.getInt();
+        ByteBuffer content = null;
+        if (NO_CONTENT != contentLength) {
+            buffer.limit(buffer.position() + contentLength);
+            content = buffer.slice();
+        }
+
+        BufferedResponse response = BufferedResponse.create(null, statusCode, statusMessage, headers, content, contentType, contentEncoding);
+        return new CacheEntry(response, storedAtInMilliseconds, varyHeaders);
+    }
+
+    private byte[] encodeMetadata(CacheEntry cacheEntry) {
+        BufferedResponse response = cacheEntry.getResponse();
+        ByteArrayOutputStream metadata = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(metadata)) {
+            output.writeLong(cacheEntry.getStoredAtInMilliseconds());
+            output.writeInt(response.getStatusCode());
+            writeString(output, response.getStatusMessage());
+            writeStrings(output, response.getHeaders());
+            writeString(output, response.getContentType());
+            writeString(output, response.getContentEncoding());
+            writeStrings(output, cacheEntry.getVaryHeaders());
+        } catch (IOException e) {
+            // writing to memory cannot fail
+            throw new IllegalStateException(e);
+        }
+        return metadata.toByteArray();
+    }
+
+    private void writeStrings(DataOutputStream output, Map<String, String> strings) throws IOException {
+        output.writeInt(strings.size());
+        for (Map.Entry<String, String> entry : strings.entrySet()) {
+            writeString(output, entry.getKey());
+            writeString(output, entry.getValue());
+        }
+    }
+
+    private void writeString(DataOutputStream output, String string) throws IOException {
+        if (null == string) {
+            output.writeInt(NO_STRING);
+        } else {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+    }
+
+    private Map<String, String> readStrings(ByteBuffer buffer) {
+        int count = buffer.getInt();
+        Map<String, String> strings = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            strings.put(readString(buffer), readString(buffer));
+        }
+        return Collections.unmodifiableMap(strings);
+    }
+
+    private String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (NO_STRING == length) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int checksum(ByteBuffer buffer, int position, int length) {
+        ByteBuffer payload = buffer.duplicate();
+        payload.limit(position + length);
+        payload.position(position);
+        CRC32 crc32 = new CRC32();
+        crc32.update(payload);
+        return (int) crc32.getValue();
+    }
+
+    private ByteBuffer hashKey(String key) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class Segment {
+        private final Path path;
+        private final long sequence;
+        private final MappedByteBuffer buffer;
+        private int writePosition;
+
+        private Segment(Path path, long sequence, MappedByteBuffer buffer) {
+            this.path = path;
+            this.sequence = sequence;
+            this.buffer = buffer;
+        }
+
+    }
+
+    private static class RecordLocation {
+        private final Segment segment;
+        private final int payloadPosition;
+
+        private RecordLocation(Segment segment, int payloadPosition) {
+            this.segment = segment;
+            this.payloadPosition = payloadPosition;
+        }
+
+    }
+
+}
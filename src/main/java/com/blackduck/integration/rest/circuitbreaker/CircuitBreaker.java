@@ -0,0 +1,184 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.circuitbreaker;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import org.apache.http.HttpHost;
+
+import com.blackduck.integration.rest.exception.CircuitBreakerOpenException;
+
+/**
+ * The circuit for a single host. Every permission acquired must be followed by exactly one of onSuccess, onFailure or releasePermission.
+ */
+public class CircuitBreaker {
+    private final HttpHost host;
+    private final CircuitBreakerConfig circuitBreakerConfig;
+    private final List<CircuitStateListener> stateListeners;
+    private final LongSupplier nanoClock;
+    private final Lock lock = new ReentrantLock();
+
+    private final boolean[] failures;
+    private int recordedCount;
+    private int failureCount;
+    private int nextIndex;
+
+    private CircuitState state = CircuitState.CLOSED;
+    private long openedAtNanos;
+    private int halfOpenCallsPermitted;
+    private int halfOpenCallsSucceeded;
+
+    CircuitBreaker(HttpHost host, CircuitBreakerConfig circuitBreakerConfig, List<CircuitStateListener> stateListeners, LongSupplier nanoClock) {
+        this.host = host;
+        this.circuitBreakerConfig = circuitBreakerConfig;
+        this.stateListeners = stateListeners;
+        this.nanoClock = nanoClock;
+        this.failures = new boolean[circuitBreakerConfig.getSlidingWindowSize()];
+    }
+
+    /**
+     * @throws CircuitBreakerOpenException if the circuit is open, or half-open with every trial request already in flight
+     */
+    public void acquirePermission() throws CircuitBreakerOpenException {
+        CircuitState fromState;
+        CircuitState toState = null;
+        long remainingOpenNanos = 0;
+        boolean permitted;
+        lock.lock();
+        try {
+            fromState = state;
+            if (CircuitState.OPEN == state) {
+                remainingOpenNanos = openedAtNanos + TimeUnit.MILLISECONDS.toNanos(circuitBreakerConfig.getOpenDurationInMilliseconds()) - nanoClock.getAsLong();
+                if (remainingOpenNanos <= 0) {
+                    toState = transitionTo(CircuitState.HALF_OPEN);
+                }
+            }
+            permitted = CircuitState.CLOSED == state;
+            if (CircuitState.HALF_OPEN == state && halfOpenCallsPermitted < circuitBreakerConfig.getPermittedCallsInHalfOpenState()) {
+                halfOpenCallsPermitted++;
+                permitted = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+        notifyListeners(fromState, toState);
+
+        if (!permitted) {
+            throw new CircuitBreakerOpenException(host.toURI(), TimeUnit.NANOSECONDS.toMillis(Math.max(0L, remainingOpenNanos)));
+        }
+    }
+
+    public void onSuccess() {
+        CircuitState fromState;
+        CircuitState toState = null;
+        lock.lock();
+        try {
+            fromState = state;
+            if (CircuitState.CLOSED == state) {
+                record(false);
+            } else if (CircuitState.HALF_OPEN == state) {
+                halfOpenCallsSucceeded++;
+                if (halfOpenCallsSucceeded >= circuitBreakerConfig.getPermittedCallsInHalfOpenState()) {
+                    toState = transitionTo(CircuitState.CLOSED);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        notifyListeners(fromState, toState);
+    }
+
+    public void onFailure() {
+        CircuitState fromState;
+        CircuitState toState = null;
+        lock.lock();
+        try {
+            fromState = state;
+            if (CircuitState.CLOSED == state) {
+                record(true);
+                if (recordedCount >= circuitBreakerConfig.getMinimumNumberOfCalls() && failureCount >= circuitBreakerConfig.getFailureRateThreshold() * recordedCount) {
+                    toState = transitionTo(CircuitState.OPEN);
+                }
+            } else if (CircuitState.HALF_OPEN == state) {
+                toState = transitionTo(CircuitState.OPEN);
+            }
+        } finally {
+            lock.unlock();
+        }
+        notifyListeners(fromState, toState);
+    }
+
+    /**
+     * Returns a permission without recording an outcome for it.
+     */
+    public void releasePermission() {
+        lock.lock();
+        try {
+            if (CircuitState.HALF_OPEN == state && halfOpenCallsPermitted > halfOpenCallsSucceeded) {
+                halfOpenCallsPermitted--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public CircuitState getState() {
+        lock.lock();
+        try {
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public HttpHost getHost() {
+        return host;
+    }
+
+    private void record(boolean failure) {
+        if (recordedCount == failures.length) {
+            if (failures[nextIndex]) {
+                failureCount--;
+            }
+        } else {
+            recordedCount++;
+        }
+        failures[nextIndex] = failure;
+        if (failure) {
+            failureCount++;
+        }
+        nextIndex = (nextIndex + 1) % failures.length;
+    }
+
+    private CircuitState transitionTo(CircuitState toState) {
+        state = toState;
+        recordedCount = 0;
+        failureCount = 0;
+        nextIndex = 0;
+        halfOpenCallsPermitted = 0;
+        halfOpenCallsSucceeded = 0;
+        if (CircuitState.OPEN == toState) {
+            openedAtNanos = nanoClock.getAsLong();
+        }
+        return toState;
+    }
+
+    private void notifyListeners(CircuitState fromState, CircuitState toState) {
+        if (null == toState) {
+            return;
+        }
+        for (CircuitStateListener stateListener : stateListeners) {
+            stateListener.onStateTransition(host, fromState, toState);
+        }
+    }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.circuitbreaker;
+
+import com.blackduck.integration.builder.Buildable;
+import com.blackduck.integration.util.Stringable;
+
+/**
+ * When the circuit for a host opens and how it recovers.
+ */
+public class CircuitBreakerConfig extends Stringable implements Buildable {
+    public static final double DEFAULT_FAILURE_RATE_THRESHOLD = 0.5;
+    public static final int DEFAULT_SLIDING_WINDOW_SIZE = 20;
+    public static final int DEFAULT_MINIMUM_NUMBER_OF_CALLS = 10;
+    public static final long DEFAULT_OPEN_DURATION_IN_MILLISECONDS = 30_000L;
+    public static final int DEFAULT_PERMITTED_CALLS_IN_HALF_OPEN_STATE = 3;
+
+    public static final CircuitBreakerConfig DEFAULT = new CircuitBreakerConfig();
+
+    public static CircuitBreakerConfigBuilder newBuilder() {
+        return new CircuitBreakerConfigBuilder();
+    }
+
+    private final double failureRateThreshold;
+    private final int slidingWindowSize;
+    private final int minimumNumberOfCalls;
+    private final long openDurationInMilliseconds;
+    private final int permittedCallsInHalfOpenState;
+
+    CircuitBreakerConfig(double failureRateThreshold, int slidingWindowSize, int minimumNumberOfCalls, long openDurationInMilliseconds, int permittedCallsInHalfOpenState) {
+        this.failureRateThreshold = failureRateThreshold;
+        this.slidingWindowSize = slidingWindowSize;
+        this.minimumNumberOfCalls = minimumNumberOfCalls;
+        this.openDurationInMilliseconds = openDurationInMilliseconds;
+        this.permittedCallsInHalfOpenState = permittedCallsInHalfOpenState;
+    }
+
+    CircuitBreakerConfig() {
+        this(DEFAULT_FAILURE_RATE_THRESHOLD, DEFAULT_SLIDING_WINDOW_SIZE, DEFAULT_MINIMUM_NUMBER_OF_CALLS, DEFAULT_OPEN_DURATION_IN_MILLISECONDS, DEFAULT_PERMITTED_CALLS_IN_HALF_OPEN_STATE);
+    }
+
+    /**
+     * @return The fraction of failed requests, between 0 and 1, at or above which the circuit opens
+     */
+    public double getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    /**
+     * @return The number of most recent requests the failure rate is measured over
+     */
+    public int getSlidingWindowSize() {
+        return slidingWindowSize;
+    }
+
+    /**
+     * @return The number of requests that must have been recorded before the failure rate can open the circuit
+     */
+    public int getMinimumNumberOfCalls() {
+        return minimumNumberOfCalls;
+    }
+
+    public long getOpenDurationInMilliseconds() {
+        return openDurationInMilliseconds;
+    }
+
+    /**
+     * @return The trial requests allowed while half-open
+     */
+    public int getPermittedCallsInHalfOpenState() {
+        return permittedCallsInHalfOpenState;
+    }
+
+}
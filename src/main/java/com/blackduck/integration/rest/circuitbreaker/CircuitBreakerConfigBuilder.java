@@ -0,0 +1,88 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.circuitbreaker;
+
+import com.blackduck.integration.builder.BuilderStatus;
+import com.blackduck.integration.builder.IntegrationBuilder;
+
+public class CircuitBreakerConfigBuilder extends IntegrationBuilder<CircuitBreakerConfig> {
+    private double failureRateThreshold = CircuitBreakerConfig.DEFAULT_FAILURE_RATE_THRESHOLD;
+    private int slidingWindowSize = CircuitBreakerConfig.DEFAULT_SLIDING_WINDOW_SIZE;
+    private int minimumNumberOfCalls = CircuitBreakerConfig.DEFAULT_MINIMUM_NUMBER_OF_CALLS;
+    private long openDurationInMilliseconds = CircuitBreakerConfig.DEFAULT_OPEN_DURATION_IN_MILLISECONDS;
+    private int permittedCallsInHalfOpenState = CircuitBreakerConfig.DEFAULT_PERMITTED_CALLS_IN_HALF_OPEN_STATE;
+
+    @Override
+    protected CircuitBreakerConfig buildWithoutValidation() {
+        return new CircuitBreakerConfig(failureRateThreshold, slidingWindowSize, minimumNumberOfCalls, openDurationInMilliseconds, permittedCallsInHalfOpenState);
+    }
+
+    @Override
+    protected void validate(BuilderStatus builderStatus) {
+        if (!(failureRateThreshold > 0 && failureRateThreshold <= 1)) {
+            builderStatus.addErrorMessage("The failure rate threshold must be greater than zero and at most one.");
+        }
+
+        if (slidingWindowSize <= 0) {
+            builderStatus.addErrorMessage("The sliding window size must be greater than zero.");
+        }
+
+        if (minimumNumberOfCalls <= 0 || minimumNumberOfCalls > slidingWindowSize) {
+            builderStatus.addErrorMessage("The minimum number of calls must be greater than zero and no more than the sliding window size.");
+        }
+
+        if (openDurationInMilliseconds < 0) {
+            builderStatus.addErrorMessage("The open duration must not be negative.");
+        }
+
+        if (permittedCallsInHalfOpenState <= 0) {
+            builderStatus.addErrorMessage("The permitted calls in the half-open state must be greater than zero.");
+        }
+    }
+
+    public double getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    public void setFailureRateThreshold(double failureRateThreshold) {
+        this.failureRateThreshold = failureRateThreshold;
+    }
+
+    public int getSlidingWindowSize() {
+        return slidingWindowSize;
+    }
+
+    public void setSlidingWindowSize(int slidingWindowSize) {
+        this.slidingWindowSize = slidingWindowSize;
+    }
+
+    public int getMinimumNumberOfCalls() {
+        return minimumNumberOfCalls;
+    }
+
+    public void setMinimumNumberOfCalls(int minimumNumberOfCalls) {
+        this.minimumNumberOfCalls = minimumNumberOfCalls;
+    }
+
+    public long getOpenDurationInMilliseconds() {
+        return openDurationInMilliseconds;
+    }
+
+    public void setOpenDurationInMilliseconds(long openDurationInMilliseconds) {
+        this.openDurationInMilliseconds = openDurationInMilliseconds;
+    }
+
+    public int getPermittedCallsInHalfOpenState() {
+        return permittedCallsInHalfOpenState;
+    }
+
+    public void setPermittedCallsInHalfOpenState(int permittedCallsInHalfOpenState) {
+        this.permittedCallsInHalfOpenState = permittedCallsInHalfOpenState;
+    }
+
+}
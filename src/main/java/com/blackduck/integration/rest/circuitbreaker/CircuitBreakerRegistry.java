@@ -0,0 +1,60 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.circuitbreaker;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongSupplier;
+
+import org.apache.http.HttpHost;
+
+import com.blackduck.integration.rest.HttpHosts;
+
+/**
+ * One circuit breaker per host, created on first use from the same configuration.
+ */
+public class CircuitBreakerRegistry {
+    private final CircuitBreakerConfig circuitBreakerConfig;
+    private final LongSupplier nanoClock;
+    private final Map<HttpHost, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+    private final List<CircuitStateListener> stateListeners = new CopyOnWriteArrayList<>();
+
+    public CircuitBreakerRegistry(CircuitBreakerConfig circuitBreakerConfig) {
+        this(circuitBreakerConfig, System::nanoTime);
+    }
+
+    CircuitBreakerRegistry(CircuitBreakerConfig circuitBreakerConfig, LongSupplier nanoClock) {
+        this.circuitBreakerConfig = circuitBreakerConfig;
+        this.nanoClock = nanoClock;
+    }
+
+    public void addStateListener(CircuitStateListener stateListener) {
+        stateListeners.add(stateListener);
+    }
+
+    public void removeStateListener(CircuitStateListener stateListener) {
+        stateListeners.remove(stateListener);
+    }
+
+    public CircuitBreaker getCircuitBreaker(URI uri) {
+        return circuitBreakers.computeIfAbsent(HttpHosts.fromUri(uri), host -> new CircuitBreaker(host, circuitBreakerConfig, stateListeners, nanoClock));
+    }
+
+    public CircuitState getState(URI uri) {
+        CircuitBreaker circuitBreaker = circuitBreakers.get(HttpHosts.fromUri(uri));
+        return null == circuitBreaker ? CircuitState.CLOSED : circuitBreaker.getState();
+    }
+
+    public CircuitBreakerConfig getCircuitBreakerConfig() {
+        return circuitBreakerConfig;
+    }
+
+}
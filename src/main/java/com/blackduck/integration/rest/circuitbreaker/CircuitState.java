@@ -0,0 +1,24 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.circuitbreaker;
+
+public enum CircuitState {
+    /**
+     * Requests are sent, and their outcomes recorded.
+     */
+    CLOSED,
+    /**
+     * Requests fail immediately, without being sent, until the open duration has passed.
+     */
+    OPEN,
+    /**
+     * A limited number of trial requests are sent to find out whether the server has recovered.
+     */
+    HALF_OPEN
+
+}
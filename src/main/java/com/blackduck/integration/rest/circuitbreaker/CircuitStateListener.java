@@ -0,0 +1,19 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.circuitbreaker;
+
+import org.apache.http.HttpHost;
+
+/**
+ * Notified whenever the circuit for a host changes state.
+ */
+@FunctionalInterface
+public interface CircuitStateListener {
+    void onStateTransition(HttpHost host, CircuitState fromState, CircuitState toState);
+
+}
@@ -8,7 +8,10 @@
 package com.blackduck.integration.rest.client;
 
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import javax.net.ssl.SSLContext;
 
@@ -22,24 +25,41 @@ import org.apache.http.protocol.HttpContext;
 import com.blackduck.integration.exception.IntegrationException;
 import com.blackduck.integration.log.IntLogger;
 import com.blackduck.integration.rest.RestConstants;
+import com.blackduck.integration.rest.pool.ConnectionPoolConfig;
 import com.blackduck.integration.rest.proxy.ProxyInfo;
 import com.blackduck.integration.rest.response.Response;
 import com.google.gson.Gson;
 
 public abstract class AuthenticatingIntHttpClient extends IntHttpClient {
+    // a ReentrantLock rather than synchronized so that virtual threads waiting on an in-flight authentication do not pin their carrier threads
+    private final Lock authenticationLock = new ReentrantLock();
+
     public AuthenticatingIntHttpClient(IntLogger logger, Gson gson, int timeoutInSeconds, boolean alwaysTrustServerCertificate, ProxyInfo proxyInfo) {
         super(logger, gson, timeoutInSeconds, alwaysTrustServerCertificate, proxyInfo);
     }
 
+    public AuthenticatingIntHttpClient(IntLogger logger, Gson gson, int timeoutInSeconds, boolean alwaysTrustServerCertificate, ProxyInfo proxyInfo, ConnectionPoolConfig connectionPoolConfig) {
+        super(logger, gson, timeoutInSeconds, alwaysTrustServerCertificate, proxyInfo, connectionPoolConfig);
+    }
+
     public AuthenticatingIntHttpClient(IntLogger logger, Gson gson, int timeoutInSeconds, ProxyInfo proxyInfo, SSLContext sslContext) {
         super(logger, gson, timeoutInSeconds, proxyInfo, sslContext);
     }
 
+    public AuthenticatingIntHttpClient(IntLogger logger, Gson gson, int timeoutInSeconds, ProxyInfo proxyInfo, SSLContext sslContext, ConnectionPoolConfig connectionPoolConfig) {
+        super(logger, gson, timeoutInSeconds, proxyInfo, sslContext, connectionPoolConfig);
+    }
+
     public AuthenticatingIntHttpClient(IntLogger logger, Gson gson, int timeoutInSeconds, boolean alwaysTrustServerCertificate, ProxyInfo proxyInfo, CredentialsProvider credentialsProvider, HttpClientBuilder clientBuilder,
         RequestConfig.Builder defaultRequestConfigBuilder, Map<String, String> commonRequestHeaders) {
         super(logger, gson, timeoutInSeconds, alwaysTrustServerCertificate, proxyInfo, credentialsProvider, clientBuilder, defaultRequestConfigBuilder, commonRequestHeaders);
     }
 
+    public AuthenticatingIntHttpClient(IntLogger logger, Gson gson, int timeoutInSeconds, boolean alwaysTrustServerCertificate, ProxyInfo proxyInfo, CredentialsProvider credentialsProvider, HttpClientBuilder clientBuilder,
+        RequestConfig.Builder defaultRequestConfigBuilder, Map<String, String> commonRequestHeaders, ConnectionPoolConfig connectionPoolConfig) {
+        super(logger, gson, timeoutInSeconds, alwaysTrustServerCertificate, proxyInfo, credentialsProvider, clientBuilder, defaultRequestConfigBuilder, commonRequestHeaders, connectionPoolConfig);
+    }
+
     public abstract boolean isAlreadyAuthenticated(HttpUriRequest request);
 
     public abstract Response attemptAuthentication() throws IntegrationException;
@@ -102,15 +122,19 @@ public abstract class AuthenticatingIntHttpClient extends IntHttpClient {
     protected abstract void completeAuthenticationRequest(HttpUriRequest request, Response response) throws IntegrationException;
 
     private Response retryExecute(HttpUriRequest request, HttpContext httpContext, int retryCount) throws IntegrationException {
+        // the common headers the request is sent with, so that a rejection of credentials another thread has since replaced is not authenticated again
+        Map<String, String> sentCommonRequestHeaders = new HashMap<>(getCommonRequestHeaders());
         if (!isAlreadyAuthenticated(request)) {
-            authenticateRequest(request);
+            authenticateRequestOnce(request, sentCommonRequestHeaders);
         }
         Response response = super.execute(request, httpContext);
 
         boolean notOkay = isUnauthorized(response);
 
         if (notOkay && retryCount < 2) {
-            authenticateRequest(request);
+            // the rejected response must be closed so that its connection is returned to the pool
+            closeQuietly(response);
+            authenticateRequestOnce(request, sentCommonRequestHeaders);
             return retryExecute(request, httpContext, retryCount + 1);
         } else if (notOkay) {
             response.throwExceptionForError();
@@ -119,4 +143,28 @@ public abstract class AuthenticatingIntHttpClient extends IntHttpClient {
         return response;
     }
 
+    private void authenticateRequestOnce(HttpUriRequest request, Map<String, String> sentCommonRequestHeaders) throws IntegrationException {
+        authenticationLock.lock();
+        try {
+            if (applyCommonRequestHeaders(request, sentCommonRequestHeaders) && isAlreadyAuthenticated(request)) {
+                // another thread authenticated since this request was sent, so its credentials can be reused
+                return;
+            }
+            authenticateRequest(request);
+        } finally {
+            authenticationLock.unlock();
+        }
+    }
+
+    private boolean applyCommonRequestHeaders(HttpUriRequest request, Map<String, String> sentCommonRequestHeaders) {
+        boolean applied = false;
+        for (Map.Entry<String, String> header : getCommonRequestHeaders().entrySet()) {
+            if (!request.containsHeader(header.getKey()) || !header.getValue().equals(sentCommonRequestHeaders.get(header.getKey()))) {
+                request.setHeader(header.getKey(), header.getValue());
+                applied = true;
+            }
+        }
+        return applied;
+    }
+
 }
@@ -0,0 +1,135 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.client;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.apache.http.client.methods.HttpUriRequest;
+
+import com.blackduck.integration.exception.IntegrationException;
+import com.blackduck.integration.rest.batch.BatchResult;
+import com.blackduck.integration.rest.batch.ResponseConverter;
+import com.blackduck.integration.rest.request.Request;
+import com.blackduck.integration.rest.response.Response;
+
+/**
+ * Runs a batch of requests with a fixed number of workers.
+ */
+class BatchExecution<T> {
+    private final IntHttpClient intHttpClient;
+    private final List<Request> requests;
+    private final ResponseConverter<T> converter;
+    private final boolean failFast;
+    private final Consumer<BatchResult<T>> resultConsumer;
+    private final Runnable completionListener;
+
+    private final AtomicInteger nextIndex = new AtomicInteger();
+    private final AtomicBoolean stopped = new AtomicBoolean();
+    private final Set<HttpUriRequest> requestsInFlight = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger remainingWorkers = new AtomicInteger();
+    private final CountDownLatch completed = new CountDownLatch(1);
+    private volatile BatchResult<T> firstFailure;
+
+    BatchExecution(IntHttpClient intHttpClient, List<Request> requests, ResponseConverter<T> converter, boolean failFast, Consumer<BatchResult<T>> resultConsumer,
+        Runnable completionListener) {
+        this.intHttpClient = intHttpClient;
+        this.requests = requests;
+        this.converter = converter;
+        this.failFast = failFast;
+        this.resultConsumer = resultConsumer;
+        this.completionListener = completionListener;
+    }
+
+    void start(Executor executor, int workerCount) throws IntegrationException {
+        remainingWorkers.set(workerCount);
+        for (int worker = 0; worker < workerCount; worker++) {
+            try {
+                executor.execute(this::runWorker);
+            } catch (RejectedExecutionException e) {
+                if (0 == worker) {
+                    throw new IntegrationException("The batch could not be scheduled: " + e.getMessage(), e);
+                }
+                // the workers already running will take the requests this one would have
+                finishWorker();
+            }
+        }
+    }
+
+    void awaitCompletion() throws InterruptedException {
+        completed.await();
+    }
+
+    /**
+     * Skips the requests not yet started and aborts those in flight.
+     */
+    void cancel() {
+        stopped.set(true);
+        requestsInFlight.forEach(HttpUriRequest::abort);
+    }
+
+    Optional<BatchResult<T>> getFirstFailure() {
+        return Optional.ofNullable(firstFailure);
+    }
+
+    private void runWorker() {
+        try {
+            int index;
+            while (!stopped.get() && (index = nextIndex.getAndIncrement()) < requests.size()) {
+                BatchResult<T> result = execute(index);
+                if (failFast && !result.isSuccess() && stopped.compareAndSet(false, true)) {
+                    firstFailure = result;
+                    resultConsumer.accept(result);
+                    cancel();
+                } else if (!stopped.get()) {
+                    resultConsumer.accept(result);
+                }
+            }
+        } finally {
+            finishWorker();
+        }
+    }
+
+    private BatchResult<T> execute(int index) {
+        Request request = requests.get(index);
+        HttpUriRequest httpUriRequest = null;
+        try {
+            httpUriRequest = intHttpClient.createHttpUriRequest(request);
+            requestsInFlight.add(httpUriRequest);
+            if (stopped.get()) {
+                httpUriRequest.abort();
+            }
+            try (Response response = intHttpClient.execute(httpUriRequest)) {
+                return BatchResult.success(index, request, converter.convert(response));
+            }
+        } catch (IntegrationException | IOException | RuntimeException e) {
+            return BatchResult.failure(index, request, e);
+        } finally {
+            if (null != httpUriRequest) {
+                requestsInFlight.remove(httpUriRequest);
+            }
+        }
+    }
+
+    private void finishWorker() {
+        if (0 == remainingWorkers.decrementAndGet()) {
+            completionListener.run();
+            completed.countDown();
+        }
+    }
+
+}
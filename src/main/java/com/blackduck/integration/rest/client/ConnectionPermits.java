@@ -0,0 +1,85 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.client;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.http.HttpHost;
+
+import com.blackduck.integration.exception.IntegrationException;
+import com.blackduck.integration.rest.HttpHosts;
+import com.blackduck.integration.rest.pool.ConnectionPoolConfig;
+
+/**
+ * Admits no more requests than the connection pool has connections for.
+ */
+class ConnectionPermits {
+    private final ConnectionPoolConfig connectionPoolConfig;
+    private final Semaphore totalPermits;
+    private final Map<HttpHost, Semaphore> routePermits = new ConcurrentHashMap<>();
+
+    ConnectionPermits(ConnectionPoolConfig connectionPoolConfig) {
+        this.connectionPoolConfig = connectionPoolConfig;
+        this.totalPermits = new Semaphore(connectionPoolConfig.getMaxTotalConnections(), true);
+    }
+
+    /**
+     * @return A release action, safe to run more than once
+     */
+    Runnable acquire(URI uri, long timeoutInMilliseconds) throws IntegrationException {
+        Semaphore routeSemaphore = routePermits.computeIfAbsent(HttpHosts.fromUri(uri), this::createRouteSemaphore);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutInMilliseconds);
+        try {
+            if (!routeSemaphore.tryAcquire(timeoutInMilliseconds, TimeUnit.MILLISECONDS)) {
+                throw new IntegrationException("Timeout waiting for a connection to " + uri.getHost());
+            }
+            try {
+                if (!totalPermits.tryAcquire(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    throw new IntegrationException("Timeout waiting for a connection from the pool");
+                }
+            } catch (IntegrationException | InterruptedException | RuntimeException e) {
+                routeSemaphore.release();
+                throw e;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IntegrationException("Interrupted while waiting for a connection to " + uri.getHost(), e);
+        }
+
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                totalPermits.release();
+                routeSemaphore.release();
+            }
+        };
+    }
+
+    /**
+     * @return The release action for the permits, or empty if there are none free right now
+     */
+    Optional<Runnable> tryAcquire(URI uri) {
+        try {
+            return Optional.of(acquire(uri, 0L));
+        } catch (IntegrationException e) {
+            return Optional.empty();
+        }
+    }
+
+    private Semaphore createRouteSemaphore(HttpHost host) {
+        int maxConnections = connectionPoolConfig.getMaxConnectionsPerHost().getOrDefault(host, connectionPoolConfig.getMaxConnectionsPerRoute());
+        return new Semaphore(maxConnections, true);
+    }
+
+}
@@ -7,6 +7,7 @@
  */
 package com.blackduck.integration.rest.client;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.nio.charset.Charset;
@@ -14,12 +15,36 @@ import java.nio.charset.StandardCharsets;
 import java.security.KeyManagementException;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.SSLContext;
@@ -35,16 +60,25 @@ import org.apache.http.auth.NTCredentials;
 import org.apache.http.client.CredentialsProvider;
 import org.apache.http.client.config.CookieSpecs;
 import org.apache.http.client.config.RequestConfig;
-import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.client.utils.DateUtils;
 import org.apache.http.client.utils.URIBuilder;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
 import org.apache.http.conn.ssl.NoopHostnameVerifier;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.conn.ssl.TrustAllStrategy;
 import org.apache.http.impl.client.BasicCredentialsProvider;
-import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.message.BasicHeader;
+import org.apache.http.pool.PoolStats;
 import org.apache.http.protocol.BasicHttpContext;
 import org.apache.http.protocol.HttpContext;
 import org.apache.http.ssl.SSLContextBuilder;
@@ -53,15 +87,34 @@ import org.apache.http.ssl.SSLContexts;
 import com.blackduck.integration.exception.IntegrationException;
 import com.blackduck.integration.log.IntLogger;
 import com.blackduck.integration.rest.HttpMethod;
+import com.blackduck.integration.rest.RestConstants;
+import com.blackduck.integration.rest.batch.BatchOptions;
+import com.blackduck.integration.rest.batch.BatchResult;
+import com.blackduck.integration.rest.batch.ResponseConverter;
 import com.blackduck.integration.rest.body.BodyContent;
 import com.blackduck.integration.rest.body.BodyContentConverter;
+import com.blackduck.integration.rest.cache.HttpCache;
+import com.blackduck.integration.rest.circuitbreaker.CircuitBreaker;
+import com.blackduck.integration.rest.circuitbreaker.CircuitBreakerRegistry;
+import com.blackduck.integration.rest.compression.CompressingHttpTransport;
+import com.blackduck.integration.rest.compression.RequestCompressionPolicy;
 import com.blackduck.integration.rest.exception.ApiException;
 import com.blackduck.integration.rest.exception.IntegrationRestException;
+import com.blackduck.integration.rest.hedge.HedgingHttpTransport;
+import com.blackduck.integration.rest.hedge.HedgingPolicy;
+import com.blackduck.integration.rest.pool.ConnectionPoolConfig;
 import com.blackduck.integration.rest.proxy.ProxyInfo;
+import com.blackduck.integration.rest.ratelimit.RateLimiter;
 import com.blackduck.integration.rest.request.Request;
-import com.blackduck.integration.rest.response.DefaultResponse;
+import com.blackduck.integration.rest.request.ResourceVersion;
 import com.blackduck.integration.rest.response.ErrorResponse;
+import com.blackduck.integration.rest.response.PermitReleasingResponse;
 import com.blackduck.integration.rest.response.Response;
+import com.blackduck.integration.rest.retry.RetryPolicy;
+import com.blackduck.integration.rest.retry.RetryingHttpTransport;
+import com.blackduck.integration.rest.transport.ApacheHttpTransport;
+import com.blackduck.integration.rest.transport.Http2Transports;
+import com.blackduck.integration.rest.transport.HttpTransport;
 import com.blackduck.integration.util.MaskedStringFieldToStringBuilder;
 import com.google.gson.Gson;
 import com.jayway.jsonpath.JsonPath;
@@ -69,7 +122,7 @@ import com.jayway.jsonpath.JsonPath;
 /**
  * A basic, extendable http client.
  */
-public class IntHttpClient {
+public class IntHttpClient implements Closeable {
     public static final Supplier<SSLContext> SSL_CONTEXT_SUPPLIER = SSLContexts::createDefault;
     public static final String ERROR_MSG_PROXY_INFO_NULL = "A IntHttpClient's proxy information cannot be null.";
     public static final int DEFAULT_TIMEOUT = 120;
@@ -85,33 +138,67 @@ public class IntHttpClient {
     private final HttpClientBuilder clientBuilder;
     private final RequestConfig.Builder defaultRequestConfigBuilder;
     private final Map<String, String> commonRequestHeaders;
+    private final ConnectionPoolConfig connectionPoolConfig;
+    private final ConnectionPermits connectionPermits;
+    private final Lock lifecycleLock = new ReentrantLock();
+    private final List<UnaryOperator<HttpTransport>> transportDecorators = new ArrayList<>();
 
     private SSLContext sslContext;
+    private PoolingHttpClientConnectionManager connectionManager;
+    private volatile HttpTransport transport;
+    private HttpTransport configuredTransport;
+    private volatile Executor executor;
+    private volatile RateLimiter rateLimiter;
+    private volatile CircuitBreakerRegistry circuitBreakerRegistry;
+    private volatile SingleFlight singleFlight;
+    private volatile HttpCache httpCache;
+    private volatile boolean conditionalGetRequests;
+    private ExecutorService ownedExecutor;
+    private boolean closed;
 
     public IntHttpClient(IntLogger logger, Gson gson, int timeoutInSeconds, boolean alwaysTrustServerCertificate, ProxyInfo proxyInfo) {
-        this(logger, gson, timeoutInSeconds, alwaysTrustServerCertificate, proxyInfo, SSL_CONTEXT_SUPPLIER.get());
+        this(logger, gson, timeoutInSeconds, alwaysTrustServerCertificate, proxyInfo, ConnectionPoolConfig.DEFAULT);
+    }
+
+    public IntHttpClient(IntLogger logger, Gson gson, int timeoutInSeconds, boolean alwaysTrustServerCertificate, ProxyInfo proxyInfo, ConnectionPoolConfig connectionPoolConfig) {
+        this(logger, gson, timeoutInSeconds, alwaysTrustServerCertificate, proxyInfo, SSL_CONTEXT_SUPPLIER.get(), connectionPoolConfig);
     }
 
     public IntHttpClient(IntLogger logger, Gson gson, int timeoutInSeconds, ProxyInfo proxyInfo, SSLContext sslContext) {
-        this(logger, gson, timeoutInSeconds, false, proxyInfo, sslContext);
+        this(logger, gson, timeoutInSeconds, proxyInfo, sslContext, ConnectionPoolConfig.DEFAULT);
+    }
+
+    public IntHttpClient(IntLogger logger, Gson gson, int timeoutInSeconds, ProxyInfo proxyInfo, SSLContext sslContext, ConnectionPoolConfig connectionPoolConfig) {
+        this(logger, gson, timeoutInSeconds, false, proxyInfo, sslContext, connectionPoolConfig);
     }
 
     public IntHttpClient(IntLogger logger, Gson gson, int timeoutInSeconds, boolean alwaysTrustServerCertificate, ProxyInfo proxyInfo, CredentialsProvider credentialsProvider, HttpClientBuilder clientBuilder,
         RequestConfig.Builder defaultRequestConfigBuilder, Map<String, String> commonRequestHeaders) {
-        this(logger, gson, timeoutInSeconds, alwaysTrustServerCertificate, proxyInfo, credentialsProvider, clientBuilder, defaultRequestConfigBuilder, commonRequestHeaders, SSL_CONTEXT_SUPPLIER.get());
+        this(logger, gson, timeoutInSeconds, alwaysTrustServerCertificate, proxyInfo, credentialsProvider, clientBuilder, defaultRequestConfigBuilder, commonRequestHeaders, ConnectionPoolConfig.DEFAULT);
+    }
+
+    public IntHttpClient(IntLogger logger, Gson gson, int timeoutInSeconds, boolean alwaysTrustServerCertificate, ProxyInfo proxyInfo, CredentialsProvider credentialsProvider, HttpClientBuilder clientBuilder,
+        RequestConfig.Builder defaultRequestConfigBuilder, Map<String, String> commonRequestHeaders, ConnectionPoolConfig connectionPoolConfig) {
+        this(logger, gson, timeoutInSeconds, alwaysTrustServerCertificate, proxyInfo, credentialsProvider, clientBuilder, defaultRequestConfigBuilder, commonRequestHeaders, SSL_CONTEXT_SUPPLIER.get(), connectionPoolConfig);
     }
 
     public IntHttpClient(IntLogger logger, Gson gson, int timeoutInSeconds, ProxyInfo proxyInfo, CredentialsProvider credentialsProvider, HttpClientBuilder clientBuilder,
         RequestConfig.Builder defaultRequestConfigBuilder, Map<String, String> commonRequestHeaders, SSLContext sslContext) {
-        this(logger, gson, timeoutInSeconds, false, proxyInfo, credentialsProvider, clientBuilder, defaultRequestConfigBuilder, commonRequestHeaders, sslContext);
+        this(logger, gson, timeoutInSeconds, proxyInfo, credentialsProvider, clientBuilder, defaultRequestConfigBuilder, commonRequestHeaders, sslContext, ConnectionPoolConfig.DEFAULT);
     }
 
-    private IntHttpClient(IntLogger logger, Gson gson, int timeoutInSeconds, boolean alwaysTrustServerCertificate, ProxyInfo proxyInfo, SSLContext sslContext) {
-        this(logger, gson, timeoutInSeconds, alwaysTrustServerCertificate, proxyInfo, new BasicCredentialsProvider(), HttpClientBuilder.create(), RequestConfig.custom().setCookieSpec(CookieSpecs.STANDARD), new HashMap<>(), sslContext);
+    public IntHttpClient(IntLogger logger, Gson gson, int timeoutInSeconds, ProxyInfo proxyInfo, CredentialsProvider credentialsProvider, HttpClientBuilder clientBuilder,
+        RequestConfig.Builder defaultRequestConfigBuilder, Map<String, String> commonRequestHeaders, SSLContext sslContext, ConnectionPoolConfig connectionPoolConfig) {
+        this(logger, gson, timeoutInSeconds, false, proxyInfo, credentialsProvider, clientBuilder, defaultRequestConfigBuilder, commonRequestHeaders, sslContext, connectionPoolConfig);
+    }
+
+    private IntHttpClient(IntLogger logger, Gson gson, int timeoutInSeconds, boolean alwaysTrustServerCertificate, ProxyInfo proxyInfo, SSLContext sslContext, ConnectionPoolConfig connectionPoolConfig) {
+        this(logger, gson, timeoutInSeconds, alwaysTrustServerCertificate, proxyInfo, new BasicCredentialsProvider(), HttpClientBuilder.create(), RequestConfig.custom().setCookieSpec(CookieSpecs.STANDARD), new ConcurrentHashMap<>(), sslContext,
+            connectionPoolConfig);
     }
 
     private IntHttpClient(IntLogger logger, Gson gson, int timeoutInSeconds, boolean alwaysTrustServerCertificate, ProxyInfo proxyInfo, CredentialsProvider credentialsProvider, HttpClientBuilder clientBuilder,
-        RequestConfig.Builder defaultRequestConfigBuilder, Map<String, String> commonRequestHeaders, SSLContext sslContext) {
+        RequestConfig.Builder defaultRequestConfigBuilder, Map<String, String> commonRequestHeaders, SSLContext sslContext, ConnectionPoolConfig connectionPoolConfig) {
         this.logger = logger;
         this.gson = gson;
         this.proxyInfo = proxyInfo;
@@ -122,6 +209,7 @@ public class IntHttpClient {
         this.defaultRequestConfigBuilder = defaultRequestConfigBuilder;
         this.commonRequestHeaders = commonRequestHeaders;
         this.sslContext = sslContext;
+        this.connectionPoolConfig = connectionPoolConfig;
 
         if (0 >= timeoutInSeconds) {
             throw new IllegalArgumentException("The timeout must be greater than 0.");
@@ -135,11 +223,17 @@ public class IntHttpClient {
             throw new IllegalArgumentException(IntHttpClient.ERROR_MSG_PROXY_INFO_NULL);
         }
 
+        if (null == connectionPoolConfig) {
+            throw new IllegalArgumentException("The connection pool configuration may not be null.");
+        }
+
+        this.connectionPermits = new ConnectionPermits(connectionPoolConfig);
+
         addBuilderConnectionTimes();
         addBuilderProxyInformation();
         addToHttpClientBuilder(clientBuilder, defaultRequestConfigBuilder);
         addBuilderCredentialsProvider();
-        addBuilderSSLContext();
+        addBuilderConnectionManager(createSSLConnectionSocketFactory());
     }
 
     public final RequestBuilder createRequestBuilder(HttpMethod method) throws IntegrationException {
@@ -233,11 +327,161 @@ public class IntHttpClient {
         }
     }
 
+    /**
+     * Sends the request within the rate limit, the connection limits and the circuit breaker, but without the cache, single flight or error handling.
+     */
+    public Response executeWithinLimits(HttpUriRequest request, HttpContext httpContext) throws IntegrationException, IOException {
+        return sendThroughCircuitBreaker(getTransport(), request, httpContext);
+    }
+
+    /**
+     * Executes the request on this client's executor. Cancelling the returned future aborts the request.
+     */
+    public CompletableFuture<Response> executeAsync(Request request) {
+        return executeAsync(request, getDefaultExecutor());
+    }
+
+    /**
+     * Executes the request on the provided executor. Cancelling the returned future aborts the request.
+     */
+    public CompletableFuture<Response> executeAsync(Request request, Executor executor) {
+        HttpUriRequest httpUriRequest;
+        try {
+            httpUriRequest = createHttpUriRequest(request);
+        } catch (IntegrationException e) {
+            CompletableFuture<Response> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+        return executeAsync(httpUriRequest, executor);
+    }
+
+    public CompletableFuture<Response> executeAsync(HttpUriRequest request) {
+        return executeAsync(request, getDefaultExecutor());
+    }
+
+    public CompletableFuture<Response> executeAsync(HttpUriRequest request, Executor executor) {
+        CompletableFuture<Response> futureResponse = new CompletableFuture<>();
+        futureResponse.whenComplete((response, throwable) -> {
+            if (futureResponse.isCancelled()) {
+                request.abort();
+            }
+        });
+
+        try {
+            executor.execute(() -> {
+                if (futureResponse.isDone()) {
+                    return;
+                }
+                try {
+                    Response response = execute(request, new BasicHttpContext());
+                    if (!futureResponse.complete(response)) {
+                        // the future was cancelled while the request was in flight, so nobody else will release the connection
+                        closeQuietly(response);
+                    }
+                } catch (Exception e) {
+                    futureResponse.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            futureResponse.completeExceptionally(new IntegrationException("The request could not be scheduled: " + e.getMessage(), e));
+        }
+
+        return futureResponse;
+    }
+
+    public <T> List<BatchResult<T>> executeAll(Collection<Request> requests, ResponseConverter<T> converter) throws IntegrationException {
+        return executeAll(requests, converter, BatchOptions.DEFAULT);
+    }
+
+    /**
+     * Executes every request, with no more than the configured parallelism in flight at once.
+     * @return One result per request, in the order of the requests
+     * @throws IntegrationException the first failure, when failing fast
+     */
+    public <T> List<BatchResult<T>> executeAll(Collection<Request> requests, ResponseConverter<T> converter, BatchOptions batchOptions) throws IntegrationException {
+        List<Request> requestList = new ArrayList<>(requests);
+        if (requestList.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        AtomicReferenceArray<BatchResult<T>> results = new AtomicReferenceArray<>(requestList.size());
+        BatchExecution<T> batchExecution = new BatchExecution<>(this, requestList, converter, batchOptions.isFailFast(), result -> results.set(result.getIndex(), result), () -> {});
+        startBatch(batchExecution, requestList.size(), batchOptions);
+        try {
+            batchExecution.awaitCompletion();
+        } catch (InterruptedException e) {
+            batchExecution.cancel();
+            Thread.currentThread().interrupt();
+            throw new IntegrationException("Interrupted while waiting for the batch to complete.", e);
+        }
+
+        Optional<BatchResult<T>> firstFailure = batchExecution.getFirstFailure();
+        if (firstFailure.isPresent()) {
+            firstFailure.get().getValueOrThrow();
+        }
+        List<BatchResult<T>> orderedResults = new ArrayList<>(requestList.size());
+        for (int index = 0; index < requestList.size(); index++) {
+            orderedResults.add(results.get(index));
+        }
+        return orderedResults;
+    }
+
+    public <T> Stream<BatchResult<T>> executeAllAsCompleted(Collection<Request> requests, ResponseConverter<T> converter) throws IntegrationException {
+        return executeAllAsCompleted(requests, converter, BatchOptions.DEFAULT);
+    }
+
+    /**
+     * Executes every request, with no more than the configured parallelism in flight at once. Closing the stream aborts the requests still in flight.
+     * @return One result per request, in the order the requests complete
+     */
+    public <T> Stream<BatchResult<T>> executeAllAsCompleted(Collection<Request> requests, ResponseConverter<T> converter, BatchOptions batchOptions) throws IntegrationException {
+        List<Request> requestList = new ArrayList<>(requests);
+        if (requestList.isEmpty()) {
+            return Stream.empty();
+        }
+
+        // an empty result marks the end of the batch
+        BlockingQueue<Optional<BatchResult<T>>> completedResults = new LinkedBlockingQueue<>();
+        BatchExecution<T> batchExecution = new BatchExecution<>(this, requestList, converter, batchOptions.isFailFast(), result -> completedResults.add(Optional.of(result)),
+            () -> completedResults.add(Optional.empty()));
+        startBatch(batchExecution, requestList.size(), batchOptions);
+
+        Spliterator<BatchResult<T>> spliterator = new Spliterators.AbstractSpliterator<BatchResult<T>>(requestList.size(), Spliterator.NONNULL) {
+            private boolean finished;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super BatchResult<T>> action) {
+                if (finished) {
+                    return false;
+                }
+                try {
+                    Optional<BatchResult<T>> result = completedResults.take();
+                    if (!result.isPresent()) {
+                        finished = true;
+                        return false;
+                    }
+                    action.accept(result.get());
+                    return true;
+                } catch (InterruptedException e) {
+                    batchExecution.cancel();
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for the batch to complete.", e);
+                }
+            }
+        };
+        return StreamSupport.stream(spliterator, false).onClose(batchExecution::cancel);
+    }
+
     public Optional<Response> executeGetRequestIfModifiedSince(Request getRequest, long timeToCheck) throws IntegrationException, IOException {
         return executeGetRequestIfModifiedSince(getRequest, timeToCheck, new BasicHttpContext());
     }
 
     public Optional<Response> executeGetRequestIfModifiedSince(Request getRequest, long timeToCheck, HttpContext httpContext) throws IntegrationException, IOException {
+        if (conditionalGetRequests) {
+            return executeGetRequestIfChanged(getRequest, ResourceVersion.ofLastModified(timeToCheck), httpContext);
+        }
+
         Request headRequest = new Request.Builder(getRequest).method(HttpMethod.HEAD).build();
 
         long lastModifiedOnServer = 0L;
@@ -260,6 +504,268 @@ public class IntHttpClient {
         return Optional.of(execute(createHttpUriRequest(getRequest), httpContext));
     }
 
+    public Optional<Response> executeGetRequestIfChanged(Request getRequest, ResourceVersion knownVersion) throws IntegrationException, IOException {
+        return executeGetRequestIfChanged(getRequest, knownVersion, new BasicHttpContext());
+    }
+
+    /**
+     * Sends a single GET carrying If-None-Match and If-Modified-Since for the version already known.
+     * @return The response if the resource has changed, or empty if the server answered 304
+     */
+    public Optional<Response> executeGetRequestIfChanged(Request getRequest, ResourceVersion knownVersion, HttpContext httpContext) throws IntegrationException, IOException {
+        HttpUriRequest request = createHttpUriRequest(getRequest);
+        knownVersion.getETag().ifPresent(etag -> request.setHeader(HttpHeaders.IF_NONE_MATCH, etag));
+        if (ResourceVersion.NO_LAST_MODIFIED != knownVersion.getLastModified()) {
+            request.setHeader(HttpHeaders.IF_MODIFIED_SINCE, DateUtils.formatDate(new Date(knownVersion.getLastModified())));
+        }
+
+        Response response = execute(request, httpContext);
+        if (RestConstants.NOT_MODIFIED_304 == response.getStatusCode()) {
+            response.close();
+            logger.debug("The request has not been modified since it was last checked - skipping.");
+            return Optional.empty();
+        }
+        return Optional.of(response);
+    }
+
+    /**
+     * Makes executeGetRequestIfModifiedSince send a single conditional GET rather than a HEAD followed by a GET.
+     */
+    public void useConditionalGetRequests() {
+        conditionalGetRequests = true;
+    }
+
+    /**
+     * @return The transport shared by every request made through this instance
+     */
+    public HttpTransport getTransport() {
+        HttpTransport currentTransport = transport;
+        if (null == currentTransport) {
+            lifecycleLock.lock();
+            try {
+                assertNotClosed();
+                currentTransport = transport;
+                if (null == currentTransport) {
+                    currentTransport = null != configuredTransport ? configuredTransport : createDefaultTransport();
+                    for (UnaryOperator<HttpTransport> transportDecorator : transportDecorators) {
+                        currentTransport = transportDecorator.apply(currentTransport);
+                    }
+                    transport = currentTransport;
+                }
+            } finally {
+                lifecycleLock.unlock();
+            }
+        }
+        return currentTransport;
+    }
+
+    /**
+     * Sets the transport every request is sent through, which this client closes when it is closed. This must be called before the first request is made.
+     */
+    public void setTransport(HttpTransport transport) {
+        if (null == transport) {
+            throw new IllegalArgumentException("The transport may not be null.");
+        }
+        HttpTransport previousTransport;
+        lifecycleLock.lock();
+        try {
+            assertTransportNotInUse();
+            previousTransport = configuredTransport;
+            configuredTransport = transport;
+        } finally {
+            lifecycleLock.unlock();
+        }
+        if (null != previousTransport && previousTransport != transport) {
+            closeQuietly(previousTransport);
+        }
+    }
+
+    /**
+     * Wraps the transport in another that adds behavior such as retries - the last decorator added sees each request first. This must be called before
+     * the first request is made.
+     */
+    public void decorateTransport(UnaryOperator<HttpTransport> transportDecorator) {
+        if (null == transportDecorator) {
+            throw new IllegalArgumentException("The transport decorator may not be null.");
+        }
+        lifecycleLock.lock();
+        try {
+            assertTransportNotInUse();
+            transportDecorators.add(transportDecorator);
+        } finally {
+            lifecycleLock.unlock();
+        }
+    }
+
+    /**
+     * Retries idempotent requests that fail transiently, as described by the retry policy. This must be called before the first request is made.
+     */
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        decorateTransport(currentTransport -> new RetryingHttpTransport(currentTransport, retryPolicy, logger));
+    }
+
+    /**
+     * Sends a second copy of a slow GET or HEAD, when a connection is free for it, keeping whichever response arrives first. This must be called before
+     * the first request is made.
+     */
+    public void setHedgingPolicy(HedgingPolicy hedgingPolicy) {
+        decorateTransport(currentTransport -> new HedgingHttpTransport(currentTransport, hedgingPolicy, logger, request -> connectionPermits.tryAcquire(request.getURI())));
+    }
+
+    /**
+     * Compresses request bodies as described by the policy. This must be called before the first request is made.
+     */
+    public void setRequestCompressionPolicy(RequestCompressionPolicy requestCompressionPolicy) {
+        decorateTransport(currentTransport -> new CompressingHttpTransport(currentTransport, requestCompressionPolicy, logger));
+    }
+
+    /**
+     * Holds requests back to stay within the limits of the rate limiter. Passing null removes the limit.
+     */
+    public void setRateLimiter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    public Optional<RateLimiter> getRateLimiter() {
+        return Optional.ofNullable(rateLimiter);
+    }
+
+    /**
+     * Fails requests immediately, with a CircuitBreakerOpenException, to any host whose circuit is open. Passing null removes the circuit breakers.
+     */
+    public void setCircuitBreakerRegistry(CircuitBreakerRegistry circuitBreakerRegistry) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+    }
+
+    public Optional<CircuitBreakerRegistry> getCircuitBreakerRegistry() {
+        return Optional.ofNullable(circuitBreakerRegistry);
+    }
+
+    /**
+     * Lets concurrent identical GETs share a single call.
+     */
+    public void useSingleFlight() {
+        lifecycleLock.lock();
+        try {
+            if (null == singleFlight) {
+                singleFlight = new SingleFlight();
+            }
+        } finally {
+            lifecycleLock.unlock();
+        }
+    }
+
+    /**
+     * Answers GETs from the cache while fresh, and revalidates stale responses with a conditional request. Passing null removes the cache.
+     */
+    public void setHttpCache(HttpCache httpCache) {
+        this.httpCache = httpCache;
+    }
+
+    public Optional<HttpCache> getHttpCache() {
+        return Optional.ofNullable(httpCache);
+    }
+
+    /**
+     * Closes the transport and any executor this client created.
+     */
+    @Override
+    public void close() throws IOException {
+        HttpTransport transportToClose;
+        ExecutorService executorToShutdown;
+        lifecycleLock.lock();
+        try {
+            closed = true;
+            transportToClose = null != transport ? transport : configuredTransport;
+            executorToShutdown = ownedExecutor;
+        } finally {
+            lifecycleLock.unlock();
+        }
+        if (null != executorToShutdown) {
+            executorToShutdown.shutdownNow();
+        }
+        if (null != transportToClose) {
+            transportToClose.close();
+        }
+    }
+
+    /**
+     * Sets the executor used by executeAsync when no executor is provided. The caller remains responsible for shutting it down.
+     */
+    public void setExecutor(Executor executor) {
+        replaceExecutor(executor, null);
+    }
+
+    /**
+     * Runs asynchronous requests on a new virtual thread per request.
+     * @return true if virtual threads are available (Java 21 or newer), false if the current executor was left unchanged
+     */
+    public boolean useVirtualThreads() {
+        Optional<ExecutorService> virtualThreadExecutor = VirtualThreadExecutors.newVirtualThreadPerTaskExecutor();
+        if (!virtualThreadExecutor.isPresent()) {
+            logger.debug("Virtual threads are not available in this runtime - asynchronous requests will continue to use platform threads.");
+            return false;
+        }
+        replaceExecutor(virtualThreadExecutor.get(), virtualThreadExecutor.get());
+        return true;
+    }
+
+    /**
+     * Sends requests through java.net.http, so that they negotiate HTTP/2. This must be called before the first request is made.
+     * @return true if HTTP/2 is available (Java 11 or newer) and compatible with this client's settings, false if requests will continue to use HTTP/1.1
+     */
+    public boolean useHttp2() {
+        if (alwaysTrustServerCertificate || proxyInfo.hasAuthenticatedProxySettings()) {
+            // java.net.http can neither skip hostname verification per client nor authenticate to NTLM proxies
+            logger.debug("HTTP/2 can not be used when trusting all server certificates or with an authenticated proxy - requests will continue to use HTTP/1.1.");
+            return false;
+        }
+        lifecycleLock.lock();
+        try {
+            assertTransportNotInUse();
+        } finally {
+            lifecycleLock.unlock();
+        }
+        Optional<HttpTransport> http2Transport = Http2Transports.create(sslContext, proxyInfo, timeoutInSeconds);
+        if (!http2Transport.isPresent()) {
+            logger.debug("HTTP/2 is not available in this runtime - requests will continue to use HTTP/1.1.");
+            return false;
+        }
+        try {
+            setTransport(http2Transport.get());
+        } catch (IllegalStateException e) {
+            closeQuietly(http2Transport.get());
+            throw e;
+        }
+        return true;
+    }
+
+    /**
+     * Creates the transport used when none is set, sending requests through the pooled client built from the {@link HttpClientBuilder}.
+     */
+    protected HttpTransport createDefaultTransport() {
+        return new ApacheHttpTransport(clientBuilder.build());
+    }
+
+    protected Executor getDefaultExecutor() {
+        Executor currentExecutor = executor;
+        if (null == currentExecutor) {
+            lifecycleLock.lock();
+            try {
+                assertNotClosed();
+                currentExecutor = executor;
+                if (null == currentExecutor) {
+                    ownedExecutor = Executors.newFixedThreadPool(connectionPoolConfig.getMaxTotalConnections(), createDaemonThreadFactory());
+                    currentExecutor = ownedExecutor;
+                    executor = currentExecutor;
+                }
+            } finally {
+                lifecycleLock.unlock();
+            }
+        }
+        return currentExecutor;
+    }
+
     public final void logRequestHeaders(HttpUriRequest request) {
         String requestName = request.getClass().getSimpleName();
         logger.trace(requestName + " : " + request.toString());
@@ -272,6 +778,15 @@ public class IntHttpClient {
         logHeaders(responseName, response.getAllHeaders());
     }
 
+    public final void logResponseHeaders(Response response) {
+        String responseName = response.getClass().getSimpleName();
+        logger.trace(String.format("%s : %d %s", responseName, response.getStatusCode(), response.getStatusMessage()));
+        Header[] headers = response.getHeaders().entrySet().stream()
+                               .map(header -> new BasicHeader(header.getKey(), header.getValue()))
+                               .toArray(Header[]::new);
+        logHeaders(responseName, headers);
+    }
+
     protected void addToHttpClientBuilder(HttpClientBuilder httpClientBuilder, RequestConfig.Builder defaultRequestConfigBuilder) {
         // Subclasses can optionally add to the builders any additional fields they need to successfully initialize
     }
@@ -291,7 +806,7 @@ public class IntHttpClient {
         clientBuilder.setDefaultRequestConfig(defaultRequestConfigBuilder.build());
     }
 
-    private void addBuilderSSLContext() {
+    private SSLConnectionSocketFactory createSSLConnectionSocketFactory() {
         try {
             HostnameVerifier hostnameVerifier;
             if (alwaysTrustServerCertificate) {
@@ -301,13 +816,58 @@ public class IntHttpClient {
             } else {
                 hostnameVerifier = SSLConnectionSocketFactory.getDefaultHostnameVerifier();
             }
-            SSLConnectionSocketFactory connectionFactory = new SSLConnectionSocketFactory(sslContext, hostnameVerifier);
-            clientBuilder.setSSLSocketFactory(connectionFactory);
+            return new SSLConnectionSocketFactory(sslContext, hostnameVerifier);
         } catch (KeyManagementException | NoSuchAlgorithmException | KeyStoreException e) {
             throw new IllegalArgumentException(e.getMessage(), e);
         }
     }
 
+    private void addBuilderConnectionManager(SSLConnectionSocketFactory sslConnectionSocketFactory) {
+        Registry<ConnectionSocketFactory> socketFactoryRegistry = RegistryBuilder.<ConnectionSocketFactory>create()
+                                                                      .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                                                                      .register("https", sslConnectionSocketFactory)
+                                                                      .build();
+        long timeToLive = connectionPoolConfig.shouldLimitConnectionTimeToLive() ? connectionPoolConfig.getConnectionTimeToLiveInSeconds() : -1L;
+        connectionManager = new PoolingHttpClientConnectionManager(socketFactoryRegistry, null, null, null, timeToLive, TimeUnit.SECONDS);
+        connectionManager.setMaxTotal(connectionPoolConfig.getMaxTotalConnections());
+        connectionManager.setDefaultMaxPerRoute(connectionPoolConfig.getMaxConnectionsPerRoute());
+        connectionManager.setValidateAfterInactivity(connectionPoolConfig.getValidateAfterInactivityInMilliseconds());
+        for (Map.Entry<HttpHost, Integer> hostMaximum : connectionPoolConfig.getMaxConnectionsPerHost().entrySet()) {
+            connectionManager.setMaxPerRoute(createRoute(hostMaximum.getKey()), hostMaximum.getValue());
+        }
+
+        clientBuilder.setSSLSocketFactory(sslConnectionSocketFactory);
+        clientBuilder.setConnectionManager(connectionManager);
+        clientBuilder.setKeepAliveStrategy(createKeepAliveStrategy());
+        if (connectionPoolConfig.shouldEvictIdleConnections()) {
+            clientBuilder.evictIdleConnections(connectionPoolConfig.getIdleConnectionTimeoutInSeconds(), TimeUnit.SECONDS);
+        }
+        if (connectionPoolConfig.shouldLimitConnectionTimeToLive()) {
+            clientBuilder.evictExpiredConnections();
+        }
+    }
+
+    private HttpRoute createRoute(HttpHost target) {
+        boolean secure = "https".equalsIgnoreCase(target.getSchemeName());
+        if (proxyInfo.shouldUseProxy()) {
+            HttpHost proxy = new HttpHost(proxyInfo.getHost().orElse(null), proxyInfo.getPort());
+            return new HttpRoute(target, null, proxy, secure);
+        }
+        return new HttpRoute(target, null, secure);
+    }
+
+    private ConnectionKeepAliveStrategy createKeepAliveStrategy() {
+        return (response, context) -> {
+            // a Keep-Alive timeout sent by the server always takes precedence over the configured default
+            long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            if (serverKeepAlive > 0) {
+                return serverKeepAlive;
+            }
+            long defaultKeepAlive = connectionPoolConfig.getDefaultKeepAliveInSeconds();
+            return defaultKeepAlive > 0 ? TimeUnit.SECONDS.toMillis(defaultKeepAlive) : -1L;
+        };
+    }
+
     private void addBuilderProxyInformation() {
         if (proxyInfo.shouldUseProxy()) {
             defaultRequestConfigBuilder.setProxy(new HttpHost(proxyInfo.getHost().orElse(null), proxyInfo.getPort()));
@@ -321,12 +881,17 @@ public class IntHttpClient {
 
     private Response handleClientExecution(HttpUriRequest request, HttpContext httpContext) throws IntegrationException {
         try {
-            CloseableHttpClient client = clientBuilder.build();
+            HttpTransport currentTransport = getTransport();
             logRequestHeaders(request);
 
-            CloseableHttpResponse closeableHttpResponse = client.execute(request, httpContext);
-            Response response = new DefaultResponse(request, client, closeableHttpResponse);
-            logResponseHeaders(closeableHttpResponse);
+            HttpCache currentHttpCache = httpCache;
+            Response response;
+            if (null != currentHttpCache && currentHttpCache.isCacheable(request)) {
+                response = currentHttpCache.execute(request, () -> sendOnce(currentTransport, request, httpContext));
+            } else {
+                response = sendOnce(currentTransport, request, httpContext);
+            }
+            logResponseHeaders(response);
             if (response.isStatusCodeError()) {
                 handleErrorResponse(request, response);
             }
@@ -336,6 +901,125 @@ public class IntHttpClient {
         }
     }
 
+    private Response sendOnce(HttpTransport currentTransport, HttpUriRequest request, HttpContext httpContext) throws IntegrationException, IOException {
+        SingleFlight currentSingleFlight = singleFlight;
+        if (null != currentSingleFlight && currentSingleFlight.isShareable(request)) {
+            return currentSingleFlight.execute(request, () -> sendThroughCircuitBreaker(currentTransport, request, httpContext));
+        }
+        return sendThroughCircuitBreaker(currentTransport, request, httpContext);
+    }
+
+    private Response sendThroughCircuitBreaker(HttpTransport currentTransport, HttpUriRequest request, HttpContext httpContext) throws IntegrationException, IOException {
+        CircuitBreakerRegistry currentCircuitBreakerRegistry = circuitBreakerRegistry;
+        if (null == currentCircuitBreakerRegistry) {
+            return sendWithinLimits(currentTransport, request, httpContext);
+        }
+
+        CircuitBreaker circuitBreaker = currentCircuitBreakerRegistry.getCircuitBreaker(request.getURI());
+        circuitBreaker.acquirePermission();
+        Response response;
+        try {
+            response = sendWithinLimits(currentTransport, request, httpContext);
+        } catch (IOException e) {
+            if (request.isAborted()) {
+                circuitBreaker.releasePermission();
+            } else {
+                circuitBreaker.onFailure();
+            }
+            throw e;
+        } catch (IntegrationException | RuntimeException e) {
+            // the request was never sent
+            circuitBreaker.releasePermission();
+            throw e;
+        }
+
+        if (response.getStatusCode() >= RestConstants.INTERNAL_ERROR_500) {
+            circuitBreaker.onFailure();
+        } else {
+            circuitBreaker.onSuccess();
+        }
+        return response;
+    }
+
+    private Response sendWithinLimits(HttpTransport currentTransport, HttpUriRequest request, HttpContext httpContext) throws IntegrationException, IOException {
+        RateLimiter currentRateLimiter = rateLimiter;
+        if (null != currentRateLimiter) {
+            // wait for the rate limit before taking a connection, so waiting requests do not hold connections from others
+            currentRateLimiter.acquire(request.getURI(), request.getMethod());
+        }
+        Runnable releasePermits = connectionPermits.acquire(request.getURI(), timeoutInSeconds * 1000L);
+        try {
+            return new PermitReleasingResponse(currentTransport.execute(request, httpContext), releasePermits);
+        } catch (IOException | RuntimeException e) {
+            releasePermits.run();
+            throw e;
+        }
+    }
+
+    private void startBatch(BatchExecution<?> batchExecution, int requestCount, BatchOptions batchOptions) throws IntegrationException {
+        int parallelism = batchOptions.getParallelism();
+        if (BatchOptions.POOL_PARALLELISM == parallelism) {
+            parallelism = Math.min(connectionPoolConfig.getMaxConnectionsPerRoute(), connectionPoolConfig.getMaxTotalConnections());
+        }
+        Executor batchExecutor = batchOptions.getExecutor().orElseGet(this::getDefaultExecutor);
+        batchExecution.start(batchExecutor, Math.max(1, Math.min(parallelism, requestCount)));
+    }
+
+    private void replaceExecutor(Executor newExecutor, ExecutorService newOwnedExecutor) {
+        ExecutorService previousOwnedExecutor;
+        lifecycleLock.lock();
+        try {
+            assertNotClosed();
+            previousOwnedExecutor = ownedExecutor;
+            ownedExecutor = newOwnedExecutor;
+            executor = newExecutor;
+        } finally {
+            lifecycleLock.unlock();
+        }
+        if (null != previousOwnedExecutor) {
+            // requests already running on the previous executor are allowed to finish
+            previousOwnedExecutor.shutdown();
+        }
+    }
+
+    private void assertTransportNotInUse() {
+        assertNotClosed();
+        if (null != transport) {
+            throw new IllegalStateException("The transport must be chosen before the first request is made.");
+        }
+    }
+
+    private void assertNotClosed() {
+        if (closed) {
+            throw new IllegalStateException("The IntHttpClient has been closed.");
+        }
+    }
+
+    private ThreadFactory createDaemonThreadFactory() {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "int-http-client-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private void closeQuietly(HttpTransport transportToClose) {
+        try {
+            transportToClose.close();
+        } catch (IOException e) {
+            logger.debug("Could not close an unused transport: " + e.getMessage());
+        }
+    }
+
+    protected void closeQuietly(Response response) {
+        try {
+            response.close();
+        } catch (IOException e) {
+            logger.debug("Could not close an abandoned response: " + e.getMessage());
+        }
+    }
+
     private void logHeaders(String requestOrResponseName, Header[] headers) {
         if (headers != null && headers.length > 0) {
             logger.trace(requestOrResponseName + " headers : ");
@@ -404,6 +1088,17 @@ public class IntHttpClient {
         return proxyInfo;
     }
 
+    public ConnectionPoolConfig getConnectionPoolConfig() {
+        return connectionPoolConfig;
+    }
+
+    /**
+     * @return The number of leased, pending, available and maximum connections across every route of the pool
+     */
+    public PoolStats getConnectionPoolStats() {
+        return connectionManager.getTotalStats();
+    }
+
     public CredentialsProvider getCredentialsProvider() {
         return credentialsProvider;
     }
@@ -420,11 +1115,19 @@ public class IntHttpClient {
         return commonRequestHeaders;
     }
 
+    /**
+     * @throws IllegalArgumentException if the key or value is null - use removeCommonRequestHeader to stop sending a header
+     */
     public void addCommonRequestHeader(String key, String value) {
+        checkCommonRequestHeader(key, value);
         commonRequestHeaders.put(key, value);
     }
 
+    /**
+     * @throws IllegalArgumentException if any key or value is null, in which case none of the headers are added
+     */
     public void addCommonRequestHeaders(Map<String, String> commonRequestHeaders) {
+        commonRequestHeaders.forEach(this::checkCommonRequestHeader);
         this.commonRequestHeaders.putAll(commonRequestHeaders);
     }
 
@@ -436,4 +1139,10 @@ public class IntHttpClient {
         return logger;
     }
 
+    private void checkCommonRequestHeader(String key, String value) {
+        if (null == key || null == value) {
+            throw new IllegalArgumentException(String.format("A common request header needs both a name and a value, but was given %s: %s.", key, value));
+        }
+    }
+
 }
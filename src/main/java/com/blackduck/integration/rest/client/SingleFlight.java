@@ -0,0 +1,133 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.client;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
+import org.apache.http.client.methods.HttpUriRequest;
+
+import com.blackduck.integration.exception.IntegrationException;
+import com.blackduck.integration.rest.response.BufferedResponse;
+import com.blackduck.integration.rest.response.Response;
+
+/**
+ * Lets concurrent identical GETs share a single call.
+ */
+class SingleFlight {
+    static final long MAX_SHARED_CONTENT_LENGTH = 16L * 1024 * 1024;
+    private static final List<String> KEY_HEADER_NAMES = Collections.unmodifiableList(Arrays.asList(
+        HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING, HttpHeaders.ACCEPT_LANGUAGE, HttpHeaders.AUTHORIZATION, "Cookie", HttpHeaders.IF_NONE_MATCH, HttpHeaders.IF_MODIFIED_SINCE,
+        HttpHeaders.RANGE));
+
+    private final Map<String, InFlightCall> inFlightCalls = new ConcurrentHashMap<>();
+    private final Runnable followerJoined;
+
+    @FunctionalInterface
+    interface Call {
+        Response send() throws IntegrationException, IOException;
+
+    }
+
+    SingleFlight() {
+        this(() -> {
+        });
+    }
+
+    SingleFlight(Runnable followerJoined) {
+        this.followerJoined = followerJoined;
+    }
+
+    boolean isShareable(HttpUriRequest request) {
+        return "GET".equals(request.getMethod());
+    }
+
+    Response execute(HttpUriRequest request, Call call) throws IntegrationException, IOException {
+        String key = createKey(request);
+        InFlightCall sharedCall = new InFlightCall();
+        InFlightCall inFlightCall = inFlightCalls.putIfAbsent(key, sharedCall);
+        if (null != inFlightCall) {
+            inFlightCall.followerCount.incrementAndGet();
+            followerJoined.run();
+            Optional<BufferedResponse> sharedResponse = await(inFlightCall.sharedResponse);
+            if (sharedResponse.isPresent()) {
+                return sharedResponse.get().withRequest(request);
+            }
+            // the response could not be shared, so this caller makes its own call
+            return call.send();
+        }
+
+        try {
+            Response response = call.send();
+            // once the call is removed no one else can join it, so the followers counted from here on are all there will be
+            inFlightCalls.remove(key, sharedCall);
+            Long contentLength = response.getContentLength();
+            if (0 == sharedCall.followerCount.get() || (null != contentLength && contentLength > MAX_SHARED_CONTENT_LENGTH)) {
+                sharedCall.sharedResponse.complete(Optional.empty());
+                return response;
+            }
+
+            Response readResponse = BufferedResponse.bufferUpTo(response, MAX_SHARED_CONTENT_LENGTH);
+            if (readResponse instanceof BufferedResponse) {
+                sharedCall.sharedResponse.complete(Optional.of((BufferedResponse) readResponse));
+            } else {
+                sharedCall.sharedResponse.complete(Optional.empty());
+            }
+            return readResponse;
+        } catch (IntegrationException | IOException | RuntimeException e) {
+            if (request.isAborted()) {
+                // only this caller gave up - the others should still get a response
+                sharedCall.sharedResponse.complete(Optional.empty());
+            } else {
+                sharedCall.sharedResponse.completeExceptionally(e);
+            }
+            throw e;
+        } finally {
+            inFlightCalls.remove(key, sharedCall);
+        }
+    }
+
+    private Optional<BufferedResponse> await(CompletableFuture<Optional<BufferedResponse>> inFlightCall) throws IntegrationException {
+        try {
+            return inFlightCall.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IntegrationException("Interrupted while waiting for an identical request in flight.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw new IntegrationException(cause.getMessage(), cause);
+        }
+    }
+
+    private String createKey(HttpUriRequest request) {
+        StringBuilder key = new StringBuilder(request.getURI().toString());
+        for (String headerName : KEY_HEADER_NAMES) {
+            for (Header header : request.getHeaders(headerName)) {
+                key.append('\n').append(headerName).append(": ").append(header.getValue());
+            }
+        }
+        return key.toString();
+    }
+
+    private static class InFlightCall {
+        private final CompletableFuture<Optional<BufferedResponse>> sharedResponse = new CompletableFuture<>();
+        private final AtomicInteger followerCount = new AtomicInteger();
+
+    }
+
+}
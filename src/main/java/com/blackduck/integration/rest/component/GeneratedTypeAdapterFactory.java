@@ -0,0 +1,63 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.component;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Optional;
+
+import com.google.gson.FieldNamingPolicy;
+import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * Binds components marked with GenerateTypeAdapter through their generated TypeAdapters, unless the Gson renames fields. Only register it for a Gson
+ * that excludes no fields other than transient and static ones, as the generated adapters bind every other field.
+ */
+public class GeneratedTypeAdapterFactory implements TypeAdapterFactory {
+    public static final String ADAPTER_SUFFIX = "_TypeAdapter";
+
+    // the adapter of each component is looked up once, rather than once per Gson
+    private static final ClassValue<Optional<Constructor<?>>> ADAPTER_CONSTRUCTORS = new ClassValue<Optional<Constructor<?>>>() {
+        @Override
+        protected Optional<Constructor<?>> computeValue(Class<?> componentClass) {
+            String adapterName = componentClass.getName().replace('$', '_') + ADAPTER_SUFFIX;
+            try {
+                Class<?> adapterClass = Class.forName(adapterName, false, componentClass.getClassLoader());
+                return Optional.of(adapterClass.getConstructor(Gson.class));
+            } catch (ClassNotFoundException | NoSuchMethodException e) {
+                return Optional.empty();
+            }
+        }
+    };
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        Class<? super T> rawType = type.getRawType();
+        if (!IntRestComponent.class.isAssignableFrom(rawType) || type.getType() != rawType) {
+            return null;
+        }
+        if (FieldNamingPolicy.IDENTITY != gson.fieldNamingStrategy()) {
+            return null;
+        }
+        Optional<Constructor<?>> adapterConstructor = ADAPTER_CONSTRUCTORS.get(rawType);
+        if (!adapterConstructor.isPresent()) {
+            return null;
+        }
+        try {
+            return (TypeAdapter<T>) adapterConstructor.get().newInstance(gson);
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new JsonIOException("Could not create the generated adapter for " + rawType.getName(), e);
+        }
+    }
+
+}
@@ -7,6 +7,8 @@
  */
 package com.blackduck.integration.rest.component;
 
+import java.util.function.Supplier;
+
 import com.blackduck.integration.util.Stringable;
 import com.google.gson.JsonElement;
 
@@ -18,13 +20,30 @@ public class IntRestComponent extends Stringable {
 
     private String json;
     private transient JsonElement jsonElement;
+    private transient Supplier<String> jsonSupplier;
 
+    /**
+     * @return The json this component was read from, produced the first time it is asked for
+     */
     public String getJson() {
+        final Supplier<String> supplier = jsonSupplier;
+        if (null != supplier) {
+            json = supplier.get();
+            jsonSupplier = null;
+        }
         return json;
     }
 
     public void setJson(final String json) {
         this.json = json;
+        this.jsonSupplier = null;
+    }
+
+    /**
+     * Sets where the json comes from, so that it is only produced if it is asked for.
+     */
+    public void setJsonSupplier(final Supplier<String> jsonSupplier) {
+        this.jsonSupplier = jsonSupplier;
     }
 
     public JsonElement getJsonElement() {
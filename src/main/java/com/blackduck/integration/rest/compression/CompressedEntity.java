@@ -0,0 +1,100 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.compression;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
+import org.apache.http.entity.HttpEntityWrapper;
+import org.apache.http.message.BasicHeader;
+
+/**
+ * Compresses the entity it wraps as it is written.
+ */
+public class CompressedEntity extends HttpEntityWrapper {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final ContentCoding contentCoding;
+    private final int compressionLevel;
+
+    public CompressedEntity(HttpEntity wrappedEntity, ContentCoding contentCoding, int compressionLevel) {
+        super(wrappedEntity);
+        this.contentCoding = contentCoding;
+        this.compressionLevel = compressionLevel;
+    }
+
+    @Override
+    public Header getContentEncoding() {
+        return new BasicHeader(HttpHeaders.CONTENT_ENCODING, contentCoding.getHeaderValue());
+    }
+
+    @Override
+    public long getContentLength() {
+        return -1;
+    }
+
+    @Override
+    public boolean isChunked() {
+        return true;
+    }
+
+    @Override
+    public InputStream getContent() {
+        throw new UnsupportedOperationException("The compressed content can only be written.");
+    }
+
+    @Override
+    public void writeTo(OutputStream outputStream) throws IOException {
+        Deflater deflater;
+        DeflaterOutputStream compressingStream;
+        if (ContentCoding.GZIP == contentCoding) {
+            LeveledGzipOutputStream gzipOutputStream = new LeveledGzipOutputStream(outputStream, compressionLevel);
+            deflater = gzipOutputStream.getDeflater();
+            compressingStream = gzipOutputStream;
+        } else {
+            deflater = new Deflater(compressionLevel);
+            compressingStream = new DeflaterOutputStream(outputStream, deflater, BUFFER_SIZE);
+        }
+
+        // the stream is finished rather than closed, so the output stream is left for its owner to close
+        try {
+            wrappedEntity.writeTo(compressingStream);
+            compressingStream.finish();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    public ContentCoding getContentCoding() {
+        return contentCoding;
+    }
+
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    private static class LeveledGzipOutputStream extends GZIPOutputStream {
+        private LeveledGzipOutputStream(OutputStream outputStream, int compressionLevel) throws IOException {
+            super(outputStream, BUFFER_SIZE);
+            def.setLevel(compressionLevel);
+        }
+
+        private Deflater getDeflater() {
+            return def;
+        }
+
+    }
+
+}
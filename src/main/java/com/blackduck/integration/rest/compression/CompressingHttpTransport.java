@@ -0,0 +1,131 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.compression;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpHost;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.protocol.HttpContext;
+
+import com.blackduck.integration.log.IntLogger;
+import com.blackduck.integration.rest.HttpHosts;
+import com.blackduck.integration.rest.RestConstants;
+import com.blackduck.integration.rest.response.Response;
+import com.blackduck.integration.rest.transport.HttpTransport;
+
+/**
+ * Compresses request bodies, as described by the policy, before handing requests to the transport it decorates.
+ */
+public class CompressingHttpTransport implements HttpTransport {
+    private final HttpTransport delegate;
+    private final RequestCompressionPolicy requestCompressionPolicy;
+    private final IntLogger logger;
+    private final Set<HttpHost> hostsRejectingCompression = ConcurrentHashMap.newKeySet();
+
+    public CompressingHttpTransport(HttpTransport delegate, RequestCompressionPolicy requestCompressionPolicy, IntLogger logger) {
+        this.delegate = delegate;
+        this.requestCompressionPolicy = requestCompressionPolicy;
+        this.logger = logger;
+    }
+
+    @Override
+    public Response execute(HttpUriRequest request, HttpContext httpContext) throws IOException {
+        HttpHost host = HttpHosts.fromUri(request.getURI());
+        if (!shouldCompress(request, host)) {
+            return delegate.execute(request, httpContext);
+        }
+
+        HttpEntityEnclosingRequest entityEnclosingRequest = (HttpEntityEnclosingRequest) request;
+        HttpEntity entity = entityEnclosingRequest.getEntity();
+        entityEnclosingRequest.setEntity(new CompressedEntity(entity, requestCompressionPolicy.getContentCoding(), requestCompressionPolicy.getCompressionLevel()));
+        Response response;
+        try {
+            response = delegate.execute(request, httpContext);
+        } finally {
+            entityEnclosingRequest.setEntity(entity);
+        }
+
+        if (!requestCompressionPolicy.isNegotiating() || RestConstants.UNSUPPORTED_TYPE_415 != response.getStatusCode() || acceptsCoding(response)) {
+            return response;
+        }
+        hostsRejectingCompression.add(host);
+        if (!entity.isRepeatable()) {
+            logger.debug(String.format("%s does not accept %s request bodies, which will be sent uncompressed from now on", host, requestCompressionPolicy.getContentCoding().getHeaderValue()));
+            return response;
+        }
+        logger.debug(String.format("Sending %s %s again uncompressed, as %s does not accept %s request bodies", request.getMethod(), request.getURI(), host,
+            requestCompressionPolicy.getContentCoding().getHeaderValue()));
+        closeQuietly(response);
+        return delegate.execute(request, httpContext);
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+
+    public HttpTransport getDelegate() {
+        return delegate;
+    }
+
+    public RequestCompressionPolicy getRequestCompressionPolicy() {
+        return requestCompressionPolicy;
+    }
+
+    /**
+     * @return The hosts that have answered a compressed body with 415 Unsupported Media Type, and so are sent uncompressed bodies
+     */
+    public Set<HttpHost> getHostsRejectingCompression() {
+        return Collections.unmodifiableSet(new HashSet<>(hostsRejectingCompression));
+    }
+
+    private boolean shouldCompress(HttpUriRequest request, HttpHost host) {
+        if (!(request instanceof HttpEntityEnclosingRequest)) {
+            return false;
+        }
+        HttpEntity entity = ((HttpEntityEnclosingRequest) request).getEntity();
+        if (null == entity || null != entity.getContentEncoding() || request.containsHeader(HttpHeaders.CONTENT_ENCODING)) {
+            return false;
+        }
+        long contentLength = entity.getContentLength();
+        if (contentLength >= 0 && contentLength < requestCompressionPolicy.getMinimumSizeInBytes()) {
+            return false;
+        }
+        return requestCompressionPolicy.isCompressionEnabled(host) && !hostsRejectingCompression.contains(host);
+    }
+
+    private boolean acceptsCoding(Response response) {
+        String acceptEncoding = response.getHeaderValue(HttpHeaders.ACCEPT_ENCODING);
+        if (StringUtils.isBlank(acceptEncoding)) {
+            return false;
+        }
+        String headerValue = requestCompressionPolicy.getContentCoding().getHeaderValue();
+        return Arrays.stream(acceptEncoding.split(","))
+                   .map(coding -> StringUtils.substringBefore(coding, ";").trim())
+                   .anyMatch(headerValue::equalsIgnoreCase);
+    }
+
+    private void closeQuietly(Response response) {
+        try {
+            response.close();
+        } catch (IOException e) {
+            logger.debug("Could not close a response that will be sent again: " + e.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.compression;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+import org.apache.http.HttpHost;
+
+import com.blackduck.integration.builder.Buildable;
+import com.blackduck.integration.util.Stringable;
+
+/**
+ * Which request bodies are compressed, and how.
+ */
+public class RequestCompressionPolicy extends Stringable implements Buildable {
+    public static final long DEFAULT_MINIMUM_SIZE_IN_BYTES = 2048L;
+    public static final int DEFAULT_COMPRESSION_LEVEL = Deflater.DEFAULT_COMPRESSION;
+
+    public static final RequestCompressionPolicy DEFAULT = new RequestCompressionPolicy();
+
+    public static RequestCompressionPolicyBuilder newBuilder() {
+        return new RequestCompressionPolicyBuilder();
+    }
+
+    private final ContentCoding contentCoding;
+    private final long minimumSizeInBytes;
+    private final int compressionLevel;
+    private final boolean compressByDefault;
+    private final Map<HttpHost, Boolean> compressionPerHost;
+    private final boolean negotiating;
+
+    RequestCompressionPolicy(ContentCoding contentCoding, long minimumSizeInBytes, int compressionLevel, boolean compressByDefault, Map<HttpHost, Boolean> compressionPerHost,
+        boolean negotiating) {
+        this.contentCoding = contentCoding;
+        this.minimumSizeInBytes = minimumSizeInBytes;
+        this.compressionLevel = compressionLevel;
+        this.compressByDefault = compressByDefault;
+        this.compressionPerHost = Collections.unmodifiableMap(new HashMap<>(compressionPerHost));
+        this.negotiating = negotiating;
+    }
+
+    RequestCompressionPolicy() {
+        this(ContentCoding.GZIP, DEFAULT_MINIMUM_SIZE_IN_BYTES, DEFAULT_COMPRESSION_LEVEL, true, Collections.emptyMap(), true);
+    }
+
+    public ContentCoding getContentCoding() {
+        return contentCoding;
+    }
+
+    /**
+     * @return The smallest body, in bytes, that is compressed
+     */
+    public long getMinimumSizeInBytes() {
+        return minimumSizeInBytes;
+    }
+
+    /**
+     * @return The compression level, from 1 (fastest) to 9 (smallest), or -1 for the default balance of the two
+     */
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    public boolean isCompressByDefault() {
+        return compressByDefault;
+    }
+
+    public Map<HttpHost, Boolean> getCompressionPerHost() {
+        return compressionPerHost;
+    }
+
+    public boolean isCompressionEnabled(HttpHost host) {
+        return compressionPerHost.getOrDefault(host, compressByDefault);
+    }
+
+    /**
+     * @return true if a host that answers a compressed body with 415 Unsupported Media Type is sent uncompressed bodies from then on
+     */
+    public boolean isNegotiating() {
+        return negotiating;
+    }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.compression;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+import org.apache.http.HttpHost;
+
+import com.blackduck.integration.builder.BuilderStatus;
+import com.blackduck.integration.builder.IntegrationBuilder;
+import com.blackduck.integration.rest.HttpHosts;
+import com.blackduck.integration.rest.HttpUrl;
+
+public class RequestCompressionPolicyBuilder extends IntegrationBuilder<RequestCompressionPolicy> {
+    private ContentCoding contentCoding = ContentCoding.GZIP;
+    private long minimumSizeInBytes = RequestCompressionPolicy.DEFAULT_MINIMUM_SIZE_IN_BYTES;
+    private int compressionLevel = RequestCompressionPolicy.DEFAULT_COMPRESSION_LEVEL;
+    private boolean compressByDefault = true;
+    private final Map<HttpHost, Boolean> compressionPerHost = new HashMap<>();
+    private boolean negotiating = true;
+
+    @Override
+    protected RequestCompressionPolicy buildWithoutValidation() {
+        return new RequestCompressionPolicy(contentCoding, minimumSizeInBytes, compressionLevel, compressByDefault, compressionPerHost, negotiating);
+    }
+
+    @Override
+    protected void validate(BuilderStatus builderStatus) {
+        if (null == contentCoding) {
+            builderStatus.addErrorMessage("The content coding must be set.");
+        }
+
+        if (minimumSizeInBytes < 0) {
+            builderStatus.addErrorMessage("The minimum size must not be negative.");
+        }
+
+        if (compressionLevel != Deflater.DEFAULT_COMPRESSION && (compressionLevel < Deflater.BEST_SPEED || compressionLevel > Deflater.BEST_COMPRESSION)) {
+            builderStatus.addErrorMessage("The compression level must be between 1 and 9, or -1 for the default level.");
+        }
+    }
+
+    public void setCompressionForHost(HttpUrl httpUrl, boolean compress) {
+        compressionPerHost.put(HttpHosts.fromHttpUrl(httpUrl), compress);
+    }
+
+    public ContentCoding getContentCoding() {
+        return contentCoding;
+    }
+
+    public void setContentCoding(ContentCoding contentCoding) {
+        this.contentCoding = contentCoding;
+    }
+
+    public long getMinimumSizeInBytes() {
+        return minimumSizeInBytes;
+    }
+
+    public void setMinimumSizeInBytes(long minimumSizeInBytes) {
+        this.minimumSizeInBytes = minimumSizeInBytes;
+    }
+
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    public void setCompressionLevel(int compressionLevel) {
+        this.compressionLevel = compressionLevel;
+    }
+
+    public boolean isCompressByDefault() {
+        return compressByDefault;
+    }
+
+    public void setCompressByDefault(boolean compressByDefault) {
+        this.compressByDefault = compressByDefault;
+    }
+
+    public Map<HttpHost, Boolean> getCompressionPerHost() {
+        return compressionPerHost;
+    }
+
+    public boolean isNegotiating() {
+        return negotiating;
+    }
+
+    public void setNegotiating(boolean negotiating) {
+        this.negotiating = negotiating;
+    }
+
+}
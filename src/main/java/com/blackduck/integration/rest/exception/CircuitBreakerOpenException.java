@@ -0,0 +1,33 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.exception;
+
+import com.blackduck.integration.exception.IntegrationException;
+
+/**
+ * Thrown, without sending the request, while the circuit for the host is open.
+ */
+public class CircuitBreakerOpenException extends IntegrationException {
+    private final String host;
+    private final long remainingOpenDurationInMilliseconds;
+
+    public CircuitBreakerOpenException(String host, long remainingOpenDurationInMilliseconds) {
+        super(String.format("The circuit for %s is open - requests will be allowed again in %d ms.", host, remainingOpenDurationInMilliseconds));
+        this.host = host;
+        this.remainingOpenDurationInMilliseconds = remainingOpenDurationInMilliseconds;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public long getRemainingOpenDurationInMilliseconds() {
+        return remainingOpenDurationInMilliseconds;
+    }
+
+}
@@ -0,0 +1,20 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.exception;
+
+import com.blackduck.integration.exception.IntegrationException;
+
+/**
+ * Thrown, without sending the request, when a client-side rate limit does not allow the request in time.
+ */
+public class RateLimitExceededException extends IntegrationException {
+    public RateLimitExceededException(String message) {
+        super(message);
+    }
+
+}
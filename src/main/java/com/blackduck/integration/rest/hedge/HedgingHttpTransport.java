@@ -0,0 +1,316 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.hedge;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import org.apache.http.client.methods.HttpExecutionAware;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.protocol.BasicHttpContext;
+import org.apache.http.protocol.HttpContext;
+
+import com.blackduck.integration.log.IntLogger;
+import com.blackduck.integration.rest.response.PermitReleasingResponse;
+import com.blackduck.integration.rest.response.Response;
+import com.blackduck.integration.rest.transport.HttpTransport;
+
+/**
+ * Sends a second copy of a slow GET or HEAD through the transport it decorates, returning whichever response arrives first.
+ */
+public class HedgingHttpTransport implements HttpTransport {
+    private final HttpTransport delegate;
+    private final HedgingPolicy hedgingPolicy;
+    private final IntLogger logger;
+    private final Function<HttpUriRequest, Optional<Runnable>> hedgePermits;
+    private final LatencyTracker latencyTracker;
+    private final Semaphore outstandingHedges;
+    private final ScheduledExecutorService hedgeTimer;
+    private final ExecutorService hedgeExecutor;
+
+    public HedgingHttpTransport(HttpTransport delegate, HedgingPolicy hedgingPolicy, IntLogger logger) {
+        this(delegate, hedgingPolicy, logger, request -> Optional.of(() -> {
+        }));
+    }
+
+    /**
+     * @param hedgePermits Takes the permits a hedge needs without waiting, returning their release action, or empty to skip the hedge
+     */
+    public HedgingHttpTransport(HttpTransport delegate, HedgingPolicy hedgingPolicy, IntLogger logger, Function<HttpUriRequest, Optional<Runnable>> hedgePermits) {
+        this.delegate = delegate;
+        this.hedgingPolicy = hedgingPolicy;
+        this.logger = logger;
+        this.hedgePermits = hedgePermits;
+        this.latencyTracker = new LatencyTracker(hedgingPolicy.getLatencyPercentile(), hedgingPolicy.getLatencyWindowSize(), hedgingPolicy.getMinimumLatencySamples());
+        this.outstandingHedges = new Semaphore(hedgingPolicy.getMaxOutstandingHedges());
+        this.hedgeTimer = Executors.newSingleThreadScheduledExecutor(createDaemonThreadFactory("int-http-client-hedge-timer"));
+        this.hedgeExecutor = Executors.newCachedThreadPool(createDaemonThreadFactory("int-http-client-hedge"));
+    }
+
+    @Override
+    public Response execute(HttpUriRequest request, HttpContext httpContext) throws IOException {
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            return delegate.execute(request, httpContext);
+        }
+
+        HedgedCall hedgedCall = new HedgedCall(request);
+        if (request instanceof HttpExecutionAware) {
+            // the caller can still abort its request, which must then abort both attempts
+            ((HttpExecutionAware) request).setCancellable(hedgedCall::abortAttempts);
+            if (request.isAborted()) {
+                hedgedCall.abortAttempts();
+            }
+        }
+        ScheduledFuture<?> hedgeTrigger;
+        try {
+            hedgeTrigger = hedgeTimer.schedule(hedgedCall::startHedge, getHedgeDelayInMilliseconds(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // the transport has been closed, so the delegate will refuse the request too
+            return delegate.execute(request, httpContext);
+        }
+
+        Response response;
+        try {
+            response = delegate.execute(hedgedCall.primaryRequest, httpContext);
+        } catch (IOException | RuntimeException e) {
+            hedgeTrigger.cancel(false);
+            return hedgedCall.onPrimaryFailed(e);
+        }
+        hedgeTrigger.cancel(false);
+        return hedgedCall.onPrimaryCompleted(response);
+    }
+
+    @Override
+    public void close() throws IOException {
+        hedgeTimer.shutdownNow();
+        hedgeExecutor.shutdownNow();
+        delegate.close();
+    }
+
+    public HttpTransport getDelegate() {
+        return delegate;
+    }
+
+    public HedgingPolicy getHedgingPolicy() {
+        return hedgingPolicy;
+    }
+
+    /**
+     * @return The current hedge delay
+     */
+    public long getHedgeDelayInMilliseconds() {
+        if (hedgingPolicy.isPercentileDelay()) {
+            return latencyTracker.getPercentileInMilliseconds(hedgingPolicy.getHedgeDelayInMilliseconds());
+        }
+        return hedgingPolicy.getHedgeDelayInMilliseconds();
+    }
+
+    private ThreadFactory createDaemonThreadFactory(String namePrefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private void closeQuietly(Response response) {
+        try {
+            response.close();
+        } catch (IOException e) {
+            logger.debug("Could not close the response of an abandoned attempt: " + e.getMessage());
+        }
+    }
+
+    private class HedgedCall {
+        private final HttpUriRequest callerRequest;
+        private final HttpUriRequest primaryRequest;
+        private final Lock lock = new ReentrantLock();
+        private final CompletableFuture<Response> hedgeResult = new CompletableFuture<>();
+        private final long startNanos = System.nanoTime();
+        private HttpUriRequest hedgeRequest;
+        private boolean decided;
+        private boolean hedgeWon;
+
+        private HedgedCall(HttpUriRequest callerRequest) {
+            this.callerRequest = callerRequest;
+            this.primaryRequest = RequestBuilder.copy(callerRequest).build();
+        }
+
+        private boolean abortAttempts() {
+            HttpUriRequest hedgeToAbort;
+            lock.lock();
+            try {
+                hedgeToAbort = hedgeRequest;
+            } finally {
+                lock.unlock();
+            }
+            primaryRequest.abort();
+            if (null != hedgeToAbort) {
+                hedgeToAbort.abort();
+            }
+            return true;
+        }
+
+        private void startHedge() {
+            Runnable releasePermits;
+            lock.lock();
+            try {
+                if (decided || callerRequest.isAborted() || !outstandingHedges.tryAcquire()) {
+                    return;
+                }
+                Optional<Runnable> permits = hedgePermits.apply(callerRequest);
+                if (!permits.isPresent()) {
+                    outstandingHedges.release();
+                    logger.debug(String.format("Not hedging %s %s - there is no connection free for it", callerRequest.getMethod(), callerRequest.getURI()));
+                    return;
+                }
+                releasePermits = permits.get();
+                hedgeRequest = RequestBuilder.copy(callerRequest).build();
+            } finally {
+                lock.unlock();
+            }
+
+            logger.debug(String.format("Hedging %s %s after %d ms without a response", callerRequest.getMethod(), callerRequest.getURI(), getHedgeDelayInMilliseconds()));
+            try {
+                hedgeExecutor.execute(() -> sendHedge(releasePermits));
+            } catch (RejectedExecutionException e) {
+                releasePermits.run();
+                outstandingHedges.release();
+                hedgeResult.completeExceptionally(e);
+            }
+        }
+
+        private void sendHedge(Runnable releasePermits) {
+            boolean permitsHandedOn = false;
+            try {
+                Response response = delegate.execute(hedgeRequest, new BasicHttpContext());
+                boolean won;
+                lock.lock();
+                try {
+                    won = !decided;
+                    decided = true;
+                    hedgeWon = won;
+                } finally {
+                    lock.unlock();
+                }
+                if (won) {
+                    recordLatency();
+                    permitsHandedOn = true;
+                    hedgeResult.complete(new PermitReleasingResponse(response, releasePermits));
+                    primaryRequest.abort();
+                } else {
+                    closeQuietly(response);
+                }
+            } catch (IOException | RuntimeException e) {
+                hedgeResult.completeExceptionally(e);
+            } finally {
+                if (!permitsHandedOn) {
+                    releasePermits.run();
+                }
+                outstandingHedges.release();
+            }
+        }
+
+        private Response onPrimaryCompleted(Response response) throws IOException {
+            boolean primaryWon;
+            HttpUriRequest hedgeToAbort;
+            lock.lock();
+            try {
+                primaryWon = !hedgeWon;
+                decided = true;
+                hedgeToAbort = hedgeRequest;
+            } finally {
+                lock.unlock();
+            }
+
+            if (primaryWon) {
+                recordLatency();
+                if (null != hedgeToAbort) {
+                    hedgeToAbort.abort();
+                }
+                return response;
+            }
+            closeQuietly(response);
+            return awaitHedge();
+        }
+
+        private Response onPrimaryFailed(Exception primaryException) throws IOException {
+            boolean awaitHedge;
+            HttpUriRequest hedgeToAbort = null;
+            lock.lock();
+            try {
+                // wait for a hedge that has won or may still win - unless the caller aborted the request, in which case the hedge must not outlive it
+                awaitHedge = hedgeWon || (null != hedgeRequest && !callerRequest.isAborted());
+                if (!awaitHedge) {
+                    decided = true;
+                    hedgeToAbort = hedgeRequest;
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (awaitHedge) {
+                try {
+                    return awaitHedge();
+                } catch (IOException | RuntimeException hedgeException) {
+                    primaryException.addSuppressed(hedgeException);
+                }
+            } else if (null != hedgeToAbort) {
+                hedgeToAbort.abort();
+            }
+
+            if (primaryException instanceof IOException) {
+                throw (IOException) primaryException;
+            }
+            throw (RuntimeException) primaryException;
+        }
+
+        // the time the caller waited for the winning response, so that hedges that keep winning raise the delay as well
+        private void recordLatency() {
+            latencyTracker.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        }
+
+        private Response awaitHedge() throws IOException {
+            try {
+                return hedgeResult.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                hedgeRequest.abort();
+                throw new InterruptedIOException("Interrupted while waiting for the hedged request.");
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new IOException(cause);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,80 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.hedge;
+
+import com.blackduck.integration.builder.Buildable;
+import com.blackduck.integration.util.Stringable;
+
+/**
+ * When a second copy of a slow GET or HEAD is sent.
+ */
+public class HedgingPolicy extends Stringable implements Buildable {
+    public static final long DEFAULT_HEDGE_DELAY_IN_MILLISECONDS = 1000L;
+    public static final double NO_PERCENTILE = 0;
+    public static final int DEFAULT_LATENCY_WINDOW_SIZE = 200;
+    public static final int DEFAULT_MINIMUM_LATENCY_SAMPLES = 20;
+    public static final int DEFAULT_MAX_OUTSTANDING_HEDGES = 4;
+
+    public static final HedgingPolicy DEFAULT = new HedgingPolicy();
+
+    public static HedgingPolicyBuilder newBuilder() {
+        return new HedgingPolicyBuilder();
+    }
+
+    private final long hedgeDelayInMilliseconds;
+    private final double latencyPercentile;
+    private final int latencyWindowSize;
+    private final int minimumLatencySamples;
+    private final int maxOutstandingHedges;
+
+    HedgingPolicy(long hedgeDelayInMilliseconds, double latencyPercentile, int latencyWindowSize, int minimumLatencySamples, int maxOutstandingHedges) {
+        this.hedgeDelayInMilliseconds = hedgeDelayInMilliseconds;
+        this.latencyPercentile = latencyPercentile;
+        this.latencyWindowSize = latencyWindowSize;
+        this.minimumLatencySamples = minimumLatencySamples;
+        this.maxOutstandingHedges = maxOutstandingHedges;
+    }
+
+    HedgingPolicy() {
+        this(DEFAULT_HEDGE_DELAY_IN_MILLISECONDS, NO_PERCENTILE, DEFAULT_LATENCY_WINDOW_SIZE, DEFAULT_MINIMUM_LATENCY_SAMPLES, DEFAULT_MAX_OUTSTANDING_HEDGES);
+    }
+
+    /**
+     * @return The fixed hedge delay, also used until enough response times are recorded
+     */
+    public long getHedgeDelayInMilliseconds() {
+        return hedgeDelayInMilliseconds;
+    }
+
+    /**
+     * @return The percentile of recent response times used as the hedge delay, or NO_PERCENTILE to always use the fixed delay
+     */
+    public double getLatencyPercentile() {
+        return latencyPercentile;
+    }
+
+    public boolean isPercentileDelay() {
+        return latencyPercentile > NO_PERCENTILE;
+    }
+
+    /**
+     * @return The number of most recent response times the percentile is taken over
+     */
+    public int getLatencyWindowSize() {
+        return latencyWindowSize;
+    }
+
+    public int getMinimumLatencySamples() {
+        return minimumLatencySamples;
+    }
+
+    public int getMaxOutstandingHedges() {
+        return maxOutstandingHedges;
+    }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.hedge;
+
+import com.blackduck.integration.builder.BuilderStatus;
+import com.blackduck.integration.builder.IntegrationBuilder;
+
+public class HedgingPolicyBuilder extends IntegrationBuilder<HedgingPolicy> {
+    private long hedgeDelayInMilliseconds = HedgingPolicy.DEFAULT_HEDGE_DELAY_IN_MILLISECONDS;
+    private double latencyPercentile = HedgingPolicy.NO_PERCENTILE;
+    private int latencyWindowSize = HedgingPolicy.DEFAULT_LATENCY_WINDOW_SIZE;
+    private int minimumLatencySamples = HedgingPolicy.DEFAULT_MINIMUM_LATENCY_SAMPLES;
+    private int maxOutstandingHedges = HedgingPolicy.DEFAULT_MAX_OUTSTANDING_HEDGES;
+
+    @Override
+    protected HedgingPolicy buildWithoutValidation() {
+        return new HedgingPolicy(hedgeDelayInMilliseconds, latencyPercentile, latencyWindowSize, minimumLatencySamples, maxOutstandingHedges);
+    }
+
+    @Override
+    protected void validate(BuilderStatus builderStatus) {
+        if (hedgeDelayInMilliseconds < 0) {
+            builderStatus.addErrorMessage("The hedge delay must not be negative.");
+        }
+
+        if (latencyPercentile < 0 || latencyPercentile >= 1) {
+            builderStatus.addErrorMessage("The latency percentile must be at least zero and less than one.");
+        }
+
+        if (latencyWindowSize <= 0) {
+            builderStatus.addErrorMessage("The latency window size must be greater than zero.");
+        }
+
+        if (minimumLatencySamples <= 0 || minimumLatencySamples > latencyWindowSize) {
+            builderStatus.addErrorMessage("The minimum latency samples must be greater than zero and no more than the latency window size.");
+        }
+
+        if (maxOutstandingHedges <= 0) {
+            builderStatus.addErrorMessage("The maximum outstanding hedges must be greater than zero.");
+        }
+    }
+
+    public long getHedgeDelayInMilliseconds() {
+        return hedgeDelayInMilliseconds;
+    }
+
+    public void setHedgeDelayInMilliseconds(long hedgeDelayInMilliseconds) {
+        this.hedgeDelayInMilliseconds = hedgeDelayInMilliseconds;
+    }
+
+    public double getLatencyPercentile() {
+        return latencyPercentile;
+    }
+
+    public void setLatencyPercentile(double latencyPercentile) {
+        this.latencyPercentile = latencyPercentile;
+    }
+
+    public int getLatencyWindowSize() {
+        return latencyWindowSize;
+    }
+
+    public void setLatencyWindowSize(int latencyWindowSize) {
+        this.latencyWindowSize = latencyWindowSize;
+    }
+
+    public int getMinimumLatencySamples() {
+        return minimumLatencySamples;
+    }
+
+    public void setMinimumLatencySamples(int minimumLatencySamples) {
+        this.minimumLatencySamples = minimumLatencySamples;
+    }
+
+    public int getMaxOutstandingHedges() {
+        return maxOutstandingHedges;
+    }
+
+    public void setMaxOutstandingHedges(int maxOutstandingHedges) {
+        this.maxOutstandingHedges = maxOutstandingHedges;
+    }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.hedge;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the most recent response times and the percentile taken over them.
+ */
+class LatencyTracker {
+    private static final int RECOMPUTE_INTERVAL = 10;
+
+    private final Lock lock = new ReentrantLock();
+    private final double percentile;
+    private final int minimumSamples;
+    private final long[] latenciesInMilliseconds;
+    private int recordedCount;
+    private int nextIndex;
+    private int samplesSinceRecompute;
+    private volatile long percentileInMilliseconds = -1L;
+
+    LatencyTracker(double percentile, int windowSize, int minimumSamples) {
+        this.percentile = percentile;
+        this.minimumSamples = minimumSamples;
+        this.latenciesInMilliseconds = new long[windowSize];
+    }
+
+    void record(long latencyInMilliseconds) {
+        lock.lock();
+        try {
+            latenciesInMilliseconds[nextIndex] = latencyInMilliseconds;
+            nextIndex = (nextIndex + 1) % latenciesInMilliseconds.length;
+            recordedCount = Math.min(recordedCount + 1, latenciesInMilliseconds.length);
+            samplesSinceRecompute++;
+            if (recordedCount >= minimumSamples && (samplesSinceRecompute >= RECOMPUTE_INTERVAL || percentileInMilliseconds < 0)) {
+                long[] sortedLatencies = Arrays.copyOf(latenciesInMilliseconds, recordedCount);
+                Arrays.sort(sortedLatencies);
+                int index = (int) Math.min(recordedCount - 1, Math.ceil(percentile * recordedCount) - 1);
+                percentileInMilliseconds = sortedLatencies[Math.max(0, index)];
+                samplesSinceRecompute = 0;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The percentile of the recorded response times, or the fallback until enough have been recorded
+     */
+    long getPercentileInMilliseconds(long fallbackInMilliseconds) {
+        long currentPercentile = percentileInMilliseconds;
+        return currentPercentile < 0 ? fallbackInMilliseconds : currentPercentile;
+    }
+
+}
@@ -0,0 +1,108 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.pool;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.http.HttpHost;
+
+import com.blackduck.integration.builder.Buildable;
+import com.blackduck.integration.util.Stringable;
+
+/**
+ * The sizing and connection lifecycle settings for the connection pool of an IntHttpClient.
+ */
+public class ConnectionPoolConfig extends Stringable implements Buildable {
+    public static final int DEFAULT_MAX_TOTAL_CONNECTIONS = 50;
+    public static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 50;
+    public static final int DEFAULT_VALIDATE_AFTER_INACTIVITY_MILLISECONDS = 2000;
+    public static final long NO_LIMIT = -1L;
+
+    public static final ConnectionPoolConfig DEFAULT = new ConnectionPoolConfig();
+
+    public static ConnectionPoolConfigBuilder newBuilder() {
+        return new ConnectionPoolConfigBuilder();
+    }
+
+    private final int maxTotalConnections;
+    private final int maxConnectionsPerRoute;
+    private final Map<HttpHost, Integer> maxConnectionsPerHost;
+    private final long idleConnectionTimeoutInSeconds;
+    private final long connectionTimeToLiveInSeconds;
+    private final int validateAfterInactivityInMilliseconds;
+    private final long defaultKeepAliveInSeconds;
+
+    ConnectionPoolConfig(int maxTotalConnections, int maxConnectionsPerRoute, Map<HttpHost, Integer> maxConnectionsPerHost, long idleConnectionTimeoutInSeconds, long connectionTimeToLiveInSeconds,
+        int validateAfterInactivityInMilliseconds, long defaultKeepAliveInSeconds) {
+        this.maxTotalConnections = maxTotalConnections;
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+        this.maxConnectionsPerHost = Collections.unmodifiableMap(new HashMap<>(maxConnectionsPerHost));
+        this.idleConnectionTimeoutInSeconds = idleConnectionTimeoutInSeconds;
+        this.connectionTimeToLiveInSeconds = connectionTimeToLiveInSeconds;
+        this.validateAfterInactivityInMilliseconds = validateAfterInactivityInMilliseconds;
+        this.defaultKeepAliveInSeconds = defaultKeepAliveInSeconds;
+    }
+
+    ConnectionPoolConfig() {
+        this(DEFAULT_MAX_TOTAL_CONNECTIONS, DEFAULT_MAX_CONNECTIONS_PER_ROUTE, Collections.emptyMap(), NO_LIMIT, NO_LIMIT, DEFAULT_VALIDATE_AFTER_INACTIVITY_MILLISECONDS, NO_LIMIT);
+    }
+
+    public int getMaxTotalConnections() {
+        return maxTotalConnections;
+    }
+
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    /**
+     * @return The per-host overrides of the maximum connections per route, keyed by a host with an explicit scheme and port
+     */
+    public Map<HttpHost, Integer> getMaxConnectionsPerHost() {
+        return maxConnectionsPerHost;
+    }
+
+    /**
+     * @return How long a pooled connection may sit idle before it is evicted, or NO_LIMIT to never evict idle connections
+     */
+    public long getIdleConnectionTimeoutInSeconds() {
+        return idleConnectionTimeoutInSeconds;
+    }
+
+    /**
+     * @return The maximum lifetime of a pooled connection, or NO_LIMIT for connections to live as long as they remain usable
+     */
+    public long getConnectionTimeToLiveInSeconds() {
+        return connectionTimeToLiveInSeconds;
+    }
+
+    /**
+     * @return How long a pooled connection may be inactive before it is validated prior to being reused
+     */
+    public int getValidateAfterInactivityInMilliseconds() {
+        return validateAfterInactivityInMilliseconds;
+    }
+
+    /**
+     * @return How long to keep a connection alive when the server does not send a Keep-Alive timeout, or NO_LIMIT to keep it alive indefinitely
+     */
+    public long getDefaultKeepAliveInSeconds() {
+        return defaultKeepAliveInSeconds;
+    }
+
+    public boolean shouldEvictIdleConnections() {
+        return idleConnectionTimeoutInSeconds > 0;
+    }
+
+    public boolean shouldLimitConnectionTimeToLive() {
+        return connectionTimeToLiveInSeconds > 0;
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.pool;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.http.HttpHost;
+
+import com.blackduck.integration.builder.BuilderStatus;
+import com.blackduck.integration.builder.IntegrationBuilder;
+import com.blackduck.integration.rest.HttpHosts;
+import com.blackduck.integration.rest.HttpUrl;
+
+public class ConnectionPoolConfigBuilder extends IntegrationBuilder<ConnectionPoolConfig> {
+    private int maxTotalConnections = ConnectionPoolConfig.DEFAULT_MAX_TOTAL_CONNECTIONS;
+    private int maxConnectionsPerRoute = ConnectionPoolConfig.DEFAULT_MAX_CONNECTIONS_PER_ROUTE;
+    private final Map<HttpHost, Integer> maxConnectionsPerHost = new HashMap<>();
+    private long idleConnectionTimeoutInSeconds = ConnectionPoolConfig.NO_LIMIT;
+    private long connectionTimeToLiveInSeconds = ConnectionPoolConfig.NO_LIMIT;
+    private int validateAfterInactivityInMilliseconds = ConnectionPoolConfig.DEFAULT_VALIDATE_AFTER_INACTIVITY_MILLISECONDS;
+    private long defaultKeepAliveInSeconds = ConnectionPoolConfig.NO_LIMIT;
+
+    @Override
+    protected ConnectionPoolConfig buildWithoutValidation() {
+        return new ConnectionPoolConfig(maxTotalConnections, maxConnectionsPerRoute, maxConnectionsPerHost, idleConnectionTimeoutInSeconds, connectionTimeToLiveInSeconds, validateAfterInactivityInMilliseconds,
+            defaultKeepAliveInSeconds);
+    }
+
+    @Override
+    protected void validate(BuilderStatus builderStatus) {
+        if (maxTotalConnections <= 0) {
+            builderStatus.addErrorMessage("The maximum total connections must be greater than zero.");
+        }
+
+        if (maxConnectionsPerRoute <= 0) {
+            builderStatus.addErrorMessage("The maximum connections per route must be greater than zero.");
+        }
+
+        for (Map.Entry<HttpHost, Integer> hostMaximum : maxConnectionsPerHost.entrySet()) {
+            if (null == hostMaximum.getValue() || hostMaximum.getValue() <= 0) {
+                builderStatus.addErrorMessage(String.format("The maximum connections for %s must be greater than zero.", hostMaximum.getKey().toURI()));
+            }
+        }
+
+        if (validateAfterInactivityInMilliseconds < 0) {
+            builderStatus.addErrorMessage("The validate after inactivity period must not be negative.");
+        }
+    }
+
+    public void setMaxConnectionsForHost(HttpUrl httpUrl, int maxConnections) {
+        maxConnectionsPerHost.put(HttpHosts.fromHttpUrl(httpUrl), maxConnections);
+    }
+
+    public int getMaxTotalConnections() {
+        return maxTotalConnections;
+    }
+
+    public void setMaxTotalConnections(int maxTotalConnections) {
+        this.maxTotalConnections = maxTotalConnections;
+    }
+
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+    }
+
+    public Map<HttpHost, Integer> getMaxConnectionsPerHost() {
+        return maxConnectionsPerHost;
+    }
+
+    public long getIdleConnectionTimeoutInSeconds() {
+        return idleConnectionTimeoutInSeconds;
+    }
+
+    public void setIdleConnectionTimeoutInSeconds(long idleConnectionTimeoutInSeconds) {
+        this.idleConnectionTimeoutInSeconds = idleConnectionTimeoutInSeconds;
+    }
+
+    public long getConnectionTimeToLiveInSeconds() {
+        return connectionTimeToLiveInSeconds;
+    }
+
+    public void setConnectionTimeToLiveInSeconds(long connectionTimeToLiveInSeconds) {
+        this.connectionTimeToLiveInSeconds = connectionTimeToLiveInSeconds;
+    }
+
+    public int getValidateAfterInactivityInMilliseconds() {
+        return validateAfterInactivityInMilliseconds;
+    }
+
+    public void setValidateAfterInactivityInMilliseconds(int validateAfterInactivityInMilliseconds) {
+        this.validateAfterInactivityInMilliseconds = validateAfterInactivityInMilliseconds;
+    }
+
+    public long getDefaultKeepAliveInSeconds() {
+        return defaultKeepAliveInSeconds;
+    }
+
+    public void setDefaultKeepAliveInSeconds(long defaultKeepAliveInSeconds) {
+        this.defaultKeepAliveInSeconds = defaultKeepAliveInSeconds;
+    }
+
+}
@@ -0,0 +1,42 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.ratelimit;
+
+import com.blackduck.integration.util.Stringable;
+
+/**
+ * A sustained rate of requests and the burst allowed on top of it.
+ */
+public class RateLimit extends Stringable {
+    private final double permitsPerSecond;
+    private final int burstSize;
+
+    public static RateLimit perSecond(double permitsPerSecond) {
+        return new RateLimit(permitsPerSecond, 1);
+    }
+
+    public RateLimit(double permitsPerSecond, int burstSize) {
+        if (!(permitsPerSecond > 0)) {
+            throw new IllegalArgumentException("The permits per second must be greater than zero.");
+        }
+        if (burstSize <= 0) {
+            throw new IllegalArgumentException("The burst size must be greater than zero.");
+        }
+        this.permitsPerSecond = permitsPerSecond;
+        this.burstSize = burstSize;
+    }
+
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    public int getBurstSize() {
+        return burstSize;
+    }
+
+}
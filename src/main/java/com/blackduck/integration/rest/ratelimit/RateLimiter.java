@@ -0,0 +1,141 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.ratelimit;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.HttpHost;
+
+import com.blackduck.integration.exception.IntegrationException;
+import com.blackduck.integration.rest.HttpHosts;
+import com.blackduck.integration.rest.exception.RateLimitExceededException;
+
+/**
+ * Holds requests back so that they stay under the rate limits of the server, with a token bucket per host, or host and method.
+ */
+public class RateLimiter {
+    private final RateLimiterConfig rateLimiterConfig;
+    private final LongSupplier nanoClock;
+    private final Map<String, TokenBucket> tokenBuckets = new ConcurrentHashMap<>();
+
+    private final LongAdder acquiredCount = new LongAdder();
+    private final LongAdder delayedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    public RateLimiter(RateLimiterConfig rateLimiterConfig) {
+        this(rateLimiterConfig, System::nanoTime);
+    }
+
+    RateLimiter(RateLimiterConfig rateLimiterConfig, LongSupplier nanoClock) {
+        this.rateLimiterConfig = rateLimiterConfig;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Acquires a permit, waiting up to the maximum wait when blocking.
+     * @throws RateLimitExceededException if no permit is available in time
+     */
+    public void acquire(URI uri, String method) throws IntegrationException {
+        if (rateLimiterConfig.isBlocking()) {
+            acquire(uri, method, rateLimiterConfig.getMaxWaitInMilliseconds());
+        } else if (!tryAcquire(uri, method)) {
+            throw new RateLimitExceededException(String.format("The rate limit for %s %s has been reached.", method, uri.getHost()));
+        }
+    }
+
+    /**
+     * Waits up to the maximum wait given for a permit.
+     * @throws RateLimitExceededException if no permit is available in time
+     */
+    public void acquire(URI uri, String method, long maxWaitInMilliseconds) throws IntegrationException {
+        TokenBucket tokenBucket = findTokenBucket(uri, method);
+        if (null == tokenBucket) {
+            acquiredCount.increment();
+            return;
+        }
+
+        long waitNanos = tokenBucket.reserve(nanoClock.getAsLong(), TimeUnit.MILLISECONDS.toNanos(maxWaitInMilliseconds));
+        if (TokenBucket.REJECTED == waitNanos) {
+            rejectedCount.increment();
+            throw new RateLimitExceededException(String.format("The rate limit for %s %s would not allow the request within %d ms.", method, uri.getHost(), maxWaitInMilliseconds));
+        }
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                tokenBucket.refund();
+                Thread.currentThread().interrupt();
+                throw new IntegrationException("Interrupted while waiting for the rate limit of " + uri.getHost(), e);
+            }
+        }
+        recordAcquired(waitNanos);
+    }
+
+    /**
+     * @return true if a permit was available without waiting, false if the request should not be sent now
+     */
+    public boolean tryAcquire(URI uri, String method) {
+        TokenBucket tokenBucket = findTokenBucket(uri, method);
+        if (null != tokenBucket && TokenBucket.REJECTED == tokenBucket.reserve(nanoClock.getAsLong(), 0L)) {
+            rejectedCount.increment();
+            return false;
+        }
+        recordAcquired(0L);
+        return true;
+    }
+
+    public RateLimiterMetrics getMetrics() {
+        return new RateLimiterMetrics(acquiredCount.sum(), delayedCount.sum(), rejectedCount.sum(), TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.sum()),
+            TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get()));
+    }
+
+    public RateLimiterConfig getRateLimiterConfig() {
+        return rateLimiterConfig;
+    }
+
+    private void recordAcquired(long waitNanos) {
+        acquiredCount.increment();
+        if (waitNanos > 0) {
+            delayedCount.increment();
+            totalWaitNanos.add(waitNanos);
+            maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+        }
+    }
+
+    private TokenBucket findTokenBucket(URI uri, String method) {
+        HttpHost host = HttpHosts.fromUri(uri);
+        String upperCaseMethod = StringUtils.upperCase(method);
+        Map<String, RateLimit> methodRateLimits = rateLimiterConfig.getRateLimitsPerHostAndMethod().get(host);
+        if (null != methodRateLimits && methodRateLimits.containsKey(upperCaseMethod)) {
+            return findTokenBucket(host.toURI() + " " + upperCaseMethod, methodRateLimits.get(upperCaseMethod));
+        }
+
+        RateLimit hostRateLimit = rateLimiterConfig.getRateLimitsPerHost().get(host);
+        if (null != hostRateLimit) {
+            return findTokenBucket(host.toURI(), hostRateLimit);
+        }
+
+        return rateLimiterConfig.getDefaultRateLimit()
+                   .map(defaultRateLimit -> findTokenBucket(host.toURI(), defaultRateLimit))
+                   .orElse(null);
+    }
+
+    private TokenBucket findTokenBucket(String key, RateLimit rateLimit) {
+        return tokenBuckets.computeIfAbsent(key, ignored -> new TokenBucket(rateLimit, nanoClock.getAsLong()));
+    }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.ratelimit;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.http.HttpHost;
+
+import com.blackduck.integration.builder.Buildable;
+import com.blackduck.integration.util.Stringable;
+
+/**
+ * The rate limits applied to requests: a limit for the host and method, then for the host, then the default.
+ */
+public class RateLimiterConfig extends Stringable implements Buildable {
+    public static final long DEFAULT_MAX_WAIT_IN_MILLISECONDS = 60_000L;
+
+    public static RateLimiterConfigBuilder newBuilder() {
+        return new RateLimiterConfigBuilder();
+    }
+
+    private final RateLimit defaultRateLimit;
+    private final Map<HttpHost, RateLimit> rateLimitsPerHost;
+    private final Map<HttpHost, Map<String, RateLimit>> rateLimitsPerHostAndMethod;
+    private final boolean blocking;
+    private final long maxWaitInMilliseconds;
+
+    RateLimiterConfig(RateLimit defaultRateLimit, Map<HttpHost, RateLimit> rateLimitsPerHost, Map<HttpHost, Map<String, RateLimit>> rateLimitsPerHostAndMethod, boolean blocking,
+        long maxWaitInMilliseconds) {
+        this.defaultRateLimit = defaultRateLimit;
+        this.rateLimitsPerHost = Collections.unmodifiableMap(new HashMap<>(rateLimitsPerHost));
+        Map<HttpHost, Map<String, RateLimit>> copiedRateLimitsPerHostAndMethod = new HashMap<>();
+        rateLimitsPerHostAndMethod.forEach((host, methodLimits) -> copiedRateLimitsPerHostAndMethod.put(host, Collections.unmodifiableMap(new HashMap<>(methodLimits))));
+        this.rateLimitsPerHostAndMethod = Collections.unmodifiableMap(copiedRateLimitsPerHostAndMethod);
+        this.blocking = blocking;
+        this.maxWaitInMilliseconds = maxWaitInMilliseconds;
+    }
+
+    public Optional<RateLimit> getDefaultRateLimit() {
+        return Optional.ofNullable(defaultRateLimit);
+    }
+
+    public Map<HttpHost, RateLimit> getRateLimitsPerHost() {
+        return rateLimitsPerHost;
+    }
+
+    public Map<HttpHost, Map<String, RateLimit>> getRateLimitsPerHostAndMethod() {
+        return rateLimitsPerHostAndMethod;
+    }
+
+    /**
+     * @return true if a request waits for the limit to allow it, false if it fails immediately when the limit has been reached
+     */
+    public boolean isBlocking() {
+        return blocking;
+    }
+
+    /**
+     * @return The longest a blocking request waits
+     */
+    public long getMaxWaitInMilliseconds() {
+        return maxWaitInMilliseconds;
+    }
+
+}
@@ -0,0 +1,80 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.ratelimit;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.http.HttpHost;
+
+import com.blackduck.integration.builder.BuilderStatus;
+import com.blackduck.integration.builder.IntegrationBuilder;
+import com.blackduck.integration.rest.HttpHosts;
+import com.blackduck.integration.rest.HttpMethod;
+import com.blackduck.integration.rest.HttpUrl;
+
+public class RateLimiterConfigBuilder extends IntegrationBuilder<RateLimiterConfig> {
+    private RateLimit defaultRateLimit;
+    private final Map<HttpHost, RateLimit> rateLimitsPerHost = new HashMap<>();
+    private final Map<HttpHost, Map<String, RateLimit>> rateLimitsPerHostAndMethod = new HashMap<>();
+    private boolean blocking = true;
+    private long maxWaitInMilliseconds = RateLimiterConfig.DEFAULT_MAX_WAIT_IN_MILLISECONDS;
+
+    @Override
+    protected RateLimiterConfig buildWithoutValidation() {
+        return new RateLimiterConfig(defaultRateLimit, rateLimitsPerHost, rateLimitsPerHostAndMethod, blocking, maxWaitInMilliseconds);
+    }
+
+    @Override
+    protected void validate(BuilderStatus builderStatus) {
+        if (maxWaitInMilliseconds < 0) {
+            builderStatus.addErrorMessage("The maximum wait must not be negative.");
+        }
+    }
+
+    public void setRateLimitForHost(HttpUrl httpUrl, RateLimit rateLimit) {
+        rateLimitsPerHost.put(HttpHosts.fromHttpUrl(httpUrl), rateLimit);
+    }
+
+    public void setRateLimitForHost(HttpUrl httpUrl, HttpMethod httpMethod, RateLimit rateLimit) {
+        rateLimitsPerHostAndMethod.computeIfAbsent(HttpHosts.fromHttpUrl(httpUrl), host -> new HashMap<>()).put(httpMethod.name(), rateLimit);
+    }
+
+    public RateLimit getDefaultRateLimit() {
+        return defaultRateLimit;
+    }
+
+    public void setDefaultRateLimit(RateLimit defaultRateLimit) {
+        this.defaultRateLimit = defaultRateLimit;
+    }
+
+    public Map<HttpHost, RateLimit> getRateLimitsPerHost() {
+        return rateLimitsPerHost;
+    }
+
+    public Map<HttpHost, Map<String, RateLimit>> getRateLimitsPerHostAndMethod() {
+        return rateLimitsPerHostAndMethod;
+    }
+
+    public boolean isBlocking() {
+        return blocking;
+    }
+
+    public void setBlocking(boolean blocking) {
+        this.blocking = blocking;
+    }
+
+    public long getMaxWaitInMilliseconds() {
+        return maxWaitInMilliseconds;
+    }
+
+    public void setMaxWaitInMilliseconds(long maxWaitInMilliseconds) {
+        this.maxWaitInMilliseconds = maxWaitInMilliseconds;
+    }
+
+}
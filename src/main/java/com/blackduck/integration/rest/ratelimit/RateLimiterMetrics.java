@@ -0,0 +1,63 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.ratelimit;
+
+import com.blackduck.integration.util.Stringable;
+
+/**
+ * A snapshot of how often requests were held back, and for how long.
+ */
+public class RateLimiterMetrics extends Stringable {
+    private final long acquiredCount;
+    private final long delayedCount;
+    private final long rejectedCount;
+    private final long totalWaitInMilliseconds;
+    private final long maxWaitInMilliseconds;
+
+    RateLimiterMetrics(long acquiredCount, long delayedCount, long rejectedCount, long totalWaitInMilliseconds, long maxWaitInMilliseconds) {
+        this.acquiredCount = acquiredCount;
+        this.delayedCount = delayedCount;
+        this.rejectedCount = rejectedCount;
+        this.totalWaitInMilliseconds = totalWaitInMilliseconds;
+        this.maxWaitInMilliseconds = maxWaitInMilliseconds;
+    }
+
+    /**
+     * @return The requests allowed through, whether immediately or after waiting
+     */
+    public long getAcquiredCount() {
+        return acquiredCount;
+    }
+
+    /**
+     * @return The requests that had to wait before being allowed through
+     */
+    public long getDelayedCount() {
+        return delayedCount;
+    }
+
+    /**
+     * @return The requests that failed because the limit had been reached
+     */
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    public long getTotalWaitInMilliseconds() {
+        return totalWaitInMilliseconds;
+    }
+
+    public long getMaxWaitInMilliseconds() {
+        return maxWaitInMilliseconds;
+    }
+
+    public double getAverageWaitInMilliseconds() {
+        return 0 == acquiredCount ? 0 : (double) totalWaitInMilliseconds / acquiredCount;
+    }
+
+}
@@ -0,0 +1,70 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tokens accumulate at the permitted rate up to the burst size.
+ */
+class TokenBucket {
+    static final long REJECTED = -1L;
+
+    private final Lock lock = new ReentrantLock();
+    private final double nanosPerToken;
+    private final double burstSize;
+
+    private double availableTokens;
+    private long lastRefillNanos;
+
+    TokenBucket(RateLimit rateLimit, long nowNanos) {
+        this.nanosPerToken = TimeUnit.SECONDS.toNanos(1) / rateLimit.getPermitsPerSecond();
+        this.burstSize = rateLimit.getBurstSize();
+        this.availableTokens = burstSize;
+        this.lastRefillNanos = nowNanos;
+    }
+
+    /**
+     * @return How long to wait before the reserved token may be used, or REJECTED, reserving nothing, if that would be longer than the maximum wait
+     */
+    long reserve(long nowNanos, long maxWaitNanos) {
+        lock.lock();
+        try {
+            long elapsedNanos = nowNanos - lastRefillNanos;
+            if (elapsedNanos > 0) {
+                availableTokens = Math.min(burstSize, availableTokens + elapsedNanos / nanosPerToken);
+                lastRefillNanos = nowNanos;
+            }
+
+            // a negative balance is the queue of requests already waiting for tokens
+            long waitNanos = availableTokens >= 1 ? 0L : (long) Math.ceil((1 - availableTokens) * nanosPerToken);
+            if (waitNanos > maxWaitNanos) {
+                return REJECTED;
+            }
+            availableTokens -= 1;
+            return waitNanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gives back a token that was reserved but will not be used.
+     */
+    void refund() {
+        lock.lock();
+        try {
+            availableTokens = Math.min(burstSize, availableTokens + 1);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+}
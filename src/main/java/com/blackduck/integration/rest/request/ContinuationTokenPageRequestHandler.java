@@ -0,0 +1,56 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.request;
+
+import java.util.Optional;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.blackduck.integration.rest.component.IntRestResponse;
+
+/**
+ * Pages through an endpoint that hands back a token to pass in the request for the next page.
+ */
+public abstract class ContinuationTokenPageRequestHandler implements CursorPageRequestHandler {
+    private final String tokenParameterName;
+    private final String limitParameterName;
+
+    public ContinuationTokenPageRequestHandler(String tokenParameterName, String limitParameterName) {
+        this.tokenParameterName = tokenParameterName;
+        this.limitParameterName = limitParameterName;
+    }
+
+    /**
+     * @return The token to request the page after the response with, or empty if the response is the last page
+     */
+    public abstract <R extends IntRestResponse> Optional<String> getContinuationToken(R response);
+
+    @Override
+    public Request createFirstPageRequest(Request.Builder requestBuilder, int limit) {
+        return new Request.Builder(requestBuilder).setQueryParameter(limitParameterName, String.valueOf(limit)).build();
+    }
+
+    @Override
+    public <R extends IntRestResponse> Optional<Request> createNextPageRequest(Request.Builder requestBuilder, R response, int limit) {
+        return getContinuationToken(response)
+                   .filter(StringUtils::isNotBlank)
+                   .map(token -> new Request.Builder(requestBuilder)
+                                     .setQueryParameter(limitParameterName, String.valueOf(limit))
+                                     .setQueryParameter(tokenParameterName, token)
+                                     .build());
+    }
+
+    public String getTokenParameterName() {
+        return tokenParameterName;
+    }
+
+    public String getLimitParameterName() {
+        return limitParameterName;
+    }
+
+}
@@ -0,0 +1,35 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.request;
+
+import java.util.Collection;
+import java.util.Optional;
+
+import com.blackduck.integration.exception.IntegrationException;
+import com.blackduck.integration.rest.component.IntRestResponse;
+
+/**
+ * Pages through an endpoint by following what each page says comes after it - a next link or a continuation token.
+ */
+public interface CursorPageRequestHandler {
+    /**
+     * @return A request for the first page of no more than limit objects
+     */
+    Request createFirstPageRequest(final Request.Builder requestBuilder, int limit);
+
+    /**
+     * @return A request for the page following the response, or empty if the response is the last page
+     */
+    <R extends IntRestResponse> Optional<Request> createNextPageRequest(final Request.Builder requestBuilder, R response, int limit) throws IntegrationException;
+
+    /**
+     * @return One response object representing the unification of all pages of data
+     */
+    <R extends IntRestResponse> R combineResponses(Collection<R> pagedResponses);
+
+}
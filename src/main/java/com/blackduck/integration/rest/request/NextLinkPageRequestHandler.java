@@ -0,0 +1,109 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.request;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Optional;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.blackduck.integration.exception.IntegrationException;
+import com.blackduck.integration.rest.HttpHosts;
+import com.blackduck.integration.rest.HttpUrl;
+import com.blackduck.integration.rest.component.IntRestResponse;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+/**
+ * Pages through an endpoint that links each page to the next one from its _meta links, rejecting a link to another host. The response must have been
+ * read with its json kept.
+ */
+public abstract class NextLinkPageRequestHandler implements CursorPageRequestHandler {
+    public static final String META_FIELD_NAME = "_meta";
+    public static final String LINKS_FIELD_NAME = "links";
+    public static final String NEXT_LINK_REL = "next";
+
+    private final String limitParameterName;
+
+    public NextLinkPageRequestHandler(String limitParameterName) {
+        this.limitParameterName = limitParameterName;
+    }
+
+    @Override
+    public Request createFirstPageRequest(Request.Builder requestBuilder, int limit) {
+        return new Request.Builder(requestBuilder).setQueryParameter(limitParameterName, String.valueOf(limit)).build();
+    }
+
+    @Override
+    public <R extends IntRestResponse> Optional<Request> createNextPageRequest(Request.Builder requestBuilder, R response, int limit) throws IntegrationException {
+        Optional<String> nextLink = findNextLink(getJsonObject(response));
+        if (!nextLink.isPresent()) {
+            return Optional.empty();
+        }
+
+        URI firstUri = requestBuilder.getUrl().uri();
+        URI nextUri = firstUri.resolve(nextLink.get());
+        // the request carries the credentials of the first host, so it must never follow a link to another one
+        if (!HttpHosts.fromUri(firstUri).equals(HttpHosts.fromUri(nextUri))) {
+            throw new IntegrationException("The next link " + nextUri + " is not on the same host as " + firstUri + ".");
+        }
+        HttpUrl nextUrl = new HttpUrl(nextUri);
+        return Optional.of(new Request.Builder(requestBuilder).url(nextUrl).queryParameters(new HashMap<>()).build());
+    }
+
+    public String getLimitParameterName() {
+        return limitParameterName;
+    }
+
+    private JsonObject getJsonObject(IntRestResponse response) throws IntegrationException {
+        JsonElement jsonElement = response.getJsonElement();
+        if (null == jsonElement) {
+            String json = response.getJson();
+            if (StringUtils.isBlank(json)) {
+                throw new IntegrationException("The response has no json to find the next link in.");
+            }
+            try {
+                jsonElement = JsonParser.parseString(json);
+            } catch (JsonParseException e) {
+                throw new IntegrationException("The json of the response could not be parsed: " + e.getMessage(), e);
+            }
+        }
+        if (!jsonElement.isJsonObject()) {
+            throw new IntegrationException("The json of the response is not an object.");
+        }
+        return jsonElement.getAsJsonObject();
+    }
+
+    private Optional<String> findNextLink(JsonObject jsonObject) {
+        JsonElement meta = jsonObject.get(META_FIELD_NAME);
+        if (null == meta || !meta.isJsonObject()) {
+            return Optional.empty();
+        }
+        JsonElement links = meta.getAsJsonObject().get(LINKS_FIELD_NAME);
+        if (null == links || !links.isJsonArray()) {
+            return Optional.empty();
+        }
+
+        for (JsonElement link : (JsonArray) links) {
+            if (link.isJsonObject() && NEXT_LINK_REL.equals(getString(link.getAsJsonObject(), "rel"))) {
+                return Optional.ofNullable(getString(link.getAsJsonObject(), "href")).filter(StringUtils::isNotBlank);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private String getString(JsonObject jsonObject, String memberName) {
+        JsonElement member = jsonObject.get(memberName);
+        return null != member && member.isJsonPrimitive() ? member.getAsString() : null;
+    }
+
+}
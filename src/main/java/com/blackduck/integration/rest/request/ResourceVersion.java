@@ -0,0 +1,64 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.request;
+
+import java.util.Optional;
+
+import org.apache.http.HttpHeaders;
+
+import com.blackduck.integration.exception.IntegrationException;
+import com.blackduck.integration.rest.response.Response;
+import com.blackduck.integration.util.Stringable;
+
+/**
+ * The version of a resource a client already has, identified by its ETag, its Last-Modified time, or both.
+ */
+public class ResourceVersion extends Stringable {
+    public static final long NO_LAST_MODIFIED = 0L;
+
+    public static final ResourceVersion UNKNOWN = new ResourceVersion(null, NO_LAST_MODIFIED);
+
+    private final String etag;
+    private final long lastModified;
+
+    public static ResourceVersion ofETag(String etag) {
+        return new ResourceVersion(etag, NO_LAST_MODIFIED);
+    }
+
+    public static ResourceVersion ofLastModified(long lastModified) {
+        return new ResourceVersion(null, lastModified);
+    }
+
+    /**
+     * @return The version of the resource a response carried, to be sent with the next request for the same resource
+     */
+    public static ResourceVersion fromResponse(Response response) throws IntegrationException {
+        return new ResourceVersion(response.getHeaderValue(HttpHeaders.ETAG), response.getLastModified());
+    }
+
+    public ResourceVersion(String etag, long lastModified) {
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+
+    public Optional<String> getETag() {
+        return Optional.ofNullable(etag);
+    }
+
+    /**
+     * @return The time the resource was last modified, in milliseconds since the epoch, or NO_LAST_MODIFIED if it is not known
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public boolean isKnown() {
+        return null != etag || NO_LAST_MODIFIED != lastModified;
+    }
+
+}
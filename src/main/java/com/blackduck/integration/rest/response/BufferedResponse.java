@@ -0,0 +1,279 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.response;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.ByteArrayOutputStream;
+import org.apache.http.Header;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.message.BasicHeader;
+import org.apache.http.message.BasicHttpResponse;
+
+import com.blackduck.integration.exception.IntegrationException;
+
+/**
+ * A response whose content has been read into memory, so it holds no connection and can be read any number of times.
+ */
+public class BufferedResponse extends DefaultResponse {
+    private final int statusCode;
+    private final String statusMessage;
+    private final Header[] headers;
+    private final ByteBuffer content;
+    private final String contentType;
+    private final String contentEncoding;
+
+    /**
+     * Reads the content of the response into memory and closes it.
+     */
+    public static BufferedResponse buffer(Response response) throws IntegrationException {
+        try {
+            byte[] content;
+            try (InputStream inputStream = response.getContent()) {
+                content = null == inputStream ? null : IOUtils.toByteArray(inputStream);
+            }
+            return create(response.getRequest(), response.getStatusCode(), response.getStatusMessage(), response.getActualResponse().getAllHeaders(),
+                null == content ? null : ByteBuffer.wrap(content), response.getContentType(), response.getContentEncoding());
+        } catch (IOException e) {
+            throw new IntegrationException("Could not read the response content: " + e.getMessage(), e);
+        } finally {
+            try {
+                response.close();
+            } catch (IOException ignored) {
+                // the content has already been read in full, or could not be read at all
+            }
+        }
+    }
+
+    /**
+     * Reads the content of the response into memory and closes it, unless there is more than maxContentLength of it.
+     * @return The buffered response, or a response that replays the part already read ahead of the rest
+     */
+    public static Response bufferUpTo(Response response, long maxContentLength) throws IntegrationException {
+        try {
+            InputStream content = response.getContent();
+            ByteArrayOutputStream prefix = new ByteArrayOutputStream();
+            if (null != content) {
+                IOUtils.copyLarge(content, prefix, 0, maxContentLength + 1);
+                if (prefix.size() > maxContentLength) {
+                    return new PrefixedContentResponse(response, prefix.toByteArray(), content);
+                }
+            }
+            BufferedResponse bufferedResponse = create(response.getRequest(), response.getStatusCode(), response.getStatusMessage(),
+                response.getActualResponse().getAllHeaders(), null == content ? null : ByteBuffer.wrap(prefix.toByteArray()), response.getContentType(), response.getContentEncoding());
+            closeQuietly(response);
+            return bufferedResponse;
+        } catch (IOException e) {
+            closeQuietly(response);
+            throw new IntegrationException("Could not read the response content: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Creates a response over content already held in memory, which must not be modified afterwards.
+     */
+    public static BufferedResponse create(HttpUriRequest request, int statusCode, String statusMessage, Map<String, String> headers, byte[] content, String contentType,
+        String contentEncoding) {
+        return create(request, statusCode, statusMessage, headers, null == content ? null : ByteBuffer.wrap(content), contentType, contentEncoding);
+    }
+
+    /**
+     * Creates a response over the remaining bytes of a buffer, which must not be modified afterwards.
+     */
+    public static BufferedResponse create(HttpUriRequest request, int statusCode, String statusMessage, Map<String, String> headers, ByteBuffer content, String contentType,
+        String contentEncoding) {
+        Header[] headerArray = headers.entrySet().stream()
+                                   .map(header -> new BasicHeader(header.getKey(), header.getValue()))
+                                   .toArray(Header[]::new);
+        return create(request, statusCode, statusMessage, headerArray, content, contentType, contentEncoding);
+    }
+
+    // a header can be repeated, so the headers are kept as httpclient has them rather than as the map of getHeaders
+    private static BufferedResponse create(HttpUriRequest request, int statusCode, String statusMessage, Header[] headers, ByteBuffer content, String contentType,
+        String contentEncoding) {
+        return new BufferedResponse(request, statusCode, statusMessage, headers, null == content ? null : content.slice().asReadOnlyBuffer(), contentType, contentEncoding);
+    }
+
+    private BufferedResponse(HttpUriRequest request, int statusCode, String statusMessage, Header[] headers, ByteBuffer content, String contentType, String contentEncoding) {
+        super(request, createHttpResponse(statusCode, statusMessage, headers, content, contentType, contentEncoding));
+        this.statusCode = statusCode;
+        this.statusMessage = statusMessage;
+        this.headers = headers;
+        this.content = content;
+        this.contentType = contentType;
+        this.contentEncoding = contentEncoding;
+    }
+
+    /**
+     * @return A view of the same response and content, reported as the response to the given request
+     */
+    public BufferedResponse withRequest(HttpUriRequest request) {
+        return new BufferedResponse(request, statusCode, statusMessage, headers, content, contentType, contentEncoding);
+    }
+
+    /**
+     * @return A read-only view of the content, or null if the response had none
+     */
+    public ByteBuffer getBufferedContent() {
+        return null == content ? null : content.duplicate();
+    }
+
+    /**
+     * @return The number of bytes of content held
+     */
+    public int getBufferedLength() {
+        return null == content ? 0 : content.remaining();
+    }
+
+    private static void closeQuietly(Response response) {
+        try {
+            response.close();
+        } catch (IOException ignored) {
+            // the content has already been read in full, or could not be read at all
+        }
+    }
+
+    private static CloseableHttpResponse createHttpResponse(int statusCode, String statusMessage, Header[] headers, ByteBuffer content, String contentType, String contentEncoding) {
+        BufferedHttpResponse httpResponse = new BufferedHttpResponse(statusCode, statusMessage);
+        httpResponse.setHeaders(headers);
+        if (null != content) {
+            ByteBufferEntity entity = new ByteBufferEntity(content);
+            entity.setContentType(contentType);
+            entity.setContentEncoding(contentEncoding);
+            httpResponse.setEntity(entity);
+        }
+        return httpResponse;
+    }
+
+    private static class ByteBufferEntity extends AbstractHttpEntity {
+        private final ByteBuffer content;
+
+        private ByteBufferEntity(ByteBuffer content) {
+            this.content = content;
+        }
+
+        @Override
+        public boolean isRepeatable() {
+            return true;
+        }
+
+        @Override
+        public long getContentLength() {
+            return content.remaining();
+        }
+
+        @Override
+        public InputStream getContent() {
+            return new ByteBufferInputStream(content.duplicate());
+        }
+
+        @Override
+        public void writeTo(OutputStream outputStream) throws IOException {
+            IOUtils.copy(getContent(), outputStream);
+        }
+
+        @Override
+        public boolean isStreaming() {
+            return false;
+        }
+
+    }
+
+    private static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (0 == length) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long count) {
+            int skipped = (int) Math.max(0L, Math.min(count, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+
+    }
+
+    private static class PrefixedContentResponse extends DelegatingResponse {
+        private final InputStream content;
+
+        private PrefixedContentResponse(Response delegate, byte[] prefix, InputStream remainder) {
+            super(delegate);
+            this.content = new SequenceInputStream(new ByteArrayInputStream(prefix), remainder);
+        }
+
+        @Override
+        public InputStream getContent() {
+            return content;
+        }
+
+        @Override
+        public String getContentString() throws IntegrationException {
+            return getContentString(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String getContentString(Charset encoding) throws IntegrationException {
+            try (InputStream inputStream = content) {
+                return IOUtils.toString(inputStream, encoding);
+            } catch (IOException e) {
+                throw new IntegrationException(e.getMessage(), e);
+            }
+        }
+
+    }
+
+    private static class BufferedHttpResponse extends BasicHttpResponse implements CloseableHttpResponse {
+        private BufferedHttpResponse(int statusCode, String statusMessage) {
+            super(HttpVersion.HTTP_1_1, statusCode, statusMessage);
+        }
+
+        @Override
+        public void close() {
+            // there is no connection to release
+        }
+
+    }
+
+}
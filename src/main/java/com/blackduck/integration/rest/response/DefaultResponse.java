@@ -11,17 +11,18 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
-import java.util.TimeZone;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.Header;
+import org.apache.http.HttpEntity;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.impl.EnglishReasonPhraseCatalog;
@@ -34,10 +35,23 @@ import com.blackduck.integration.rest.RestConstants;
 import com.blackduck.integration.rest.exception.IntegrationRestException;
 
 public class DefaultResponse implements Response {
+    // unlike SimpleDateFormat, a DateTimeFormatter is immutable, so one instance can be shared by every response
+    private static final DateTimeFormatter LAST_MODIFIED_FORMATTER = DateTimeFormatter.ofPattern(Response.LAST_MODIFIED_FORMAT, Locale.US).withZone(ZoneOffset.UTC);
+    private static final long MAX_DRAINED_BYTES = 64L * 1024;
+    private static final int DRAIN_BUFFER_SIZE = 8 * 1024;
+
     private final HttpUriRequest request;
     private final CloseableHttpClient client;
     private final CloseableHttpResponse response;
 
+    public DefaultResponse(HttpUriRequest request, CloseableHttpResponse response) {
+        this(request, null, response);
+    }
+
+    /**
+     * @deprecated Please use DefaultResponse(HttpUriRequest request, CloseableHttpResponse response).
+     */
+    @Deprecated
     public DefaultResponse(HttpUriRequest request, CloseableHttpClient client, CloseableHttpResponse response) {
         this.request = request;
         this.client = client;
@@ -153,8 +167,40 @@ public class DefaultResponse implements Response {
 
     @Override
     public void close() throws IOException {
-        response.close();
-        client.close();
+        if (null != client) {
+            response.close();
+            client.close();
+            return;
+        }
+
+        // the remaining content must be consumed for the connection to be released back to the pool - past a small limit, discarding the connection is cheaper
+        try {
+            drainRemainingContent(response.getEntity());
+        } finally {
+            response.close();
+        }
+    }
+
+    private void drainRemainingContent(HttpEntity entity) throws IOException {
+        if (null == entity || !entity.isStreaming() || entity.getContentLength() > MAX_DRAINED_BYTES) {
+            return;
+        }
+        InputStream content = entity.getContent();
+        byte[] buffer = new byte[DRAIN_BUFFER_SIZE];
+        long drainedBytes = 0;
+        int read;
+        try {
+            while (drainedBytes <= MAX_DRAINED_BYTES && (read = content.read(buffer)) != -1) {
+                drainedBytes += read;
+            }
+        } catch (IOException e) {
+            // the content was already closed by the caller, or the connection failed - either way there is nothing left to drain
+            return;
+        }
+        // the content is left unclosed unless it was read to the end, since closing it would read the rest
+        if (drainedBytes <= MAX_DRAINED_BYTES) {
+            content.close();
+        }
     }
 
     @Override
@@ -165,11 +211,8 @@ public class DefaultResponse implements Response {
         if (StringUtils.isNotBlank(lastModified)) {
             // Should parse the Date just like URLConnection did
             try {
-                SimpleDateFormat format = new SimpleDateFormat(Response.LAST_MODIFIED_FORMAT, Locale.US);
-                format.setTimeZone(TimeZone.getTimeZone("UTC"));
-                Date parsed = format.parse(lastModified);
-                lastModifiedLong = parsed.getTime();
-            } catch (ParseException e) {
+                lastModifiedLong = ZonedDateTime.parse(lastModified, LAST_MODIFIED_FORMATTER).toInstant().toEpochMilli();
+            } catch (DateTimeParseException e) {
                 throw new IntegrationException("Could not parse the last modified date : " + e.getMessage());
             }
         }
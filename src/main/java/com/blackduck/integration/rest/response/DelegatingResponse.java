@@ -0,0 +1,120 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Map;
+
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+
+import com.blackduck.integration.exception.IntegrationException;
+import com.blackduck.integration.rest.exception.IntegrationRestException;
+
+/**
+ * A response that forwards every call to another response.
+ */
+public class DelegatingResponse implements Response {
+    private final Response delegate;
+
+    public DelegatingResponse(Response delegate) {
+        this.delegate = delegate;
+    }
+
+    public Response getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public HttpUriRequest getRequest() {
+        return delegate.getRequest();
+    }
+
+    @Override
+    public int getStatusCode() {
+        return delegate.getStatusCode();
+    }
+
+    @Override
+    public boolean isStatusCodeSuccess() {
+        return delegate.isStatusCodeSuccess();
+    }
+
+    @Override
+    public boolean isStatusCodeError() {
+        return delegate.isStatusCodeError();
+    }
+
+    @Override
+    public String getStatusMessage() {
+        return delegate.getStatusMessage();
+    }
+
+    @Override
+    public InputStream getContent() throws IntegrationException {
+        return delegate.getContent();
+    }
+
+    @Override
+    public String getContentString() throws IntegrationException {
+        return delegate.getContentString();
+    }
+
+    @Override
+    public String getContentString(Charset encoding) throws IntegrationException {
+        return delegate.getContentString(encoding);
+    }
+
+    @Override
+    public Long getContentLength() {
+        return delegate.getContentLength();
+    }
+
+    @Override
+    public String getContentEncoding() {
+        return delegate.getContentEncoding();
+    }
+
+    @Override
+    public String getContentType() {
+        return delegate.getContentType();
+    }
+
+    @Override
+    public Map<String, String> getHeaders() {
+        return delegate.getHeaders();
+    }
+
+    @Override
+    public String getHeaderValue(String name) {
+        return delegate.getHeaderValue(name);
+    }
+
+    @Override
+    public CloseableHttpResponse getActualResponse() {
+        return delegate.getActualResponse();
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+
+    @Override
+    public long getLastModified() throws IntegrationException {
+        return delegate.getLastModified();
+    }
+
+    @Override
+    public void throwExceptionForError() throws IntegrationRestException {
+        delegate.throwExceptionForError();
+    }
+
+}
@@ -0,0 +1,32 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.response;
+
+import java.io.IOException;
+
+/**
+ * A response that releases the permits taken to send its request once it is closed.
+ */
+public class PermitReleasingResponse extends DelegatingResponse {
+    private final Runnable releasePermits;
+
+    public PermitReleasingResponse(Response response, Runnable releasePermits) {
+        super(response);
+        this.releasePermits = releasePermits;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            releasePermits.run();
+        }
+    }
+
+}
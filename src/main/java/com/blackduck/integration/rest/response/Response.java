@@ -49,6 +49,9 @@ public interface Response extends Closeable {
 
     String getHeaderValue(String name);
 
+    /**
+     * @return The httpclient response, which a transport not backed by httpclient adapts its response to
+     */
     CloseableHttpResponse getActualResponse();
 
     @Override
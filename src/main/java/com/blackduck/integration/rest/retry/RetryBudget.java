@@ -0,0 +1,94 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.retry;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounds retries to a fraction of the requests made over a sliding window, plus a small allowance every second.
+ */
+public class RetryBudget {
+    public static final int WINDOW_IN_SECONDS = 10;
+
+    private final double ratio;
+    private final int minRetriesPerSecond;
+    private final LongSupplier nanoClock;
+
+    private final Lock lock = new ReentrantLock();
+    private final long[] requestCounts = new long[WINDOW_IN_SECONDS];
+    private final long[] retryCounts = new long[WINDOW_IN_SECONDS];
+    private final long[] slotSeconds = new long[WINDOW_IN_SECONDS];
+
+    public RetryBudget(RetryPolicy retryPolicy) {
+        this(retryPolicy.getRetryBudgetRatio(), retryPolicy.getMinRetriesPerSecond(), System::nanoTime);
+    }
+
+    RetryBudget(double ratio, int minRetriesPerSecond, LongSupplier nanoClock) {
+        this.ratio = ratio;
+        this.minRetriesPerSecond = minRetriesPerSecond;
+        this.nanoClock = nanoClock;
+    }
+
+    public void recordRequest() {
+        lock.lock();
+        try {
+            requestCounts[currentSlot()]++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return true, recording the retry, if the budget allows another retry
+     */
+    public boolean tryAcquireRetry() {
+        lock.lock();
+        try {
+            int slot = currentSlot();
+            long requests = 0;
+            long retries = 0;
+            for (int index = 0; index < WINDOW_IN_SECONDS; index++) {
+                requests += requestCounts[index];
+                retries += retryCounts[index];
+            }
+
+            double allowedRetries = ratio * requests + (double) minRetriesPerSecond * WINDOW_IN_SECONDS;
+            if (retries + 1 > allowedRetries) {
+                return false;
+            }
+            retryCounts[slot]++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int currentSlot() {
+        long second = TimeUnit.NANOSECONDS.toSeconds(nanoClock.getAsLong());
+        int slot = (int) Math.floorMod(second, (long) WINDOW_IN_SECONDS);
+        if (slotSeconds[slot] != second) {
+            // the slot last counted a second that has since left the window
+            slotSeconds[slot] = second;
+            requestCounts[slot] = 0;
+            retryCounts[slot] = 0;
+        }
+        // slots skipped while the budget was idle still hold counts from outside the window
+        for (int index = 0; index < WINDOW_IN_SECONDS; index++) {
+            if (second - slotSeconds[index] >= WINDOW_IN_SECONDS) {
+                slotSeconds[index] = second;
+                requestCounts[index] = 0;
+                retryCounts[index] = 0;
+            }
+        }
+        return slot;
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.retry;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.blackduck.integration.builder.Buildable;
+import com.blackduck.integration.rest.RestConstants;
+import com.blackduck.integration.util.Stringable;
+
+/**
+ * When and how often an idempotent request is retried after a transient failure.
+ */
+public class RetryPolicy extends Stringable implements Buildable {
+    public static final int DEFAULT_MAX_RETRIES = 3;
+    public static final long DEFAULT_INITIAL_DELAY_IN_MILLISECONDS = 500L;
+    public static final long DEFAULT_MAX_DELAY_IN_MILLISECONDS = 30_000L;
+    public static final double DEFAULT_RETRY_BUDGET_RATIO = 0.1;
+    public static final int DEFAULT_MIN_RETRIES_PER_SECOND = 1;
+    public static final Set<Integer> DEFAULT_RETRYABLE_STATUS_CODES = Collections.unmodifiableSet(new HashSet<>(
+        Arrays.asList(RestConstants.TOO_MANY_REQUESTS_429, RestConstants.BAD_GATEWAY_502, RestConstants.UNAVAILABLE_503, RestConstants.GATEWAY_TIMEOUT_504)));
+
+    public static final RetryPolicy DEFAULT = new RetryPolicy();
+
+    public static RetryPolicyBuilder newBuilder() {
+        return new RetryPolicyBuilder();
+    }
+
+    private final int maxRetries;
+    private final long initialDelayInMilliseconds;
+    private final long maxDelayInMilliseconds;
+    private final Set<Integer> retryableStatusCodes;
+    private final double retryBudgetRatio;
+    private final int minRetriesPerSecond;
+
+    RetryPolicy(int maxRetries, long initialDelayInMilliseconds, long maxDelayInMilliseconds, Set<Integer> retryableStatusCodes, double retryBudgetRatio, int minRetriesPerSecond) {
+        this.maxRetries = maxRetries;
+        this.initialDelayInMilliseconds = initialDelayInMilliseconds;
+        this.maxDelayInMilliseconds = maxDelayInMilliseconds;
+        this.retryableStatusCodes = Collections.unmodifiableSet(new HashSet<>(retryableStatusCodes));
+        this.retryBudgetRatio = retryBudgetRatio;
+        this.minRetriesPerSecond = minRetriesPerSecond;
+    }
+
+    RetryPolicy() {
+        this(DEFAULT_MAX_RETRIES, DEFAULT_INITIAL_DELAY_IN_MILLISECONDS, DEFAULT_MAX_DELAY_IN_MILLISECONDS, DEFAULT_RETRYABLE_STATUS_CODES, DEFAULT_RETRY_BUDGET_RATIO,
+            DEFAULT_MIN_RETRIES_PER_SECOND);
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public long getInitialDelayInMilliseconds() {
+        return initialDelayInMilliseconds;
+    }
+
+    /**
+     * @return The longest delay between attempts
+     */
+    public long getMaxDelayInMilliseconds() {
+        return maxDelayInMilliseconds;
+    }
+
+    public Set<Integer> getRetryableStatusCodes() {
+        return retryableStatusCodes;
+    }
+
+    /**
+     * @return The retries allowed, as a fraction of the requests made over the budget window
+     */
+    public double getRetryBudgetRatio() {
+        return retryBudgetRatio;
+    }
+
+    /**
+     * @return The retries allowed every second regardless of the ratio
+     */
+    public int getMinRetriesPerSecond() {
+        return minRetriesPerSecond;
+    }
+
+}
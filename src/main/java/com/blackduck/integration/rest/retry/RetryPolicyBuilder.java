@@ -0,0 +1,101 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.retry;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import com.blackduck.integration.builder.BuilderStatus;
+import com.blackduck.integration.builder.IntegrationBuilder;
+
+public class RetryPolicyBuilder extends IntegrationBuilder<RetryPolicy> {
+    private int maxRetries = RetryPolicy.DEFAULT_MAX_RETRIES;
+    private long initialDelayInMilliseconds = RetryPolicy.DEFAULT_INITIAL_DELAY_IN_MILLISECONDS;
+    private long maxDelayInMilliseconds = RetryPolicy.DEFAULT_MAX_DELAY_IN_MILLISECONDS;
+    private final Set<Integer> retryableStatusCodes = new HashSet<>(RetryPolicy.DEFAULT_RETRYABLE_STATUS_CODES);
+    private double retryBudgetRatio = RetryPolicy.DEFAULT_RETRY_BUDGET_RATIO;
+    private int minRetriesPerSecond = RetryPolicy.DEFAULT_MIN_RETRIES_PER_SECOND;
+
+    @Override
+    protected RetryPolicy buildWithoutValidation() {
+        return new RetryPolicy(maxRetries, initialDelayInMilliseconds, maxDelayInMilliseconds, retryableStatusCodes, retryBudgetRatio, minRetriesPerSecond);
+    }
+
+    @Override
+    protected void validate(BuilderStatus builderStatus) {
+        if (maxRetries < 0) {
+            builderStatus.addErrorMessage("The maximum retries must not be negative.");
+        }
+
+        if (initialDelayInMilliseconds < 0) {
+            builderStatus.addErrorMessage("The initial delay must not be negative.");
+        }
+
+        if (maxDelayInMilliseconds < initialDelayInMilliseconds) {
+            builderStatus.addErrorMessage("The maximum delay must not be less than the initial delay.");
+        }
+
+        if (retryBudgetRatio < 0) {
+            builderStatus.addErrorMessage("The retry budget ratio must not be negative.");
+        }
+
+        if (minRetriesPerSecond < 0) {
+            builderStatus.addErrorMessage("The minimum retries per second must not be negative.");
+        }
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public void setMaxRetries(int maxRetries) {
+        this.maxRetries = maxRetries;
+    }
+
+    public long getInitialDelayInMilliseconds() {
+        return initialDelayInMilliseconds;
+    }
+
+    public void setInitialDelayInMilliseconds(long initialDelayInMilliseconds) {
+        this.initialDelayInMilliseconds = initialDelayInMilliseconds;
+    }
+
+    public long getMaxDelayInMilliseconds() {
+        return maxDelayInMilliseconds;
+    }
+
+    public void setMaxDelayInMilliseconds(long maxDelayInMilliseconds) {
+        this.maxDelayInMilliseconds = maxDelayInMilliseconds;
+    }
+
+    public Set<Integer> getRetryableStatusCodes() {
+        return retryableStatusCodes;
+    }
+
+    public void setRetryableStatusCodes(Set<Integer> retryableStatusCodes) {
+        this.retryableStatusCodes.clear();
+        this.retryableStatusCodes.addAll(retryableStatusCodes);
+    }
+
+    public double getRetryBudgetRatio() {
+        return retryBudgetRatio;
+    }
+
+    public void setRetryBudgetRatio(double retryBudgetRatio) {
+        this.retryBudgetRatio = retryBudgetRatio;
+    }
+
+    public int getMinRetriesPerSecond() {
+        return minRetriesPerSecond;
+    }
+
+    public void setMinRetriesPerSecond(int minRetriesPerSecond) {
+        this.minRetriesPerSecond = minRetriesPerSecond;
+    }
+
+}
@@ -0,0 +1,180 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.retry;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHeaders;
+import org.apache.http.NoHttpResponseException;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.protocol.HttpContext;
+
+import com.blackduck.integration.log.IntLogger;
+import com.blackduck.integration.rest.response.Response;
+import com.blackduck.integration.rest.transport.HttpTransport;
+
+/**
+ * Retries idempotent requests, through the transport it decorates, when the server is briefly unavailable or the connection is reset.
+ */
+public class RetryingHttpTransport implements HttpTransport {
+    private static final Set<String> IDEMPOTENT_METHODS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList("GET", "HEAD", "OPTIONS", "PUT", "DELETE", "TRACE")));
+
+    private final HttpTransport delegate;
+    private final RetryPolicy retryPolicy;
+    private final RetryBudget retryBudget;
+    private final IntLogger logger;
+
+    public RetryingHttpTransport(HttpTransport delegate, RetryPolicy retryPolicy, IntLogger logger) {
+        this(delegate, retryPolicy, new RetryBudget(retryPolicy), logger);
+    }
+
+    /**
+     * @param retryBudget A budget that may be shared with other transports
+     */
+    public RetryingHttpTransport(HttpTransport delegate, RetryPolicy retryPolicy, RetryBudget retryBudget, IntLogger logger) {
+        this.delegate = delegate;
+        this.retryPolicy = retryPolicy;
+        this.retryBudget = retryBudget;
+        this.logger = logger;
+    }
+
+    @Override
+    public Response execute(HttpUriRequest request, HttpContext httpContext) throws IOException {
+        retryBudget.recordRequest();
+        boolean retryable = isRetryable(request);
+        int attempt = 0;
+        while (true) {
+            Response response;
+            try {
+                response = delegate.execute(request, httpContext);
+            } catch (NoHttpResponseException | SocketException e) {
+                if (!canRetry(request, retryable, attempt)) {
+                    throw e;
+                }
+                long delay = computeBackoff(attempt);
+                logger.debug(String.format("Retrying %s %s in %d ms after %s", request.getMethod(), request.getURI(), delay, e.getMessage()));
+                sleep(delay);
+                attempt++;
+                continue;
+            }
+
+            if (!retryPolicy.getRetryableStatusCodes().contains(response.getStatusCode())) {
+                return response;
+            }
+
+            Optional<Long> retryAfter = parseRetryAfter(response.getHeaderValue(HttpHeaders.RETRY_AFTER));
+            if (retryAfter.isPresent() && retryAfter.get() > retryPolicy.getMaxDelayInMilliseconds()) {
+                // the server will not be ready within any delay this policy accepts, so the caller decides what to do
+                return response;
+            }
+            if (!canRetry(request, retryable, attempt)) {
+                return response;
+            }
+
+            long delay = retryAfter.isPresent() ? retryAfter.get() : computeBackoff(attempt);
+            logger.debug(String.format("Retrying %s %s in %d ms after a %d response", request.getMethod(), request.getURI(), delay, response.getStatusCode()));
+            closeQuietly(response);
+            sleep(delay);
+            attempt++;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+
+    public HttpTransport getDelegate() {
+        return delegate;
+    }
+
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    public RetryBudget getRetryBudget() {
+        return retryBudget;
+    }
+
+    private boolean canRetry(HttpUriRequest request, boolean retryable, int attempt) {
+        return retryable && attempt < retryPolicy.getMaxRetries() && !request.isAborted() && retryBudget.tryAcquireRetry();
+    }
+
+    private boolean isRetryable(HttpUriRequest request) {
+        if (!IDEMPOTENT_METHODS.contains(request.getMethod())) {
+            return false;
+        }
+        if (request instanceof HttpEntityEnclosingRequest) {
+            HttpEntityEnclosingRequest entityEnclosingRequest = (HttpEntityEnclosingRequest) request;
+            return null == entityEnclosingRequest.getEntity() || entityEnclosingRequest.getEntity().isRepeatable();
+        }
+        return true;
+    }
+
+    private long computeBackoff(int attempt) {
+        long ceiling = retryPolicy.getInitialDelayInMilliseconds() << Math.min(attempt, 30);
+        if (ceiling <= 0 || ceiling > retryPolicy.getMaxDelayInMilliseconds()) {
+            ceiling = retryPolicy.getMaxDelayInMilliseconds();
+        }
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private Optional<Long> parseRetryAfter(String retryAfter) {
+        if (StringUtils.isBlank(retryAfter)) {
+            return Optional.empty();
+        }
+        String value = retryAfter.trim();
+        if (StringUtils.isNumeric(value)) {
+            try {
+                return Optional.of(TimeUnit.SECONDS.toMillis(Long.parseLong(value)));
+            } catch (NumberFormatException e) {
+                return Optional.of(Long.MAX_VALUE);
+            }
+        }
+        try {
+            ZonedDateTime retryAt = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+            return Optional.of(Math.max(0L, Duration.between(ZonedDateTime.now(retryAt.getZone()), retryAt).toMillis()));
+        } catch (DateTimeParseException e) {
+            logger.debug("Ignoring an invalid Retry-After header: " + value);
+            return Optional.empty();
+        }
+    }
+
+    private void sleep(long delayInMilliseconds) throws InterruptedIOException {
+        try {
+            Thread.sleep(delayInMilliseconds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to retry the request.");
+        }
+    }
+
+    private void closeQuietly(Response response) {
+        try {
+            response.close();
+        } catch (IOException e) {
+            logger.debug("Could not close a response that will be retried: " + e.getMessage());
+        }
+    }
+
+}
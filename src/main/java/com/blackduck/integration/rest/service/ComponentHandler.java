@@ -0,0 +1,19 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.service;
+
+import com.blackduck.integration.exception.IntegrationException;
+import com.blackduck.integration.rest.component.IntRestComponent;
+
+/**
+ * Handles each component of a json array as it is read. Throwing stops the reading of the array.
+ */
+@FunctionalInterface
+public interface ComponentHandler<C extends IntRestComponent> {
+    void handle(C component) throws IntegrationException;
+}
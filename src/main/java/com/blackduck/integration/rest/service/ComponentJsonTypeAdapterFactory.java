@@ -0,0 +1,57 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.service;
+
+import java.io.IOException;
+
+import com.blackduck.integration.rest.component.IntRestComponent;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Gives every component read from json the part of the json it was read from.
+ */
+class ComponentJsonTypeAdapterFactory implements TypeAdapterFactory {
+    private final Gson jsonSerializer;
+
+    ComponentJsonTypeAdapterFactory(Gson jsonSerializer) {
+        this.jsonSerializer = jsonSerializer;
+    }
+
+    @Override
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        if (!IntRestComponent.class.isAssignableFrom(type.getRawType())) {
+            return null;
+        }
+        TypeAdapter<T> delegate = gson.getDelegateAdapter(this, type);
+        TypeAdapter<JsonElement> jsonElementAdapter = gson.getAdapter(JsonElement.class);
+        return new TypeAdapter<T>() {
+            @Override
+            public void write(JsonWriter out, T value) throws IOException {
+                delegate.write(out, value);
+            }
+
+            @Override
+            public T read(JsonReader in) throws IOException {
+                // reading from a tree, the element returned is the subtree itself rather than a copy of it
+                JsonElement jsonElement = jsonElementAdapter.read(in);
+                T component = delegate.fromJsonTree(jsonElement);
+                if (null != component && jsonElement.isJsonObject()) {
+                    ((IntRestComponent) component).setJsonSupplier(() -> jsonSerializer.toJson(jsonElement));
+                }
+                return component;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,70 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.service;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import com.blackduck.integration.exception.IntegrationException;
+import com.blackduck.integration.rest.component.IntRestResponse;
+import com.blackduck.integration.rest.request.CursorPageRequestHandler;
+import com.blackduck.integration.rest.request.Request;
+
+/**
+ * Asks for one page at a time, failing a walk whose pages point back at one already visited.
+ */
+class CursorPagePlanner<R extends IntRestResponse> implements PagePlanner<R> {
+    private final Request.Builder requestBuilder;
+    private final CursorPageRequestHandler cursorPageRequestHandler;
+    private final int pageSize;
+
+    private final Set<List<Object>> visitedPages = new HashSet<>();
+    private boolean started;
+    private Request nextRequest;
+
+    CursorPagePlanner(Request.Builder requestBuilder, CursorPageRequestHandler cursorPageRequestHandler, int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("The page size must be at least 1.");
+        }
+        this.requestBuilder = requestBuilder;
+        this.cursorPageRequestHandler = cursorPageRequestHandler;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public Optional<Request> nextRequest() {
+        if (!started) {
+            started = true;
+            Request firstRequest = cursorPageRequestHandler.createFirstPageRequest(requestBuilder, pageSize);
+            visitedPages.add(toPageKey(firstRequest));
+            return Optional.of(firstRequest);
+        }
+
+        Request request = nextRequest;
+        nextRequest = null;
+        return Optional.ofNullable(request);
+    }
+
+    @Override
+    public boolean pageReceived(R response) throws IntegrationException {
+        Optional<Request> request = cursorPageRequestHandler.createNextPageRequest(requestBuilder, response, pageSize);
+        if (request.isPresent() && !visitedPages.add(toPageKey(request.get()))) {
+            throw new IntegrationException("The next page at " + request.get().getUrl().string() + " has already been visited.");
+        }
+        nextRequest = request.orElse(null);
+        return request.isPresent();
+    }
+
+    private List<Object> toPageKey(Request request) {
+        return Arrays.asList(request.getUrl().string(), request.getQueryParameters());
+    }
+
+}
@@ -8,15 +8,16 @@
 package com.blackduck.integration.rest.service;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.StringWriter;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
-import org.apache.commons.lang3.StringUtils;
-
 import com.blackduck.integration.exception.IntegrationException;
 import com.blackduck.integration.log.IntLogger;
 import com.blackduck.integration.rest.component.IntRestComponent;
@@ -31,28 +32,97 @@ import com.flipkart.zjsonpatch.JsonPatch;
 import com.google.gson.Gson;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
 public class IntJsonTransformer {
     private final Gson gson;
+    private final Gson componentGson;
     private final IntLogger logger;
 
     public IntJsonTransformer(final Gson gson, final IntLogger logger) {
+        this(gson, logger, true);
+    }
+
+    /**
+     * @param componentJson true to give every component the json it was read from
+     */
+    public IntJsonTransformer(final Gson gson, final IntLogger logger, final boolean componentJson) {
         this.gson = gson;
+        this.componentGson = componentJson ? gson.newBuilder().registerTypeAdapterFactory(new ComponentJsonTypeAdapterFactory(gson)).create() : gson;
         this.logger = logger;
     }
 
+    Gson getGson() {
+        return gson;
+    }
+
+    Gson getComponentGson() {
+        return componentGson;
+    }
+
     // =============================
     // Basic Response Transformation
     // =============================
 
     public <R extends IntRestResponse> R getResponse(Response response, Type responseType) throws IntegrationException {
-        final String json = response.getContentString();
-        final R transformedResponse = getComponentAs(json, responseType);
+        final JsonObject jsonObject = readJson(response, JsonObject.class);
+        final R transformedResponse = getComponentAs(jsonObject, responseType);
         transformedResponse.setGson(gson);
         return transformedResponse;
     }
 
+    /**
+     * Binds the response to the response type as its content is read, without setting the json of the result.
+     */
+    public <R extends IntRestResponse> R streamResponse(Response response, Type responseType) throws IntegrationException {
+        final R transformedResponse = readJson(response, responseType);
+        if (null == transformedResponse) {
+            throw new IntegrationException(String.format("The server did not have a response body. Can not convert the response to '%s'", responseType.getTypeName()));
+        }
+        transformedResponse.setGson(gson);
+        return transformedResponse;
+    }
+
+    /**
+     * Hands each element of the named top level array to the handler as it is read, skipping nulls.
+     * @return Every other top level field of the response
+     */
+    public <C extends IntRestComponent> JsonObject streamArray(Response response, String arrayFieldName, Class<C> componentClass, ComponentHandler<? super C> componentHandler)
+        throws IntegrationException {
+        final InputStream content = response.getContent();
+        if (null == content) {
+            throw new IntegrationException(String.format("The server did not have a response body. Can not convert the response to '%s'", componentClass.getTypeName()));
+        }
+        try (final JsonReader jsonReader = gson.newJsonReader(new InputStreamReader(content, StandardCharsets.UTF_8))) {
+            if (JsonToken.BEGIN_OBJECT != jsonReader.peek()) {
+                throw new JsonSyntaxException(String.format("Expected the response content to be a json object, but it was %s.", jsonReader.peek()));
+            }
+            final JsonObject envelope = new JsonObject();
+            jsonReader.beginObject();
+            while (jsonReader.hasNext()) {
+                final String fieldName = jsonReader.nextName();
+                if (arrayFieldName.equals(fieldName) && JsonToken.BEGIN_ARRAY == jsonReader.peek()) {
+                    readArray(jsonReader, componentClass, componentHandler);
+                } else {
+                    envelope.add(fieldName, gson.fromJson(jsonReader, JsonElement.class));
+                }
+            }
+            jsonReader.endObject();
+            if (JsonToken.END_DOCUMENT != jsonReader.peek()) {
+                throw new JsonSyntaxException("The response content continues after the end of the json.");
+            }
+            return envelope;
+        } catch (final JsonParseException e) {
+            logger.error(String.format("Could not parse the response content from %s with Gson: %s", null == response.getRequest() ? "the server" : response.getRequest().getURI(), e.getMessage()));
+            throw new IntegrationException(e.getMessage(), e);
+        } catch (final IOException e) {
+            throw new IntegrationException(e.getMessage(), e);
+        }
+    }
+
     public <C extends IntRestComponent> C getComponentAs(String json, Type responseType) throws IntegrationException {
         try {
             final JsonObject jsonElement = gson.fromJson(json, JsonObject.class);
@@ -64,39 +134,49 @@ public class IntJsonTransformer {
     }
 
     public <C extends IntRestComponent> C getComponentAs(JsonObject jsonObject, Type responseType) throws IntegrationException {
-        final String json = gson.toJson(jsonObject);
-        if (null == jsonObject || StringUtils.isBlank(json)) {
+        if (null == jsonObject) {
             throw new IntegrationException(String.format("The server did not have a response body. Can not convert the response to '%s'", responseType.getTypeName()));
         }
         try {
-            addJsonAsField(jsonObject);
-            C transformedResponse = gson.fromJson(jsonObject, responseType);
+            C transformedResponse = componentGson.fromJson(jsonObject, responseType);
 
             // Set the JsonElement of only the root object
             transformedResponse.setJsonElement(jsonObject);
             return transformedResponse;
         } catch (final JsonSyntaxException e) {
-            logger.error(String.format("Could not parse the provided jsonElement with Gson:%s%s", System.lineSeparator(), json));
+            logger.error(String.format("Could not parse the provided jsonElement with Gson:%s%s", System.lineSeparator(), gson.toJson(jsonObject)));
             throw new IntegrationException(e.getMessage(), e);
         }
     }
 
-    // Recursively add json as field of every inner object
-    private void addJsonAsField(JsonElement jsonElement) {
-        if (null == jsonElement) {
-            return;
-        }
-        if (jsonElement.isJsonObject()) {
-            final JsonObject innerObject = jsonElement.getAsJsonObject();
-            final String innerObjectJson = gson.toJson(innerObject);
-            innerObject.addProperty(IntRestComponent.FIELD_NAME_JSON, innerObjectJson);
-            for (final Map.Entry<String, JsonElement> innerObjectFields : innerObject.entrySet()) {
-                addJsonAsField(innerObjectFields.getValue());
+    private <C extends IntRestComponent> void readArray(JsonReader jsonReader, Class<C> componentClass, ComponentHandler<? super C> componentHandler) throws IOException, IntegrationException {
+        jsonReader.beginArray();
+        while (jsonReader.hasNext()) {
+            final C component = componentGson.fromJson(jsonReader, componentClass);
+            if (null != component) {
+                componentHandler.handle(component);
             }
-        } else if (jsonElement.isJsonArray()) {
-            for (final JsonElement arrayElement : jsonElement.getAsJsonArray()) {
-                addJsonAsField(arrayElement);
+        }
+        jsonReader.endArray();
+    }
+
+    // Reads the content in a single pass, with no copy of it held as a String
+    private <T> T readJson(Response response, Type type) throws IntegrationException {
+        final InputStream content = response.getContent();
+        if (null == content) {
+            return null;
+        }
+        try (final JsonReader jsonReader = gson.newJsonReader(new InputStreamReader(content, StandardCharsets.UTF_8))) {
+            final T value = gson.fromJson(jsonReader, type);
+            if (null != value && JsonToken.END_DOCUMENT != jsonReader.peek()) {
+                throw new JsonSyntaxException("The response content continues after the end of the json.");
             }
+            return value;
+        } catch (final JsonParseException e) {
+            logger.error(String.format("Could not parse the response content from %s with Gson: %s", null == response.getRequest() ? "the server" : response.getRequest().getURI(), e.getMessage()));
+            throw new IntegrationException(e.getMessage(), e);
+        } catch (final IOException e) {
+            throw new IntegrationException(e.getMessage(), e);
         }
     }
 
@@ -105,7 +185,7 @@ public class IntJsonTransformer {
     // ==========
 
     public void setPatch(IntRestResponse intRestResponse, ObjectMapper objectMapper) {
-        String lossyJson = gson.toJson(intRestResponse);
+        String lossyJson = toJsonWithoutComponentJson(intRestResponse);
 
         try {
             JsonNode source = objectMapper.readTree(lossyJson);
@@ -118,7 +198,7 @@ public class IntJsonTransformer {
     }
 
     public String producePatchedJson(IntRestResponse intRestResponse, ObjectMapper objectMapper) {
-        String lossyJson = gson.toJson(intRestResponse);
+        String lossyJson = toJsonWithoutComponentJson(intRestResponse);
         try {
             JsonNode target = objectMapper.readTree(lossyJson);
             JsonNode patch = intRestResponse.getPatch();
@@ -141,6 +221,27 @@ public class IntJsonTransformer {
         }
     }
 
+    // The json of a component is only there once it has been asked for, so it is left out of the comparison altogether
+    private String toJsonWithoutComponentJson(IntRestResponse intRestResponse) {
+        JsonElement jsonElement = gson.toJsonTree(intRestResponse);
+        removeComponentJson(jsonElement);
+        return gson.toJson(jsonElement);
+    }
+
+    private void removeComponentJson(JsonElement jsonElement) {
+        if (jsonElement.isJsonObject()) {
+            JsonObject jsonObject = jsonElement.getAsJsonObject();
+            jsonObject.remove(IntRestComponent.FIELD_NAME_JSON);
+            for (Map.Entry<String, JsonElement> member : jsonObject.entrySet()) {
+                removeComponentJson(member.getValue());
+            }
+        } else if (jsonElement.isJsonArray()) {
+            for (JsonElement arrayElement : jsonElement.getAsJsonArray()) {
+                removeComponentJson(arrayElement);
+            }
+        }
+    }
+
     private List<JsonNode> transformPatchToListOfPatches(JsonNode patch) {
         List<JsonNode> listOfPatches = new ArrayList<>();
 
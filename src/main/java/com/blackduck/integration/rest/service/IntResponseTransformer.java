@@ -9,14 +9,31 @@ package com.blackduck.integration.rest.service;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.blackduck.integration.exception.IntegrationException;
+import com.blackduck.integration.rest.batch.BatchOptions;
+import com.blackduck.integration.rest.batch.BatchResult;
 import com.blackduck.integration.rest.client.IntHttpClient;
+import com.blackduck.integration.rest.component.IntRestComponent;
 import com.blackduck.integration.rest.component.IntRestResponse;
+import com.blackduck.integration.rest.request.CursorPageRequestHandler;
 import com.blackduck.integration.rest.request.PageRequestHandler;
 import com.blackduck.integration.rest.request.Request;
 import com.blackduck.integration.rest.response.Response;
+import com.blackduck.integration.rest.spill.SpillConfig;
+import com.blackduck.integration.rest.spill.SpilledItems;
+import com.blackduck.integration.rest.spill.SpillingCollector;
 import com.google.gson.JsonObject;
 
 public class IntResponseTransformer {
@@ -46,15 +63,181 @@ public class IntResponseTransformer {
         return pageRequestHandler.combineResponses(allResponses);
     }
 
+    /**
+     * Fetches the first page, then every remaining page at once, with no more than the parallelism of the batch options in flight.
+     */
+    public <R extends IntRestResponse> R getResponses(Request.Builder requestBuilder, PageRequestHandler pageRequestHandler, final Class<R> responseClass, int pageSize,
+        BatchOptions batchOptions) throws IntegrationException {
+        final R firstResponse = getResponse(pageRequestHandler.createPageRequest(requestBuilder, 0, pageSize), responseClass);
+        final int totalResponseDataCount = pageRequestHandler.getTotalResponseCount(firstResponse);
+        final int firstResponseDataCount = pageRequestHandler.getCurrentResponseCount(firstResponse);
+
+        final List<Request> remainingRequests = new ArrayList<>();
+        if (totalResponseDataCount > firstResponseDataCount && firstResponseDataCount > 0) {
+            for (long offset = pageSize; offset < totalResponseDataCount; offset += pageSize) {
+                remainingRequests.add(pageRequestHandler.createPageRequest(requestBuilder, (int) offset, pageSize));
+            }
+        }
+
+        final List<R> allResponses = new ArrayList<>(remainingRequests.size() + 1);
+        allResponses.add(firstResponse);
+        for (BatchResult<R> result : getResponses(remainingRequests, responseClass, batchOptions)) {
+            allResponses.add(result.getValueOrThrow());
+        }
+        return pageRequestHandler.combineResponses(allResponses);
+    }
+
+    /**
+     * Like getResponses, but hands back each page as it is reached - see PagedResponseIterator.
+     */
+    public <R extends IntRestResponse> PagedResponseIterator<R> iterateResponses(Request.Builder requestBuilder, PageRequestHandler pageRequestHandler, Class<R> responseClass, int pageSize,
+        int prefetchCount) {
+        return new PagedResponseIterator<>(getPageFetcher(requestBuilder, pageRequestHandler, responseClass, pageSize), prefetchCount);
+    }
+
+    public <R extends IntRestResponse> PagedResponseIterator<R> iterateResponses(Request.Builder requestBuilder, PageRequestHandler pageRequestHandler, Class<R> responseClass, int pageSize,
+        int prefetchCount, Executor executor) {
+        return new PagedResponseIterator<>(new PageFetcher<>(new OffsetPagePlanner<>(requestBuilder, pageRequestHandler, pageSize), request -> intHttpClient.executeAsync(request, executor),
+            response -> transformResponseUnchecked(response, responseClass)), prefetchCount);
+    }
+
+    /**
+     * @return The pages of iterateResponses, in order. Closing the stream aborts the pages still in flight.
+     */
+    public <R extends IntRestResponse> Stream<R> getResponsesAsStream(Request.Builder requestBuilder, PageRequestHandler pageRequestHandler, Class<R> responseClass, int pageSize,
+        int prefetchCount) {
+        return stream(iterateResponses(requestBuilder, pageRequestHandler, responseClass, pageSize, prefetchCount));
+    }
+
+    /**
+     * Like getResponses, but follows the cursor each page gives for the next one.
+     */
+    public <R extends IntRestResponse> R getResponses(Request.Builder requestBuilder, CursorPageRequestHandler cursorPageRequestHandler, Class<R> responseClass, int pageSize)
+        throws IntegrationException {
+        final CursorPagePlanner<R> pagePlanner = new CursorPagePlanner<>(requestBuilder, cursorPageRequestHandler, pageSize);
+        final List<R> allResponses = new ArrayList<>();
+        Optional<Request> request;
+        while ((request = pagePlanner.nextRequest()).isPresent()) {
+            final R response = getResponse(request.get(), responseClass);
+            allResponses.add(response);
+            pagePlanner.pageReceived(response);
+        }
+
+        return cursorPageRequestHandler.combineResponses(allResponses);
+    }
+
+    /**
+     * Like iterateResponses, but follows the cursor each page gives for the next one.
+     */
+    public <R extends IntRestResponse> PagedResponseIterator<R> iterateResponses(Request.Builder requestBuilder, CursorPageRequestHandler cursorPageRequestHandler, Class<R> responseClass,
+        int pageSize) {
+        return new PagedResponseIterator<>(getPageFetcher(requestBuilder, cursorPageRequestHandler, responseClass, pageSize), 1);
+    }
+
+    /**
+     * @return The pages of iterateResponses, in order. Closing the stream aborts the page in flight.
+     */
+    public <R extends IntRestResponse> Stream<R> getResponsesAsStream(Request.Builder requestBuilder, CursorPageRequestHandler cursorPageRequestHandler, Class<R> responseClass,
+        int pageSize) {
+        return stream(iterateResponses(requestBuilder, cursorPageRequestHandler, responseClass, pageSize));
+    }
+
+    /**
+     * For callers that decide for themselves when to ask for each page, such as a publisher of the pages.
+     */
+    public <R extends IntRestResponse> PageFetcher<R> getPageFetcher(Request.Builder requestBuilder, PageRequestHandler pageRequestHandler, Class<R> responseClass, int pageSize) {
+        return new PageFetcher<>(new OffsetPagePlanner<>(requestBuilder, pageRequestHandler, pageSize), intHttpClient::executeAsync,
+            response -> transformResponseUnchecked(response, responseClass));
+    }
+
+    /**
+     * Like getPageFetcher, but follows the cursor each page gives for the next one.
+     */
+    public <R extends IntRestResponse> PageFetcher<R> getPageFetcher(Request.Builder requestBuilder, CursorPageRequestHandler cursorPageRequestHandler, Class<R> responseClass,
+        int pageSize) {
+        return new PageFetcher<>(new CursorPagePlanner<>(requestBuilder, cursorPageRequestHandler, pageSize), intHttpClient::executeAsync,
+            response -> transformResponseUnchecked(response, responseClass));
+    }
+
+    /**
+     * Like getResponses, but collects the items of each page, spilling them to disk once they outgrow the memory threshold - see SpillingCollector. The
+     * result must be closed to delete any spill file.
+     */
+    public <R extends IntRestResponse, T> SpilledItems<T> collectResponseItems(Request.Builder requestBuilder, PageRequestHandler pageRequestHandler,
+        Class<R> responseClass, int pageSize, Function<R, ? extends Collection<? extends T>> itemExtractor, Class<T> itemClass, SpillConfig spillConfig) throws IntegrationException {
+        return collectResponseItems(new OffsetPagePlanner<>(requestBuilder, pageRequestHandler, pageSize), responseClass, itemExtractor, itemClass, spillConfig);
+    }
+
+    /**
+     * Like collectResponseItems, but follows the cursor each page gives for the next one.
+     */
+    public <R extends IntRestResponse, T> SpilledItems<T> collectResponseItems(Request.Builder requestBuilder, CursorPageRequestHandler cursorPageRequestHandler,
+        Class<R> responseClass, int pageSize, Function<R, ? extends Collection<? extends T>> itemExtractor, Class<T> itemClass, SpillConfig spillConfig) throws IntegrationException {
+        return collectResponseItems(new CursorPagePlanner<>(requestBuilder, cursorPageRequestHandler, pageSize), responseClass, itemExtractor, itemClass, spillConfig);
+    }
+
     public <R extends IntRestResponse> R getResponse(Request request, Class<R> responseClass) throws IntegrationException {
+        return transformResponse(intHttpClient.execute(request), responseClass);
+    }
+
+    /**
+     * Like getResponse, but binds the response as its content is read - see IntJsonTransformer.streamResponse.
+     */
+    public <R extends IntRestResponse> R streamResponse(Request request, Class<R> responseClass) throws IntegrationException {
         try (final Response response = intHttpClient.execute(request)) {
             intHttpClient.throwExceptionForError(response);
-            return intJsonTransformer.getResponse(response, responseClass);
+            return intJsonTransformer.streamResponse(response, responseClass);
         } catch (final IOException e) {
             throw new IntegrationException(e.getMessage(), e);
         }
     }
 
+    /**
+     * Hands each element of the named array of the response to the handler as it is read - see IntJsonTransformer.streamArray.
+     * @return Every other top level field of the response
+     */
+    public <C extends IntRestComponent> JsonObject streamResponseArray(Request request, String arrayFieldName, Class<C> componentClass, ComponentHandler<? super C> componentHandler)
+        throws IntegrationException {
+        try (final Response response = intHttpClient.execute(request)) {
+            intHttpClient.throwExceptionForError(response);
+            return intJsonTransformer.streamArray(response, arrayFieldName, componentClass, componentHandler);
+        } catch (final IOException e) {
+            throw new IntegrationException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Cancelling the returned future aborts the request.
+     */
+    public <R extends IntRestResponse> CompletableFuture<R> getResponseAsync(Request request, Class<R> responseClass) {
+        return transformAsync(intHttpClient.executeAsync(request), responseClass);
+    }
+
+    /**
+     * Cancelling the returned future aborts the request.
+     */
+    public <R extends IntRestResponse> CompletableFuture<R> getResponseAsync(Request request, Class<R> responseClass, Executor executor) {
+        return transformAsync(intHttpClient.executeAsync(request, executor), responseClass);
+    }
+
+    public <R extends IntRestResponse> List<BatchResult<R>> getResponses(Collection<Request> requests, Class<R> responseClass) throws IntegrationException {
+        return getResponses(requests, responseClass, BatchOptions.DEFAULT);
+    }
+
+    /**
+     * @return One result per request, in the order of the requests
+     */
+    public <R extends IntRestResponse> List<BatchResult<R>> getResponses(Collection<Request> requests, Class<R> responseClass, BatchOptions batchOptions) throws IntegrationException {
+        return intHttpClient.executeAll(requests, response -> convertResponse(response, responseClass), batchOptions);
+    }
+
+    /**
+     * @return One result per request, in the order the requests complete. Closing the stream aborts the requests still in flight.
+     */
+    public <R extends IntRestResponse> Stream<BatchResult<R>> getResponsesAsCompleted(Collection<Request> requests, Class<R> responseClass, BatchOptions batchOptions) throws IntegrationException {
+        return intHttpClient.executeAllAsCompleted(requests, response -> convertResponse(response, responseClass), batchOptions);
+    }
+
     public <R extends IntRestResponse> R getResponseAs(String json, Class<R> responseClass) throws IntegrationException {
         return intJsonTransformer.getComponentAs(json, responseClass);
     }
@@ -63,4 +246,54 @@ public class IntResponseTransformer {
         return intJsonTransformer.getComponentAs(jsonObject, responseClass);
     }
 
+    private <R extends IntRestResponse, T> SpilledItems<T> collectResponseItems(PagePlanner<R> pagePlanner, Class<R> responseClass,
+        Function<R, ? extends Collection<? extends T>> itemExtractor, Class<T> itemClass, SpillConfig spillConfig) throws IntegrationException {
+        try (final SpillingCollector<T> spillingCollector = new SpillingCollector<>(intJsonTransformer.getComponentGson(), itemClass, spillConfig)) {
+            Optional<Request> request;
+            while ((request = pagePlanner.nextRequest()).isPresent()) {
+                final R response = getResponse(request.get(), responseClass);
+                spillingCollector.addAll(itemExtractor.apply(response));
+                pagePlanner.pageReceived(response);
+            }
+            return spillingCollector.finish();
+        }
+    }
+
+    private <R extends IntRestResponse> R transformResponse(Response executedResponse, Class<R> responseClass) throws IntegrationException {
+        try (final Response response = executedResponse) {
+            return convertResponse(response, responseClass);
+        } catch (final IOException e) {
+            throw new IntegrationException(e.getMessage(), e);
+        }
+    }
+
+    private <R extends IntRestResponse> R convertResponse(Response response, Class<R> responseClass) throws IntegrationException {
+        intHttpClient.throwExceptionForError(response);
+        return intJsonTransformer.getResponse(response, responseClass);
+    }
+
+    private <R extends IntRestResponse> Stream<R> stream(PagedResponseIterator<R> pagedResponses) {
+        Spliterator<R> spliterator = Spliterators.spliteratorUnknownSize(pagedResponses, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(pagedResponses::close);
+    }
+
+    private <R extends IntRestResponse> CompletableFuture<R> transformAsync(CompletableFuture<Response> execution, Class<R> responseClass) {
+        CompletableFuture<R> futureResponse = execution.thenApply(response -> transformResponseUnchecked(response, responseClass));
+        futureResponse.whenComplete((response, throwable) -> {
+            // cancelling the execution, not the transformation, is what aborts the request
+            if (futureResponse.isCancelled()) {
+                execution.cancel(true);
+            }
+        });
+        return futureResponse;
+    }
+
+    private <R extends IntRestResponse> R transformResponseUnchecked(Response response, Class<R> responseClass) {
+        try {
+            return transformResponse(response, responseClass);
+        } catch (final IntegrationException e) {
+            throw new CompletionException(e);
+        }
+    }
+
 }
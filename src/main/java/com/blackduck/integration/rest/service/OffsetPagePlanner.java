@@ -0,0 +1,62 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.service;
+
+import java.util.Optional;
+
+import com.blackduck.integration.rest.component.IntRestResponse;
+import com.blackduck.integration.rest.request.PageRequestHandler;
+import com.blackduck.integration.rest.request.Request;
+
+/**
+ * Asks for the first page alone, then for every page up to the total count of the most recent page.
+ */
+class OffsetPagePlanner<R extends IntRestResponse> implements PagePlanner<R> {
+    private final Request.Builder requestBuilder;
+    private final PageRequestHandler pageRequestHandler;
+    private final int pageSize;
+
+    private boolean started;
+    private boolean exhausted;
+    private long nextOffset;
+    private long receivedOffset;
+    private int totalResponseDataCount;
+
+    OffsetPagePlanner(Request.Builder requestBuilder, PageRequestHandler pageRequestHandler, int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("The page size must be at least 1.");
+        }
+        this.requestBuilder = requestBuilder;
+        this.pageRequestHandler = pageRequestHandler;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public Optional<Request> nextRequest() {
+        if (exhausted || (started && nextOffset >= totalResponseDataCount)) {
+            return Optional.empty();
+        }
+        started = true;
+        Request request = pageRequestHandler.createPageRequest(requestBuilder, (int) nextOffset, pageSize);
+        nextOffset += pageSize;
+        return Optional.of(request);
+    }
+
+    @Override
+    public boolean pageReceived(R response) {
+        if (0 == pageRequestHandler.getCurrentResponseCount(response)) {
+            exhausted = true;
+            return false;
+        }
+        totalResponseDataCount = pageRequestHandler.getTotalResponseCount(response);
+        receivedOffset += pageSize;
+        exhausted = receivedOffset >= totalResponseDataCount;
+        return !exhausted;
+    }
+
+}
@@ -0,0 +1,53 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.service;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import com.blackduck.integration.exception.IntegrationException;
+import com.blackduck.integration.rest.component.IntRestResponse;
+import com.blackduck.integration.rest.request.Request;
+import com.blackduck.integration.rest.response.Response;
+
+/**
+ * Asks for the pages of a paged endpoint, leaving when to ask for each to the caller. Not thread safe.
+ */
+public class PageFetcher<R extends IntRestResponse> {
+    private final PagePlanner<R> pagePlanner;
+    private final Function<Request, CompletableFuture<Response>> requestExecutor;
+    private final Function<Response, R> responseTransformer;
+
+    PageFetcher(PagePlanner<R> pagePlanner, Function<Request, CompletableFuture<Response>> requestExecutor, Function<Response, R> responseTransformer) {
+        this.pagePlanner = pagePlanner;
+        this.requestExecutor = requestExecutor;
+        this.responseTransformer = responseTransformer;
+    }
+
+    /**
+     * @return The next page that can be asked for now, already asked for, or empty if there is none until another page arrives, or none at all
+     */
+    public Optional<PendingPage<R>> requestNextPage() throws IntegrationException {
+        Optional<Request> request = pagePlanner.nextRequest();
+        if (!request.isPresent()) {
+            return Optional.empty();
+        }
+        CompletableFuture<Response> execution = requestExecutor.apply(request.get());
+        return Optional.of(new PendingPage<>(execution, execution.thenApply(responseTransformer)));
+    }
+
+    /**
+     * Takes in each page, in order, once it has arrived.
+     * @return false if no page after this one should be asked for, even if some already have been
+     */
+    public boolean pageReceived(R response) throws IntegrationException {
+        return pagePlanner.pageReceived(response);
+    }
+
+}
@@ -0,0 +1,31 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.service;
+
+import java.util.Optional;
+
+import com.blackduck.integration.exception.IntegrationException;
+import com.blackduck.integration.rest.component.IntRestResponse;
+import com.blackduck.integration.rest.request.Request;
+
+/**
+ * Decides which page of a paged endpoint to ask for next, from the pages that have arrived so far.
+ */
+interface PagePlanner<R extends IntRestResponse> {
+    /**
+     * @return A request for the next page that can be asked for now, or empty if there is none until another page arrives, or none at all
+     */
+    Optional<Request> nextRequest() throws IntegrationException;
+
+    /**
+     * Takes in each page, in order, once it has arrived.
+     * @return false if no page after this one should be asked for, even if some already have been
+     */
+    boolean pageReceived(R response) throws IntegrationException;
+
+}
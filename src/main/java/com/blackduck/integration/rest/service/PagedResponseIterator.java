@@ -0,0 +1,116 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.service;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+import com.blackduck.integration.exception.IntegrationException;
+import com.blackduck.integration.rest.component.IntRestResponse;
+
+/**
+ * Walks a paged endpoint one page at a time, keeping up to the prefetch count of the following pages in flight. A page that could not be retrieved is
+ * thrown from next as a CompletionException, and closing the iterator aborts the requests still in flight.
+ */
+public class PagedResponseIterator<R extends IntRestResponse> implements Iterator<R>, Closeable {
+    private final PageFetcher<R> pageFetcher;
+    private final int prefetchCount;
+
+    private final Deque<PendingPage<R>> pendingPages = new ArrayDeque<>();
+    private boolean finished;
+
+    PagedResponseIterator(PageFetcher<R> pageFetcher, int prefetchCount) {
+        if (prefetchCount < 0) {
+            throw new IllegalArgumentException("The prefetch count can not be negative.");
+        }
+        this.pageFetcher = pageFetcher;
+        this.prefetchCount = prefetchCount;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (pendingPages.isEmpty() && !finished && !requestNextPage()) {
+            finished = true;
+        }
+        return !pendingPages.isEmpty();
+    }
+
+    @Override
+    public R next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        R response = awaitPage(pendingPages.poll());
+        try {
+            if (!pageFetcher.pageReceived(response)) {
+                close();
+                return response;
+            }
+        } catch (IntegrationException e) {
+            close();
+            throw new CompletionException(e);
+        }
+
+        while (pendingPages.size() < prefetchCount) {
+            if (!requestNextPage()) {
+                break;
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Aborts the requests still in flight and ends the iteration.
+     */
+    @Override
+    public void close() {
+        finished = true;
+        PendingPage<R> pendingPage;
+        while (null != (pendingPage = pendingPages.poll())) {
+            pendingPage.cancel();
+        }
+    }
+
+    private boolean requestNextPage() {
+        Optional<PendingPage<R>> pendingPage;
+        try {
+            pendingPage = pageFetcher.requestNextPage();
+        } catch (IntegrationException e) {
+            close();
+            throw new CompletionException(e);
+        }
+        pendingPage.ifPresent(pendingPages::add);
+        return pendingPage.isPresent();
+    }
+
+    private R awaitPage(PendingPage<R> pendingPage) {
+        try {
+            return pendingPage.getResponse().get();
+        } catch (InterruptedException e) {
+            pendingPage.cancel();
+            close();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the next page.", e);
+        } catch (ExecutionException e) {
+            close();
+            throw new CompletionException(e.getCause());
+        } catch (CancellationException e) {
+            close();
+            throw e;
+        }
+    }
+
+}
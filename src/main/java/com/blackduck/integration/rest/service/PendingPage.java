@@ -0,0 +1,39 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.service;
+
+import java.util.concurrent.CompletableFuture;
+
+import com.blackduck.integration.rest.response.Response;
+
+/**
+ * A page that has been asked for, but not yet handed on.
+ */
+public class PendingPage<R> {
+    private final CompletableFuture<Response> execution;
+    private final CompletableFuture<R> response;
+
+    PendingPage(CompletableFuture<Response> execution, CompletableFuture<R> response) {
+        this.execution = execution;
+        this.response = response;
+    }
+
+    public CompletableFuture<R> getResponse() {
+        return response;
+    }
+
+    /**
+     * Aborts the request for the page.
+     */
+    public void cancel() {
+        // cancelling the execution, not the transformation, is what aborts the request
+        execution.cancel(true);
+        response.cancel(true);
+    }
+
+}
@@ -0,0 +1,54 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.spill;
+
+import java.io.File;
+import java.util.Optional;
+
+import com.blackduck.integration.builder.Buildable;
+import com.blackduck.integration.util.Stringable;
+
+/**
+ * How a SpillingCollector holds the items it collects, spilling all of them to a temporary file once they outgrow the memory threshold.
+ */
+public class SpillConfig extends Stringable implements Buildable {
+    public static final long DEFAULT_MEMORY_THRESHOLD_BYTES = 8L * 1024 * 1024;
+
+    public static final SpillConfig DEFAULT = new SpillConfig();
+
+    public static SpillConfigBuilder newBuilder() {
+        return new SpillConfigBuilder();
+    }
+
+    private final long memoryThresholdBytes;
+    private final File spillDirectory;
+
+    SpillConfig(long memoryThresholdBytes, File spillDirectory) {
+        this.memoryThresholdBytes = memoryThresholdBytes;
+        this.spillDirectory = spillDirectory;
+    }
+
+    SpillConfig() {
+        this(DEFAULT_MEMORY_THRESHOLD_BYTES, null);
+    }
+
+    /**
+     * @return The most bytes of encoded items to hold in memory before spilling them all to disk
+     */
+    public long getMemoryThresholdBytes() {
+        return memoryThresholdBytes;
+    }
+
+    /**
+     * @return The directory to create the spill file in, or empty for the default temporary directory
+     */
+    public Optional<File> getSpillDirectory() {
+        return Optional.ofNullable(spillDirectory);
+    }
+
+}
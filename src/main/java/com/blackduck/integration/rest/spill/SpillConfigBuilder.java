@@ -0,0 +1,51 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.spill;
+
+import java.io.File;
+
+import com.blackduck.integration.builder.BuilderStatus;
+import com.blackduck.integration.builder.IntegrationBuilder;
+
+public class SpillConfigBuilder extends IntegrationBuilder<SpillConfig> {
+    private long memoryThresholdBytes = SpillConfig.DEFAULT_MEMORY_THRESHOLD_BYTES;
+    private File spillDirectory;
+
+    @Override
+    protected SpillConfig buildWithoutValidation() {
+        return new SpillConfig(memoryThresholdBytes, spillDirectory);
+    }
+
+    @Override
+    protected void validate(BuilderStatus builderStatus) {
+        if (memoryThresholdBytes < 0) {
+            builderStatus.addErrorMessage("The memory threshold can not be negative.");
+        }
+
+        if (null != spillDirectory && !spillDirectory.isDirectory()) {
+            builderStatus.addErrorMessage(String.format("The spill directory %s is not a directory.", spillDirectory.getAbsolutePath()));
+        }
+    }
+
+    public long getMemoryThresholdBytes() {
+        return memoryThresholdBytes;
+    }
+
+    public void setMemoryThresholdBytes(long memoryThresholdBytes) {
+        this.memoryThresholdBytes = memoryThresholdBytes;
+    }
+
+    public File getSpillDirectory() {
+        return spillDirectory;
+    }
+
+    public void setSpillDirectory(File spillDirectory) {
+        this.spillDirectory = spillDirectory;
+    }
+
+}
@@ -0,0 +1,173 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.spill;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.GZIPInputStream;
+
+import com.blackduck.integration.rest.component.IntRestComponent;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+
+/**
+ * The items of a SpillingCollector, which can be iterated any number of times. Closing the items closes every iterator still open over them and deletes
+ * their spill file.
+ */
+public class SpilledItems<T> implements Iterable<T>, Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Gson gson;
+    private final Class<T> itemClass;
+    private final int size;
+    private final List<byte[]> bufferedItems;
+    private final File spillFile;
+    private final Set<ItemIterator> openIterators = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+
+    SpilledItems(Gson gson, Class<T> itemClass, int size, List<byte[]> bufferedItems, File spillFile) {
+        this.gson = gson;
+        this.itemClass = itemClass;
+        this.size = size;
+        this.bufferedItems = bufferedItems;
+        this.spillFile = spillFile;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isSpilled() {
+        return null != spillFile;
+    }
+
+    /**
+     * @throws UncheckedIOException if the spill file can not be read
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return openIterator();
+    }
+
+    /**
+     * @return The items, in order. Closing the stream closes the spill file it reads from.
+     */
+    public Stream<T> stream() {
+        ItemIterator itemIterator = openIterator();
+        Spliterator<T> spliterator = Spliterators.spliterator(itemIterator, size, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(itemIterator::close);
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        for (ItemIterator openIterator : openIterators) {
+            openIterator.close();
+        }
+        if (null != spillFile) {
+            Files.deleteIfExists(spillFile.toPath());
+        }
+    }
+
+    private ItemIterator openIterator() {
+        if (closed) {
+            throw new IllegalStateException("The items have been closed.");
+        }
+        if (null == spillFile) {
+            return new ItemIterator(null);
+        }
+        try {
+            ItemIterator itemIterator = new ItemIterator(new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(spillFile), BUFFER_SIZE), BUFFER_SIZE)));
+            openIterators.add(itemIterator);
+            if (closed) {
+                // closed while the file was being opened
+                itemIterator.close();
+                throw new IllegalStateException("The items have been closed.");
+            }
+            return itemIterator;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the spilled items: " + e.getMessage(), e);
+        }
+    }
+
+    private class ItemIterator implements Iterator<T>, Closeable {
+        private final DataInputStream spillInput;
+        private int nextIndex;
+
+        private ItemIterator(DataInputStream spillInput) {
+            this.spillInput = spillInput;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextIndex < size;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            byte[] encodedItem = null == spillInput ? bufferedItems.get(nextIndex) : readItem();
+            nextIndex++;
+            if (!hasNext()) {
+                close();
+            }
+            return decode(encodedItem);
+        }
+
+        @Override
+        public void close() {
+            if (null != spillInput && openIterators.remove(this)) {
+                try {
+                    spillInput.close();
+                } catch (IOException e) {
+                    // nothing more is read from it
+                }
+            }
+        }
+
+        private T decode(byte[] encodedItem) {
+            JsonElement jsonElement = gson.fromJson(new String(encodedItem, StandardCharsets.UTF_8), JsonElement.class);
+            T item = gson.fromJson(jsonElement, itemClass);
+            if (item instanceof IntRestComponent && jsonElement.isJsonObject()) {
+                ((IntRestComponent) item).setJsonElement(jsonElement);
+            }
+            return item;
+        }
+
+        private byte[] readItem() {
+            try {
+                byte[] encodedItem = new byte[spillInput.readInt()];
+                spillInput.readFully(encodedItem);
+                return encodedItem;
+            } catch (IOException e) {
+                close();
+                throw new UncheckedIOException("Could not read the spilled items: " + e.getMessage(), e);
+            }
+        }
+
+    }
+
+}
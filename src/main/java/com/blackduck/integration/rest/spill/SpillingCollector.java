@@ -0,0 +1,166 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.spill;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import com.blackduck.integration.exception.IntegrationException;
+import com.blackduck.integration.rest.component.IntRestComponent;
+import com.google.gson.Gson;
+
+/**
+ * Collects items, encoding each as its json as it is added - a component as the json it was read from - and spills them to a temporary file once they reach the memory threshold. Not thread safe.
+ */
+public class SpillingCollector<T> implements Closeable {
+    private static final String SPILL_FILE_PREFIX = "int-spill-";
+    private static final String SPILL_FILE_SUFFIX = ".json.gz";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Gson gson;
+    private final Class<T> itemClass;
+    private final SpillConfig spillConfig;
+
+    private List<byte[]> bufferedItems = new ArrayList<>();
+    private long bufferedBytes;
+    private File spillFile;
+    private DataOutputStream spillOutput;
+    private int itemCount;
+    private boolean finished;
+
+    /**
+     * @param gson Reads the items back, so for components it should be one that gives them their json
+     */
+    public SpillingCollector(Gson gson, Class<T> itemClass, SpillConfig spillConfig) {
+        this.gson = gson;
+        this.itemClass = itemClass;
+        this.spillConfig = spillConfig;
+    }
+
+    public void add(T item) throws IntegrationException {
+        if (finished) {
+            throw new IllegalStateException("The collector has already been finished.");
+        }
+        byte[] encodedItem = encode(item).getBytes(StandardCharsets.UTF_8);
+        try {
+            if (null == spillOutput && bufferedBytes + encodedItem.length > spillConfig.getMemoryThresholdBytes()) {
+                startSpilling();
+            }
+            if (null == spillOutput) {
+                bufferedItems.add(encodedItem);
+                bufferedBytes += encodedItem.length;
+            } else {
+                writeItem(encodedItem);
+            }
+        } catch (IOException e) {
+            close();
+            throw new IntegrationException("Could not spill the items to disk: " + e.getMessage(), e);
+        }
+        itemCount++;
+    }
+
+    public void addAll(Collection<? extends T> items) throws IntegrationException {
+        for (T item : items) {
+            add(item);
+        }
+    }
+
+    /**
+     * @return Every item added, in the order they were added, to be closed instead of the collector
+     */
+    public SpilledItems<T> finish() throws IntegrationException {
+        if (finished) {
+            throw new IllegalStateException("The collector has already been finished.");
+        }
+        finished = true;
+        if (null == spillOutput) {
+            return new SpilledItems<>(gson, itemClass, itemCount, bufferedItems, null);
+        }
+
+        try {
+            spillOutput.close();
+        } catch (IOException e) {
+            deleteSpillFile();
+            throw new IntegrationException("Could not spill the items to disk: " + e.getMessage(), e);
+        }
+        return new SpilledItems<>(gson, itemClass, itemCount, null, spillFile);
+    }
+
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    public boolean isSpilled() {
+        return null != spillFile;
+    }
+
+    @Override
+    public void close() {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        bufferedItems = null;
+        if (null != spillOutput) {
+            try {
+                spillOutput.close();
+            } catch (IOException e) {
+                // the file is deleted regardless
+            }
+        }
+        deleteSpillFile();
+    }
+
+    private String encode(T item) {
+        if (item instanceof IntRestComponent) {
+            String json = ((IntRestComponent) item).getJson();
+            if (null != json) {
+                return json;
+            }
+        }
+        return gson.toJson(item, itemClass);
+    }
+
+    private void startSpilling() throws IOException {
+        File spillDirectory = spillConfig.getSpillDirectory().orElse(null);
+        spillFile = File.createTempFile(SPILL_FILE_PREFIX, SPILL_FILE_SUFFIX, spillDirectory);
+        spillOutput = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(spillFile), BUFFER_SIZE), BUFFER_SIZE));
+
+        for (byte[] encodedItem : bufferedItems) {
+            writeItem(encodedItem);
+        }
+        bufferedItems = null;
+        bufferedBytes = 0;
+    }
+
+    private void writeItem(byte[] encodedItem) throws IOException {
+        spillOutput.writeInt(encodedItem.length);
+        spillOutput.write(encodedItem);
+    }
+
+    private void deleteSpillFile() {
+        if (null != spillFile) {
+            try {
+                Files.deleteIfExists(spillFile.toPath());
+            } catch (IOException e) {
+                // nothing more can be done about it
+            }
+        }
+    }
+
+}
@@ -19,17 +19,15 @@ import org.apache.commons.codec.Charsets;
 import org.apache.commons.io.IOUtils;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpHeaders;
-import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.client.methods.RequestBuilder;
-import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.protocol.BasicHttpContext;
 
 import com.blackduck.integration.exception.IntegrationException;
 import com.blackduck.integration.log.IntLogger;
 import com.blackduck.integration.rest.HttpMethod;
 import com.blackduck.integration.rest.HttpUrl;
 import com.blackduck.integration.rest.client.AuthenticatingIntHttpClient;
-import com.blackduck.integration.rest.response.DefaultResponse;
 import com.blackduck.integration.rest.response.Response;
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
@@ -67,15 +65,14 @@ public class AuthenticationSupport {
         HttpUriRequest request = requestBuilder.build();
         authenticatingIntHttpClient.logRequestHeaders(request);
 
-        CloseableHttpClient closeableHttpClient = authenticatingIntHttpClient.getClientBuilder().build();
-        CloseableHttpResponse closeableHttpResponse;
+        Response response;
         try {
-            closeableHttpResponse = closeableHttpClient.execute(request);
+            response = authenticatingIntHttpClient.executeWithinLimits(request, new BasicHttpContext());
         } catch (IOException e) {
             throw new IntegrationException("Could not perform the authorization request: " + e.getMessage(), e);
         }
-        authenticatingIntHttpClient.logResponseHeaders(closeableHttpResponse);
-        return new DefaultResponse(request, closeableHttpClient, closeableHttpResponse);
+        authenticatingIntHttpClient.logResponseHeaders(response);
+        return response;
     }
 
     public void handleErrorResponse(AuthenticatingIntHttpClient authenticatingIntHttpClient, HttpUriRequest request, Response response, String authorizationHeader) {
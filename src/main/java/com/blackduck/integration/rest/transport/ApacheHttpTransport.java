@@ -0,0 +1,45 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.transport;
+
+import java.io.IOException;
+
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.protocol.HttpContext;
+
+import com.blackduck.integration.rest.response.DefaultResponse;
+import com.blackduck.integration.rest.response.Response;
+
+/**
+ * The default transport, sending requests through an httpclient {@link CloseableHttpClient}.
+ */
+public class ApacheHttpTransport implements HttpTransport {
+    private final CloseableHttpClient httpClient;
+
+    public ApacheHttpTransport(CloseableHttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    @Override
+    public Response execute(HttpUriRequest request, HttpContext httpContext) throws IOException {
+        CloseableHttpResponse closeableHttpResponse = httpClient.execute(request, httpContext);
+        return new DefaultResponse(request, closeableHttpResponse);
+    }
+
+    @Override
+    public void close() throws IOException {
+        httpClient.close();
+    }
+
+    public CloseableHttpClient getHttpClient() {
+        return httpClient;
+    }
+
+}
@@ -0,0 +1,52 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.transport;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Optional;
+
+import javax.net.ssl.SSLContext;
+
+import com.blackduck.integration.rest.proxy.ProxyInfo;
+
+/**
+ * Creates an HTTP/2 capable transport backed by java.net.http when running on Java 11 or newer.
+ */
+public final class Http2Transports {
+    private static final String JDK_HTTP_TRANSPORT_CLASS_NAME = "com.blackduck.integration.rest.transport.JdkHttpTransport";
+    private static final Constructor<?> JDK_HTTP_TRANSPORT_CONSTRUCTOR = findConstructor();
+
+    private Http2Transports() {
+    }
+
+    public static boolean isSupported() {
+        return null != JDK_HTTP_TRANSPORT_CONSTRUCTOR;
+    }
+
+    public static Optional<HttpTransport> create(SSLContext sslContext, ProxyInfo proxyInfo, int timeoutInSeconds) {
+        if (!isSupported()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of((HttpTransport) JDK_HTTP_TRANSPORT_CONSTRUCTOR.newInstance(sslContext, proxyInfo, timeoutInSeconds));
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Constructor<?> findConstructor() {
+        try {
+            Class.forName("java.net.http.HttpClient");
+            return Class.forName(JDK_HTTP_TRANSPORT_CLASS_NAME).getConstructor(SSLContext.class, ProxyInfo.class, int.class);
+        } catch (ClassNotFoundException | LinkageError | NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+}
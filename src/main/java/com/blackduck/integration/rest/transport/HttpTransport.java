@@ -0,0 +1,32 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.transport;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.protocol.HttpContext;
+
+import com.blackduck.integration.rest.response.Response;
+
+/**
+ * The engine that sends a request and receives its response. Requests and responses remain httpclient types, which a transport not backed by
+ * httpclient adapts to. Implementations must be thread-safe, and the caller closes the returned response.
+ */
+public interface HttpTransport extends Closeable {
+    Response execute(HttpUriRequest request, HttpContext httpContext) throws IOException;
+
+    /**
+     * Releases any connections or threads held by this transport.
+     */
+    @Override
+    default void close() throws IOException {
+    }
+
+}
@@ -0,0 +1,241 @@
+/*
+ * integration-rest
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.rest.transport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.UncheckedIOException;
+import java.net.CookieManager;
+import java.net.InetSocketAddress;
+import java.net.ProxySelector;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import javax.net.ssl.SSLContext;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpVersion;
+import org.apache.http.ProtocolVersion;
+import org.apache.http.client.ClientProtocolException;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpExecutionAware;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.BasicHttpEntity;
+import org.apache.http.impl.EnglishReasonPhraseCatalog;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.message.BasicStatusLine;
+import org.apache.http.protocol.HttpContext;
+
+import com.blackduck.integration.rest.proxy.ProxyInfo;
+import com.blackduck.integration.rest.response.DefaultResponse;
+import com.blackduck.integration.rest.response.Response;
+
+/**
+ * Sends requests through java.net.http, negotiating HTTP/2 through ALPN.
+ */
+final class JdkHttpTransport implements HttpTransport {
+    private static final ProtocolVersion HTTP_2 = new ProtocolVersion("HTTP", 2, 0);
+    private static final int BODY_PIPE_SIZE = 64 * 1024;
+    private static final Set<String> RESTRICTED_HEADERS = new HashSet<>(Arrays.asList("connection", "content-length", "date", "expect", "from", "host", "upgrade", "via", "warning"));
+
+    private final HttpClient httpClient;
+    private final ExecutorService executorService;
+    private final Duration timeout;
+
+    public JdkHttpTransport(SSLContext sslContext, ProxyInfo proxyInfo, int timeoutInSeconds) {
+        this.timeout = Duration.ofSeconds(timeoutInSeconds);
+        this.executorService = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "int-http2-client");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                                         .version(HttpClient.Version.HTTP_2)
+                                         .followRedirects(HttpClient.Redirect.NORMAL)
+                                         .connectTimeout(timeout)
+                                         .cookieHandler(new CookieManager())
+                                         .sslContext(sslContext)
+                                         .executor(executorService);
+        if (proxyInfo.shouldUseProxy()) {
+            builder.proxy(ProxySelector.of(new InetSocketAddress(proxyInfo.getHost().orElse(null), proxyInfo.getPort())));
+        }
+        this.httpClient = builder.build();
+    }
+
+    @Override
+    public Response execute(HttpUriRequest request, HttpContext httpContext) throws IOException {
+        HttpRequest jdkRequest = createJdkRequest(request);
+        CompletableFuture<HttpResponse<InputStream>> responseFuture = httpClient.sendAsync(jdkRequest, HttpResponse.BodyHandlers.ofInputStream());
+        if (request instanceof HttpExecutionAware) {
+            ((HttpExecutionAware) request).setCancellable(() -> responseFuture.cancel(true));
+        }
+
+        try {
+            return new DefaultResponse(request, createResponse(request, responseFuture.get()));
+        } catch (InterruptedException e) {
+            responseFuture.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the response.");
+        } catch (CancellationException e) {
+            throw new InterruptedIOException("The request was aborted.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new ClientProtocolException(cause.getMessage(), cause);
+        }
+    }
+
+    private HttpRequest createJdkRequest(HttpUriRequest request) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(request.getURI()).timeout(timeout);
+        for (Header header : request.getAllHeaders()) {
+            if (!RESTRICTED_HEADERS.contains(header.getName().toLowerCase(Locale.ENGLISH))) {
+                builder.header(header.getName(), header.getValue());
+            }
+        }
+        if (!request.containsHeader(HttpHeaders.ACCEPT_ENCODING)) {
+            builder.header(HttpHeaders.ACCEPT_ENCODING, "gzip,deflate");
+        }
+
+        HttpEntity entity = null;
+        if (request instanceof HttpEntityEnclosingRequest) {
+            entity = ((HttpEntityEnclosingRequest) request).getEntity();
+        }
+        if (null == entity) {
+            return builder.method(request.getMethod(), HttpRequest.BodyPublishers.noBody()).build();
+        }
+
+        if (null != entity.getContentType() && !request.containsHeader(HttpHeaders.CONTENT_TYPE)) {
+            builder.header(HttpHeaders.CONTENT_TYPE, entity.getContentType().getValue());
+        }
+        if (null != entity.getContentEncoding() && !request.containsHeader(HttpHeaders.CONTENT_ENCODING)) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, entity.getContentEncoding().getValue());
+        }
+        return builder.method(request.getMethod(), createBodyPublisher(entity)).build();
+    }
+
+    private HttpRequest.BodyPublisher createBodyPublisher(HttpEntity entity) {
+        // entities are written rather than opened, as some of them, such as large multipart bodies, can not be opened as a stream
+        HttpRequest.BodyPublisher publisher = HttpRequest.BodyPublishers.ofInputStream(() -> writeContent(entity));
+        if (entity.getContentLength() >= 0) {
+            return HttpRequest.BodyPublishers.fromPublisher(publisher, entity.getContentLength());
+        }
+        return publisher;
+    }
+
+    private InputStream writeContent(HttpEntity entity) {
+        PipedInputStream content = new PipedInputStream(BODY_PIPE_SIZE);
+        try {
+            PipedOutputStream contentWriter = new PipedOutputStream(content);
+            executorService.execute(() -> {
+                try (OutputStream outputStream = contentWriter) {
+                    entity.writeTo(outputStream);
+                } catch (IOException e) {
+                    // closing the reading side fails the request rather than sending a truncated body
+                    IOUtils.closeQuietly(content);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return content;
+    }
+
+    private CloseableHttpResponse createResponse(HttpUriRequest request, HttpResponse<InputStream> jdkResponse) throws IOException {
+        ProtocolVersion protocolVersion = HttpClient.Version.HTTP_2 == jdkResponse.version() ? HTTP_2 : HttpVersion.HTTP_1_1;
+        int statusCode = jdkResponse.statusCode();
+        String reasonPhrase = EnglishReasonPhraseCatalog.INSTANCE.getReason(statusCode, Locale.ENGLISH);
+        JdkHttpResponse response = new JdkHttpResponse(new BasicStatusLine(protocolVersion, statusCode, reasonPhrase), jdkResponse.body());
+
+        String contentEncoding = null;
+        for (Map.Entry<String, List<String>> header : jdkResponse.headers().map().entrySet()) {
+            if (header.getKey().startsWith(":")) {
+                continue;
+            }
+            if (HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(header.getKey())) {
+                contentEncoding = header.getValue().get(0).trim().toLowerCase(Locale.ENGLISH);
+            }
+            for (String value : header.getValue()) {
+                response.addHeader(header.getKey(), value);
+            }
+        }
+
+        BasicHttpEntity entity = new BasicHttpEntity();
+        InputStream body = jdkResponse.body();
+        long contentLength = jdkResponse.headers().firstValueAsLong(HttpHeaders.CONTENT_LENGTH).orElse(-1L);
+        boolean hasBody = !"HEAD".equals(request.getMethod()) && 204 != statusCode && 304 != statusCode && 0 != contentLength;
+        if (hasBody && ("gzip".equals(contentEncoding) || "x-gzip".equals(contentEncoding) || "deflate".equals(contentEncoding))) {
+            // decompress transparently, as httpclient does, so callers see the same content either way
+            body = "deflate".equals(contentEncoding) ? new InflaterInputStream(body) : new GZIPInputStream(body);
+            contentLength = -1L;
+            response.removeHeaders(HttpHeaders.CONTENT_ENCODING);
+            response.removeHeaders(HttpHeaders.CONTENT_LENGTH);
+            response.removeHeaders("Content-MD5");
+        } else if (null != contentEncoding) {
+            entity.setContentEncoding(response.getFirstHeader(HttpHeaders.CONTENT_ENCODING));
+        }
+        entity.setContent(body);
+        entity.setContentLength(contentLength);
+        entity.setContentType(response.getFirstHeader(HttpHeaders.CONTENT_TYPE));
+        response.setEntity(entity);
+        return response;
+    }
+
+    @Override
+    public void close() {
+        executorService.shutdownNow();
+        if (httpClient instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) httpClient).close();
+            } catch (Exception e) {
+                // the executor has already been shut down, so the client has nothing left to run on
+            }
+        }
+    }
+
+    private static class JdkHttpResponse extends BasicHttpResponse implements CloseableHttpResponse {
+        private final InputStream body;
+
+        public JdkHttpResponse(BasicStatusLine statusLine, InputStream body) {
+            super(statusLine);
+            this.body = body;
+        }
+
+        @Override
+        public void close() throws IOException {
+            body.close();
+        }
+
+    }
+
+}
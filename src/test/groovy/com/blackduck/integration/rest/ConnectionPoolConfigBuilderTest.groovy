@@ -0,0 +1,71 @@
+package com.blackduck.integration.rest
+
+import com.blackduck.integration.log.BufferedIntLogger
+import com.blackduck.integration.rest.client.IntHttpClient
+import com.blackduck.integration.rest.pool.ConnectionPoolConfig
+import com.blackduck.integration.rest.pool.ConnectionPoolConfigBuilder
+import com.blackduck.integration.rest.proxy.ProxyInfo
+import com.google.gson.Gson
+import org.apache.http.HttpHost
+import org.junit.jupiter.api.Test
+
+class ConnectionPoolConfigBuilderTest {
+    @Test
+    void testBuilder() {
+        ConnectionPoolConfigBuilder builder = ConnectionPoolConfig.newBuilder()
+        builder.maxTotalConnections = 40
+        builder.maxConnectionsPerRoute = 10
+        builder.idleConnectionTimeoutInSeconds = 30
+        builder.connectionTimeToLiveInSeconds = 300
+        builder.validateAfterInactivityInMilliseconds = 500
+        builder.defaultKeepAliveInSeconds = 60
+        builder.setMaxConnectionsForHost(new HttpUrl('https://blackduck.example.com/api'), 20)
+
+        ConnectionPoolConfig connectionPoolConfig = builder.build()
+        assert 40 == connectionPoolConfig.maxTotalConnections
+        assert 10 == connectionPoolConfig.maxConnectionsPerRoute
+        assert 30L == connectionPoolConfig.idleConnectionTimeoutInSeconds
+        assert 300L == connectionPoolConfig.connectionTimeToLiveInSeconds
+        assert 500 == connectionPoolConfig.validateAfterInactivityInMilliseconds
+        assert 60L == connectionPoolConfig.defaultKeepAliveInSeconds
+        assert connectionPoolConfig.shouldEvictIdleConnections()
+        assert connectionPoolConfig.shouldLimitConnectionTimeToLive()
+        assert 20 == connectionPoolConfig.maxConnectionsPerHost.get(new HttpHost('blackduck.example.com', 443, 'https'))
+    }
+
+    @Test
+    void testDefaults() {
+        ConnectionPoolConfig connectionPoolConfig = ConnectionPoolConfig.newBuilder().build()
+        assert ConnectionPoolConfig.DEFAULT_MAX_TOTAL_CONNECTIONS == connectionPoolConfig.maxTotalConnections
+        assert ConnectionPoolConfig.DEFAULT_MAX_CONNECTIONS_PER_ROUTE == connectionPoolConfig.maxConnectionsPerRoute
+        assert !connectionPoolConfig.shouldEvictIdleConnections()
+        assert !connectionPoolConfig.shouldLimitConnectionTimeToLive()
+        assert connectionPoolConfig.maxConnectionsPerHost.isEmpty()
+    }
+
+    @Test
+    void testInvalid() {
+        ConnectionPoolConfigBuilder builder = ConnectionPoolConfig.newBuilder()
+        builder.maxTotalConnections = 0
+        assert !builder.isValid()
+
+        builder = ConnectionPoolConfig.newBuilder()
+        builder.maxConnectionsPerRoute = -1
+        assert !builder.isValid()
+
+        builder = ConnectionPoolConfig.newBuilder()
+        builder.setMaxConnectionsForHost(new HttpUrl('http://blackduck.example.com'), 0)
+        assert !builder.isValid()
+    }
+
+    @Test
+    void testPoolIsSizedFromConfig() {
+        ConnectionPoolConfigBuilder builder = ConnectionPoolConfig.newBuilder()
+        builder.maxTotalConnections = 7
+
+        IntHttpClient intHttpClient = new IntHttpClient(new BufferedIntLogger(), new Gson(), 30, false, ProxyInfo.NO_PROXY_INFO, builder.build())
+        assert 7 == intHttpClient.connectionPoolStats.max
+        intHttpClient.close()
+    }
+
+}
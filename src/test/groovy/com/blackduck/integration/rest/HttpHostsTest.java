@@ -0,0 +1,21 @@
+package com.blackduck.integration.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.net.URI;
+
+import org.apache.http.HttpHost;
+import org.junit.jupiter.api.Test;
+
+import com.blackduck.integration.exception.IntegrationException;
+
+public class HttpHostsTest {
+    @Test
+    public void testConfiguredHostMatchesRequestHost() throws IntegrationException {
+        assertEquals(new HttpHost("www.blackduck.com", 443, "https"), HttpHosts.fromHttpUrl(new HttpUrl("https://www.blackduck.com/api")));
+        assertEquals(HttpHosts.fromHttpUrl(new HttpUrl("https://www.blackduck.com")), HttpHosts.fromUri(URI.create("https://www.blackduck.com:443/api/projects?limit=10")));
+        assertEquals(HttpHosts.fromHttpUrl(new HttpUrl("HTTP://WWW.BLACKDUCK.COM")), HttpHosts.fromUri(URI.create("http://www.blackduck.com/api")));
+        assertEquals(new HttpHost("localhost", 8080, "http"), HttpHosts.fromUri(URI.create("http://localhost:8080/api")));
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.blackduck.integration.rest
+
+import com.blackduck.integration.log.IntLogger
+import com.blackduck.integration.log.LogLevel
+import com.blackduck.integration.log.PrintStreamIntLogger
+import com.blackduck.integration.rest.client.IntHttpClient
+import com.blackduck.integration.rest.pool.ConnectionPoolConfig
+import com.blackduck.integration.rest.proxy.ProxyInfo
+import com.blackduck.integration.rest.request.Request
+import com.blackduck.integration.rest.transport.HttpTransport
+import com.google.gson.Gson
+
+/**
+ * Creates clients whose requests are answered by a transport in the test, rather than by a server.
+ */
+class IntHttpClientFixture {
+    public static final int CONNECTION_TIMEOUT = 213
+    public static final HttpUrl HTTP_URL = new HttpUrl('https://www.blackduck.com/api/items')
+    public static final IntLogger LOGGER = new PrintStreamIntLogger(System.out, LogLevel.DEBUG)
+    public static final Gson GSON = new Gson()
+
+    static IntHttpClient createClient(HttpTransport transport) {
+        return createClient(ConnectionPoolConfig.DEFAULT, transport)
+    }
+
+    static IntHttpClient createClient(ConnectionPoolConfig connectionPoolConfig, HttpTransport transport) {
+        IntHttpClient intHttpClient = new IntHttpClient(LOGGER, GSON, CONNECTION_TIMEOUT, false, ProxyInfo.NO_PROXY_INFO, connectionPoolConfig)
+        intHttpClient.setTransport(transport)
+        return intHttpClient
+    }
+
+    static Request get() {
+        return new Request.Builder(HTTP_URL).build()
+    }
+
+}
@@ -4,11 +4,18 @@ import com.blackduck.integration.exception.IntegrationException
 import com.blackduck.integration.log.IntLogger
 import com.blackduck.integration.log.LogLevel
 import com.blackduck.integration.log.PrintStreamIntLogger
+import com.blackduck.integration.rest.batch.BatchOptions
+import com.blackduck.integration.rest.batch.BatchOptionsBuilder
+import com.blackduck.integration.rest.batch.BatchResult
+import com.blackduck.integration.rest.batch.ResponseConverter
 import com.blackduck.integration.rest.client.IntHttpClient
 import com.blackduck.integration.rest.exception.IntegrationRestException
 import com.blackduck.integration.rest.proxy.ProxyInfo
 import com.blackduck.integration.rest.request.Request
+import com.blackduck.integration.rest.request.ResourceVersion
+import com.blackduck.integration.rest.response.DefaultResponse
 import com.blackduck.integration.rest.response.Response
+import com.blackduck.integration.rest.transport.HttpTransport
 import com.google.gson.Gson
 import okhttp3.mockwebserver.Dispatcher
 import okhttp3.mockwebserver.MockResponse
@@ -18,12 +25,14 @@ import org.apache.http.HttpHeaders
 import org.apache.http.client.methods.HttpUriRequest
 import org.apache.http.client.methods.RequestBuilder
 import org.apache.http.entity.ContentType
+import org.apache.http.protocol.HttpContext
 import org.junit.jupiter.api.AfterEach
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 
 import java.nio.charset.Charset
 import java.nio.charset.StandardCharsets
+import java.util.concurrent.TimeUnit
 
 import static org.junit.jupiter.api.Assertions.fail
 
@@ -111,6 +120,139 @@ class IntHttpClientTest {
         }
     }
 
+    @Test
+    void testExecuteAsync() {
+        IntHttpClient restConnection = getRestConnection(new MockResponse().setResponseCode(200).setBody('async body'))
+        Request request = new Request.Builder(getValidUrl()).build()
+
+        try {
+            restConnection.executeAsync(request).get(30, TimeUnit.SECONDS).withCloseable { Response response ->
+                assert 200 == response.getStatusCode()
+                assert 'async body' == response.getContentString()
+            }
+        } finally {
+            restConnection.close()
+        }
+    }
+
+    @Test
+    void testExecuteAll() {
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                request.getPath().endsWith('/3') ? new MockResponse().setResponseCode(500) : new MockResponse().setResponseCode(200).setBody(request.getPath())
+            }
+        })
+        IntHttpClient restConnection = new IntHttpClient(logger, gson, CONNECTION_TIMEOUT, false, ProxyInfo.NO_PROXY_INFO)
+        List<Request> requests = (0..9).collect { new Request.Builder(new HttpUrl(server.url("/item/${it}").uri())).build() }
+        ResponseConverter<String> converter = { Response response ->
+            restConnection.throwExceptionForError(response)
+            response.getContentString()
+        }
+
+        try {
+            BatchOptionsBuilder batchOptionsBuilder = BatchOptions.newBuilder()
+            batchOptionsBuilder.setParallelism(3)
+            List<BatchResult<String>> results = restConnection.executeAll(requests, converter, batchOptionsBuilder.build())
+            assert 10 == results.size()
+            results.eachWithIndex { BatchResult<String> result, int index ->
+                assert index == result.getIndex()
+                if (3 == index) {
+                    assert !result.isSuccess()
+                    assert result.getFailure().get() instanceof IntegrationRestException
+                } else {
+                    assert "/item/${index}".toString() == result.getValue().get()
+                }
+            }
+
+            batchOptionsBuilder.setFailFast(true)
+            try {
+                restConnection.executeAll(requests, converter, batchOptionsBuilder.build())
+                fail('Should have thrown exception')
+            } catch (IntegrationRestException e) {
+                assert 500 == e.getHttpStatusCode()
+            }
+        } finally {
+            restConnection.close()
+        }
+    }
+
+    @Test
+    void testUseHttp2() {
+        IntHttpClient restConnection = getRestConnection(new MockResponse().setResponseCode(200).setBody('http2 body'))
+
+        try {
+            boolean java11OrNewer = !System.getProperty('java.specification.version').startsWith('1.')
+            assert java11OrNewer == restConnection.useHttp2()
+
+            restConnection.execute(new Request.Builder(getValidUrl()).build()).withCloseable { Response response ->
+                assert 200 == response.getStatusCode()
+                assert 'http2 body' == response.getContentString()
+            }
+
+            try {
+                restConnection.useHttp2()
+                fail('Should have thrown exception')
+            } catch (IllegalStateException e) {
+                assert "The transport must be chosen before the first request is made." == e.getMessage()
+            }
+        } finally {
+            restConnection.close()
+        }
+    }
+
+    @Test
+    void testSetTransport() {
+        IntHttpClient restConnection = new IntHttpClient(logger, gson, CONNECTION_TIMEOUT, false, ProxyInfo.NO_PROXY_INFO)
+        List<HttpUriRequest> sentRequests = []
+        restConnection.setTransport({ HttpUriRequest request, HttpContext httpContext ->
+            sentRequests.add(request)
+            new DefaultResponse(request, new LoopbackResponse('loopback body'))
+        } as HttpTransport)
+        restConnection.addCommonRequestHeader('Common', 'Header')
+
+        try {
+            restConnection.execute(new Request.Builder(getValidUrl()).build()).withCloseable { Response response ->
+                assert 200 == response.getStatusCode()
+                assert 'loopback body' == response.getContentString()
+            }
+            assert 1 == sentRequests.size()
+            assert 'Header' == sentRequests[0].getFirstHeader('Common').getValue()
+            assert 0 == server.getRequestCount()
+        } finally {
+            restConnection.close()
+        }
+    }
+
+    @Test
+    void testExecuteGetRequestIfChanged() {
+        IntHttpClient restConnection = new IntHttpClient(logger, gson, CONNECTION_TIMEOUT, false, ProxyInfo.NO_PROXY_INFO)
+        List<HttpUriRequest> sentRequests = []
+        restConnection.setTransport({ HttpUriRequest request, HttpContext httpContext ->
+            sentRequests.add(request)
+            boolean unchanged = request.getFirstHeader(HttpHeaders.IF_NONE_MATCH)?.getValue() == '"v1"' || request.containsHeader(HttpHeaders.IF_MODIFIED_SINCE)
+            LoopbackResponse loopbackResponse = unchanged ? new LoopbackResponse(304, '') : new LoopbackResponse('changed body')
+            loopbackResponse.addHeader(HttpHeaders.ETAG, '"v1"')
+            new DefaultResponse(request, loopbackResponse)
+        } as HttpTransport)
+
+        try {
+            Optional<Response> changedResponse = restConnection.executeGetRequestIfChanged(new Request.Builder(getValidUrl()).build(), ResourceVersion.UNKNOWN)
+            assert 'changed body' == changedResponse.get().getContentString()
+            ResourceVersion knownVersion = ResourceVersion.fromResponse(changedResponse.get())
+            changedResponse.get().close()
+            assert !restConnection.executeGetRequestIfChanged(new Request.Builder(getValidUrl()).build(), knownVersion).isPresent()
+
+            restConnection.useConditionalGetRequests()
+            assert !restConnection.executeGetRequestIfModifiedSince(new Request.Builder(getValidUrl()).build(), 1445412480000L).isPresent()
+            assert 'Wed, 21 Oct 2015 07:28:00 GMT' == sentRequests[2].getFirstHeader(HttpHeaders.IF_MODIFIED_SINCE).getValue()
+            assert sentRequests.every { 'GET' == it.getMethod() }
+            assert 3 == sentRequests.size()
+        } finally {
+            restConnection.close()
+        }
+    }
+
     @Test
     void testCreateHttpRequestNoURI() {
         IntHttpClient restConnection = new IntHttpClient(logger, gson, 300, true, ProxyInfo.NO_PROXY_INFO)
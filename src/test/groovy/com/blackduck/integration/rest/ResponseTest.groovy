@@ -9,6 +9,7 @@ import org.apache.http.ProtocolVersion
 import org.apache.http.StatusLine
 import org.apache.http.client.methods.CloseableHttpResponse
 import org.apache.http.client.methods.HttpUriRequest
+import org.apache.http.entity.InputStreamEntity
 import org.apache.http.impl.client.CloseableHttpClient
 import org.apache.http.message.BasicHeader
 import org.apache.http.message.BasicStatusLine
@@ -274,4 +275,56 @@ class ResponseTest {
         }
     }
 
+    @Test
+    void testGetLastModified() throws Exception {
+        HttpUriRequest httpUriRequest = [] as HttpUriRequest
+        Header header = new BasicHeader(Response.LAST_MODIFIED_HEADER_KEY, "Wed, 21 Oct 2015 07:28:00 GMT")
+        CloseableHttpResponse closeableHttpResponse = [containsHeader: { String name -> return true }, getFirstHeader: { String name -> return header }] as CloseableHttpResponse
+        Response response = new DefaultResponse(httpUriRequest, closeableHttpResponse)
+        assertEquals(1445412480000L, response.getLastModified())
+    }
+
+    @Test
+    void testCloseDrainsOnlyASmallRemainder() throws Exception {
+        HttpUriRequest httpUriRequest = [] as HttpUriRequest
+        CountingInputStream smallContent = new CountingInputStream(new ByteArrayInputStream(new byte[1024]))
+        boolean smallResponseClosed = false
+        CloseableHttpResponse smallResponse = [getEntity: { new InputStreamEntity(smallContent, -1) }, close: { smallResponseClosed = true }] as CloseableHttpResponse
+        new DefaultResponse(httpUriRequest, smallResponse).close()
+        assertEquals(1024L, smallContent.count)
+        assertTrue(smallContent.closed)
+        assertTrue(smallResponseClosed)
+
+        // an endless download is abandoned, not read to the end
+        CountingInputStream endlessContent = new CountingInputStream([read: { -> 0 }] as InputStream)
+        boolean endlessResponseClosed = false
+        CloseableHttpResponse endlessResponse = [getEntity: { new InputStreamEntity(endlessContent, -1) }, close: { endlessResponseClosed = true }] as CloseableHttpResponse
+        new DefaultResponse(httpUriRequest, endlessResponse).close()
+        assertTrue(endlessContent.count < 1024L * 1024)
+        assertFalse(endlessContent.closed)
+        assertTrue(endlessResponseClosed)
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+        long count
+        boolean closed
+
+        CountingInputStream(InputStream inputStream) {
+            super(inputStream)
+        }
+
+        @Override
+        int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length)
+            count += Math.max(0, read)
+            return read
+        }
+
+        @Override
+        void close() throws IOException {
+            closed = true
+            super.close()
+        }
+    }
+
 }
@@ -0,0 +1,160 @@
+package com.blackduck.integration.rest.cache
+
+import com.blackduck.integration.exception.IntegrationException
+import com.blackduck.integration.rest.LoopbackResponse
+import com.blackduck.integration.rest.client.IntHttpClient
+import com.blackduck.integration.rest.request.Request
+import com.blackduck.integration.rest.response.BufferedResponse
+import com.blackduck.integration.rest.response.DefaultResponse
+import com.blackduck.integration.rest.response.Response
+import com.blackduck.integration.rest.transport.HttpTransport
+import org.apache.commons.io.FileUtils
+import org.apache.http.HttpHeaders
+import org.apache.http.client.methods.HttpUriRequest
+import org.apache.http.protocol.HttpContext
+import org.junit.jupiter.api.Test
+
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.nio.file.Path
+
+import static com.blackduck.integration.rest.IntHttpClientFixture.HTTP_URL
+import static com.blackduck.integration.rest.IntHttpClientFixture.createClient
+import static com.blackduck.integration.rest.IntHttpClientFixture.get
+import static org.junit.jupiter.api.Assertions.assertThrows
+
+class HttpCacheTest {
+    @Test
+    void testRevalidatesStaleEntries() {
+        List<String> sentIfNoneMatch = []
+        IntHttpClient restConnection = createClient({ HttpUriRequest request, HttpContext httpContext ->
+            String ifNoneMatch = request.getFirstHeader(HttpHeaders.IF_NONE_MATCH)?.getValue()
+            sentIfNoneMatch.add(ifNoneMatch)
+            LoopbackResponse loopbackResponse = null == ifNoneMatch ? new LoopbackResponse('cached body') : new LoopbackResponse(304, '')
+            loopbackResponse.addHeader(HttpHeaders.ETAG, '"v1"')
+            loopbackResponse.addHeader(HttpHeaders.CACHE_CONTROL, null == ifNoneMatch ? 'max-age=0' : 'max-age=60')
+            new DefaultResponse(request, loopbackResponse)
+        } as HttpTransport)
+        HttpCache httpCache = new HttpCache(HttpCacheConfig.DEFAULT)
+        restConnection.setHttpCache(httpCache)
+
+        try {
+            3.times {
+                restConnection.execute(get()).withCloseable { Response response ->
+                    assert 200 == response.getStatusCode()
+                    assert 'cached body' == response.getContentString()
+                    assert !response.getRequest().containsHeader(HttpHeaders.IF_NONE_MATCH)
+                }
+            }
+
+            assert [null, '"v1"'] == sentIfNoneMatch
+            HttpCacheMetrics metrics = httpCache.getMetrics()
+            assert 1 == metrics.getMissCount()
+            assert 1 == metrics.getRevalidationCount()
+            assert 1 == metrics.getHitCount()
+        } finally {
+            restConnection.close()
+        }
+    }
+
+    @Test
+    void testMappedFileCacheStoreKeepsEntriesAcrossRuns() {
+        Path cacheDirectory = Files.createTempDirectory('mapped-cache')
+        int sentCount = 0
+        HttpTransport transport = { HttpUriRequest request, HttpContext httpContext ->
+            sentCount++
+            LoopbackResponse loopbackResponse = new LoopbackResponse('stored body')
+            loopbackResponse.addHeader(HttpHeaders.ETAG, '"v1"')
+            loopbackResponse.addHeader(HttpHeaders.CACHE_CONTROL, 'max-age=60')
+            new DefaultResponse(request, loopbackResponse)
+        } as HttpTransport
+
+        try {
+            2.times { int run ->
+                MappedFileCacheStore cacheStore = new MappedFileCacheStore(cacheDirectory, 4096, 2)
+                IntHttpClient restConnection = createClient(transport)
+                try {
+                    assertThrows(IntegrationException.class, { -> new MappedFileCacheStore(cacheDirectory, 4096, 2) })
+                    restConnection.setHttpCache(new HttpCache(HttpCacheConfig.DEFAULT, cacheStore))
+                    // a new token on every run must not keep the stored response from being found
+                    Request request = new Request.Builder(HTTP_URL).addHeader(HttpHeaders.AUTHORIZATION, "Bearer token-${run}".toString()).build()
+                    restConnection.execute(request).withCloseable { Response response ->
+                        assert 200 == response.getStatusCode()
+                        assert 'stored body' == response.getContentString()
+                        assert '"v1"' == response.getHeaderValue(HttpHeaders.ETAG)
+                    }
+                } finally {
+                    restConnection.close()
+                    cacheStore.close()
+                }
+            }
+            assert 1 == sentCount
+
+            MappedFileCacheStore cacheStore = new MappedFileCacheStore(cacheDirectory, 4096, 2)
+            try {
+                cacheStore.clear()
+                assert 0 == cacheStore.size()
+                cacheStore.put('a', createEntry('body'))
+                assert ['segment-0000000000000000001.cache'] == listSegments(cacheDirectory)
+            } finally {
+                cacheStore.close()
+            }
+        } finally {
+            FileUtils.deleteDirectory(cacheDirectory.toFile())
+        }
+    }
+
+    @Test
+    void testMappedFileCacheStoreRecoversFromACorruptRecord() {
+        Path cacheDirectory = Files.createTempDirectory('mapped-cache')
+        try {
+            MappedFileCacheStore cacheStore = new MappedFileCacheStore(cacheDirectory, 4096, 2)
+            try {
+                cacheStore.put('a', createEntry('first body'))
+                cacheStore.put('b', createEntry('second body'))
+            } finally {
+                cacheStore.close()
+            }
+
+            // a record header is the magic number, the payload length and the checksum, and the payload starts with the 32 byte key hash
+            File segmentFile = cacheDirectory.resolve(listSegments(cacheDirectory).first()).toFile()
+            new RandomAccessFile(segmentFile, 'rw').withCloseable { RandomAccessFile segment ->
+                segment.seek(4)
+                long secondRecordPosition = 12 + segment.readInt()
+                segment.seek(secondRecordPosition + 12 + 40)
+                int corruptByte = segment.read() ^ 0xFF
+                segment.seek(secondRecordPosition + 12 + 40)
+                segment.write(corruptByte)
+            }
+
+            cacheStore = new MappedFileCacheStore(cacheDirectory, 4096, 2)
+            try {
+                assert 'first body' == cacheStore.get('a').get().getResponse().getContentString()
+                assert !cacheStore.get('b').isPresent()
+                cacheStore.put('c', createEntry('third body'))
+            } finally {
+                cacheStore.close()
+            }
+
+            cacheStore = new MappedFileCacheStore(cacheDirectory, 4096, 2)
+            try {
+                assert 2 == cacheStore.size()
+                assert 'first body' == cacheStore.get('a').get().getResponse().getContentString()
+                assert 'third body' == cacheStore.get('c').get().getResponse().getContentString()
+            } finally {
+                cacheStore.close()
+            }
+        } finally {
+            FileUtils.deleteDirectory(cacheDirectory.toFile())
+        }
+    }
+
+    private CacheEntry createEntry(String body) {
+        return new CacheEntry(BufferedResponse.create(null, 200, 'OK', [:], body.getBytes(StandardCharsets.UTF_8), null, null), 0L, [:])
+    }
+
+    private List<String> listSegments(Path cacheDirectory) {
+        return cacheDirectory.toFile().list().findAll { it.startsWith('segment-') }
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.blackduck.integration.rest.circuitbreaker
+
+import com.blackduck.integration.rest.LoopbackResponse
+import com.blackduck.integration.rest.client.IntHttpClient
+import com.blackduck.integration.rest.exception.CircuitBreakerOpenException
+import com.blackduck.integration.rest.response.DefaultResponse
+import com.blackduck.integration.rest.response.Response
+import com.blackduck.integration.rest.transport.HttpTransport
+import org.apache.http.HttpHost
+import org.apache.http.client.methods.HttpUriRequest
+import org.apache.http.protocol.HttpContext
+import org.junit.jupiter.api.Test
+
+import static com.blackduck.integration.rest.IntHttpClientFixture.HTTP_URL
+import static com.blackduck.integration.rest.IntHttpClientFixture.createClient
+import static com.blackduck.integration.rest.IntHttpClientFixture.get
+import static org.junit.jupiter.api.Assertions.assertThrows
+
+class CircuitBreakerRegistryTest {
+    private static final long OPEN_DURATION_IN_MILLISECONDS = 1000L
+
+    private long nowNanos = 0L
+    private final List<CircuitState> transitions = []
+
+    @Test
+    void testOpenCircuitStopsRequestsBeforeTheyAreSent() {
+        int sentCount = 0
+        IntHttpClient restConnection = createClient({ HttpUriRequest request, HttpContext httpContext ->
+            sentCount++
+            new DefaultResponse(request, new LoopbackResponse(503, 'unavailable'))
+        } as HttpTransport)
+        CircuitBreakerRegistry circuitBreakerRegistry = createRegistry(1)
+        restConnection.setCircuitBreakerRegistry(circuitBreakerRegistry)
+
+        try {
+            2.times {
+                restConnection.execute(get()).withCloseable { Response response ->
+                    assert 503 == response.getStatusCode()
+                }
+            }
+            CircuitBreakerOpenException e = assertThrows(CircuitBreakerOpenException.class, { restConnection.execute(get()) })
+            assert e.getRemainingOpenDurationInMilliseconds() > 0
+
+            assert 2 == sentCount
+            assert [CircuitState.OPEN] == transitions
+            assert CircuitState.OPEN == circuitBreakerRegistry.getState(HTTP_URL.uri())
+        } finally {
+            restConnection.close()
+        }
+    }
+
+    @Test
+    void testHalfOpenCircuitClosesOnceEveryTrialCallSucceeds() {
+        CircuitBreakerRegistry circuitBreakerRegistry = createRegistry(2)
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.getCircuitBreaker(HTTP_URL.uri())
+        open(circuitBreaker)
+
+        nowNanos += OPEN_DURATION_IN_MILLISECONDS * 1_000_000L
+        2.times {
+            circuitBreaker.acquirePermission()
+        }
+        assert CircuitState.HALF_OPEN == circuitBreakerRegistry.getState(HTTP_URL.uri())
+        CircuitBreakerOpenException e = assertThrows(CircuitBreakerOpenException.class, { circuitBreaker.acquirePermission() })
+        assert 0 == e.getRemainingOpenDurationInMilliseconds()
+
+        circuitBreaker.onSuccess()
+        assert CircuitState.HALF_OPEN == circuitBreakerRegistry.getState(HTTP_URL.uri())
+        circuitBreaker.onSuccess()
+        assert CircuitState.CLOSED == circuitBreakerRegistry.getState(HTTP_URL.uri())
+        circuitBreaker.acquirePermission()
+        assert [CircuitState.OPEN, CircuitState.HALF_OPEN, CircuitState.CLOSED] == transitions
+    }
+
+    @Test
+    void testHalfOpenCircuitOpensAgainWhenATrialCallFails() {
+        CircuitBreakerRegistry circuitBreakerRegistry = createRegistry(2)
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.getCircuitBreaker(HTTP_URL.uri())
+        open(circuitBreaker)
+
+        nowNanos += OPEN_DURATION_IN_MILLISECONDS * 1_000_000L
+        circuitBreaker.acquirePermission()
+        circuitBreaker.onFailure()
+
+        assert CircuitState.OPEN == circuitBreakerRegistry.getState(HTTP_URL.uri())
+        CircuitBreakerOpenException e = assertThrows(CircuitBreakerOpenException.class, { circuitBreaker.acquirePermission() })
+        assert OPEN_DURATION_IN_MILLISECONDS == e.getRemainingOpenDurationInMilliseconds()
+        assert [CircuitState.OPEN, CircuitState.HALF_OPEN, CircuitState.OPEN] == transitions
+    }
+
+    private CircuitBreakerRegistry createRegistry(int permittedCallsInHalfOpenState) {
+        CircuitBreakerConfigBuilder circuitBreakerConfigBuilder = CircuitBreakerConfig.newBuilder()
+        circuitBreakerConfigBuilder.setSlidingWindowSize(4)
+        circuitBreakerConfigBuilder.setMinimumNumberOfCalls(2)
+        circuitBreakerConfigBuilder.setOpenDurationInMilliseconds(OPEN_DURATION_IN_MILLISECONDS)
+        circuitBreakerConfigBuilder.setPermittedCallsInHalfOpenState(permittedCallsInHalfOpenState)
+        CircuitBreakerRegistry circuitBreakerRegistry = new CircuitBreakerRegistry(circuitBreakerConfigBuilder.build(), { nowNanos })
+        circuitBreakerRegistry.addStateListener({ HttpHost host, CircuitState fromState, CircuitState toState -> transitions.add(toState) } as CircuitStateListener)
+        return circuitBreakerRegistry
+    }
+
+    private void open(CircuitBreaker circuitBreaker) {
+        2.times {
+            circuitBreaker.acquirePermission()
+            circuitBreaker.onFailure()
+        }
+        assertThrows(CircuitBreakerOpenException.class, { circuitBreaker.acquirePermission() })
+    }
+
+}
@@ -5,12 +5,21 @@ import static org.mockito.ArgumentMatchers.any;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.http.ProtocolVersion;
 import org.apache.http.StatusLine;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.client.CloseableHttpClient;
@@ -29,6 +38,7 @@ import com.blackduck.integration.rest.RestConstants;
 import com.blackduck.integration.rest.proxy.ProxyInfo;
 import com.blackduck.integration.rest.response.DefaultResponse;
 import com.blackduck.integration.rest.response.Response;
+import com.blackduck.integration.rest.transport.HttpTransport;
 import com.google.gson.Gson;
 
 class AuthenticatingIntHttpClientTest {
@@ -137,4 +147,137 @@ class AuthenticatingIntHttpClientTest {
         final Response failedResponse = authenticatingIntHttpClient.execute(request);
         Assertions.assertEquals(RestConstants.OK_200, failedResponse.getStatusCode(), "Expected an authenticated but expired request to be successful because the authentication should have been reattempted.");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testConcurrentRequestsAuthenticateOnce() throws Exception {
+        int requestCount = 8;
+        AtomicInteger authenticationCount = new AtomicInteger();
+        CountDownLatch allUnauthenticated = new CountDownLatch(requestCount);
+        IntLogger logger = new Slf4jIntLogger(LoggerFactory.getLogger(this.getClass()));
+        AuthenticatingIntHttpClient tokenClient = new AuthenticatingIntHttpClient(logger, gson, 10, false, ProxyInfo.NO_PROXY_INFO) {
+            @Override
+            public boolean isAlreadyAuthenticated(HttpUriRequest request) {
+                boolean authenticated = request.containsHeader("Authorization");
+                if (!authenticated) {
+                    allUnauthenticated.countDown();
+                }
+                return authenticated;
+            }
+
+            @Override
+            public Response attemptAuthentication() throws IntegrationException {
+                authenticationCount.incrementAndGet();
+                try {
+                    // hold the authentication until every request has found itself unauthenticated and is waiting on it
+                    allUnauthenticated.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IntegrationException("Interrupted", e);
+                }
+                return new DefaultResponse(null, successfulResponse);
+            }
+
+            @Override
+            protected void completeAuthenticationRequest(HttpUriRequest request, Response response) {
+                addCommonRequestHeader("Authorization", "Bearer token");
+                request.setHeader("Authorization", "Bearer token");
+            }
+        };
+        tokenClient.setTransport(new HttpTransport() {
+            @Override
+            public Response execute(HttpUriRequest request, HttpContext httpContext) {
+                return new DefaultResponse(request, request.containsHeader("Authorization") ? successfulResponse : failureResponse);
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+
+        ExecutorService executorService = Executors.newFixedThreadPool(requestCount);
+        try {
+            List<Future<Integer>> statusCodes = new ArrayList<>();
+            for (int i = 0; i < requestCount; i++) {
+                statusCodes.add(executorService.submit(() -> {
+                    try (Response response = tokenClient.execute(new HttpGet("https://www.blackduck.com/api"))) {
+                        return response.getStatusCode();
+                    }
+                }));
+            }
+            for (Future<Integer> statusCode : statusCodes) {
+                Assertions.assertEquals(RestConstants.OK_200, (int) statusCode.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executorService.shutdownNow();
+            tokenClient.close();
+        }
+        Assertions.assertEquals(1, authenticationCount.get(), "Expected the requests waiting on an authentication to reuse it.");
+    }
+
+    @Test
+    void testConcurrentRejectionsOfTheSameCredentialsAuthenticateOnce() throws Exception {
+        int requestCount = 8;
+        AtomicInteger authenticationCount = new AtomicInteger();
+        CountDownLatch allRejected = new CountDownLatch(requestCount);
+        IntLogger logger = new Slf4jIntLogger(LoggerFactory.getLogger(this.getClass()));
+        AuthenticatingIntHttpClient tokenClient = new AuthenticatingIntHttpClient(logger, gson, 10, false, ProxyInfo.NO_PROXY_INFO) {
+            @Override
+            public boolean isAlreadyAuthenticated(HttpUriRequest request) {
+                return request.containsHeader("Authorization");
+            }
+
+            @Override
+            public Response attemptAuthentication() {
+                authenticationCount.incrementAndGet();
+                return new DefaultResponse(null, successfulResponse);
+            }
+
+            @Override
+            protected void completeAuthenticationRequest(HttpUriRequest request, Response response) {
+                addCommonRequestHeader("Authorization", "Bearer fresh");
+                request.setHeader("Authorization", "Bearer fresh");
+            }
+        };
+        tokenClient.addCommonRequestHeader("Authorization", "Bearer stale");
+        tokenClient.setTransport(new HttpTransport() {
+            @Override
+            public Response execute(HttpUriRequest request, HttpContext httpContext) throws IOException {
+                if ("Bearer fresh".equals(request.getFirstHeader("Authorization").getValue())) {
+                    return new DefaultResponse(request, successfulResponse);
+                }
+                allRejected.countDown();
+                try {
+                    // hold the rejection until every request has been sent with the stale token
+                    allRejected.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted", e);
+                }
+                return new DefaultResponse(request, failureResponse);
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+
+        ExecutorService executorService = Executors.newFixedThreadPool(requestCount);
+        try {
+            List<Future<Integer>> statusCodes = new ArrayList<>();
+            for (int i = 0; i < requestCount; i++) {
+                statusCodes.add(executorService.submit(() -> {
+                    try (Response response = tokenClient.execute(new HttpGet("https://www.blackduck.com/api"))) {
+                        return response.getStatusCode();
+                    }
+                }));
+            }
+            for (Future<Integer> statusCode : statusCodes) {
+                Assertions.assertEquals(RestConstants.OK_200, (int) statusCode.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executorService.shutdownNow();
+            tokenClient.close();
+        }
+        Assertions.assertEquals(1, authenticationCount.get(), "Expected the requests rejected with the same credentials to reuse a single authentication.");
+    }
+}
@@ -0,0 +1,100 @@
+package com.blackduck.integration.rest.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.blackduck.integration.exception.IntegrationException;
+import com.blackduck.integration.rest.pool.ConnectionPoolConfig;
+import com.blackduck.integration.rest.pool.ConnectionPoolConfigBuilder;
+
+public class ConnectionPermitsTest {
+    private static final URI FIRST_HOST = URI.create("https://first.blackduck.com/api");
+    private static final URI SECOND_HOST = URI.create("https://second.blackduck.com/api");
+
+    @Test
+    public void testRouteAndTotalLimits() throws IntegrationException {
+        ConnectionPermits connectionPermits = new ConnectionPermits(createConfig(2, 3));
+        Runnable firstRelease = connectionPermits.acquire(FIRST_HOST, 0L);
+        connectionPermits.acquire(FIRST_HOST, 0L);
+
+        IntegrationException routeTimeout = assertThrows(IntegrationException.class, () -> connectionPermits.acquire(FIRST_HOST, 10L));
+        assertEquals("Timeout waiting for a connection to first.blackduck.com", routeTimeout.getMessage());
+
+        connectionPermits.acquire(SECOND_HOST, 0L);
+        IntegrationException totalTimeout = assertThrows(IntegrationException.class, () -> connectionPermits.acquire(SECOND_HOST, 10L));
+        assertEquals("Timeout waiting for a connection from the pool", totalTimeout.getMessage());
+
+        // releasing twice must not hand out a permit that was never taken
+        firstRelease.run();
+        firstRelease.run();
+        connectionPermits.acquire(SECOND_HOST, 0L);
+        assertThrows(IntegrationException.class, () -> connectionPermits.acquire(FIRST_HOST, 0L));
+    }
+
+    @Test
+    public void testConcurrentRequestsStayWithinTheLimits() throws Exception {
+        int maxPerRoute = 2;
+        int maxTotal = 3;
+        ConnectionPermits connectionPermits = new ConnectionPermits(createConfig(maxPerRoute, maxTotal));
+        AtomicInteger firstHostInUse = new AtomicInteger();
+        AtomicInteger totalInUse = new AtomicInteger();
+        AtomicInteger maxFirstHostInUse = new AtomicInteger();
+        AtomicInteger maxTotalInUse = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                URI uri = i % 2 == 0 ? FIRST_HOST : SECOND_HOST;
+                workers.add(executorService.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < 50; j++) {
+                        Runnable release = connectionPermits.acquire(uri, 5000L);
+                        try {
+                            maxTotalInUse.accumulateAndGet(totalInUse.incrementAndGet(), Math::max);
+                            if (FIRST_HOST == uri) {
+                                maxFirstHostInUse.accumulateAndGet(firstHostInUse.incrementAndGet(), Math::max);
+                                firstHostInUse.decrementAndGet();
+                            }
+                            totalInUse.decrementAndGet();
+                        } finally {
+                            release.run();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        assertTrue(maxFirstHostInUse.get() <= maxPerRoute);
+        assertTrue(maxTotalInUse.get() <= maxTotal);
+    }
+
+    private ConnectionPoolConfig createConfig(int maxConnectionsPerRoute, int maxTotalConnections) {
+        ConnectionPoolConfigBuilder connectionPoolConfigBuilder = ConnectionPoolConfig.newBuilder();
+        connectionPoolConfigBuilder.setMaxConnectionsPerRoute(maxConnectionsPerRoute);
+        connectionPoolConfigBuilder.setMaxTotalConnections(maxTotalConnections);
+        return connectionPoolConfigBuilder.build();
+    }
+
+}
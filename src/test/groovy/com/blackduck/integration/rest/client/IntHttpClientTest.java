@@ -1,22 +1,39 @@
 package com.blackduck.integration.rest.client;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.IOException;
+import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.http.client.CredentialsProvider;
 import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.protocol.HttpContext;
 import org.junit.jupiter.api.Test;
 
 import com.blackduck.integration.exception.IntegrationException;
 import com.blackduck.integration.log.BufferedIntLogger;
 import com.blackduck.integration.log.IntLogger;
 import com.blackduck.integration.rest.HttpUrl;
+import com.blackduck.integration.rest.LoopbackResponse;
+import com.blackduck.integration.rest.pool.ConnectionPoolConfig;
+import com.blackduck.integration.rest.pool.ConnectionPoolConfigBuilder;
 import com.blackduck.integration.rest.proxy.ProxyInfo;
 import com.blackduck.integration.rest.request.Request;
+import com.blackduck.integration.rest.response.DefaultResponse;
+import com.blackduck.integration.rest.response.Response;
+import com.blackduck.integration.rest.transport.HttpTransport;
 import com.google.gson.Gson;
 
 public class IntHttpClientTest {
@@ -49,4 +66,94 @@ public class IntHttpClientTest {
         }
     }
 
+    @Test
+    public void testClosingTheResponseReleasesItsPermits() throws IOException, IntegrationException {
+        ConnectionPoolConfigBuilder connectionPoolConfigBuilder = ConnectionPoolConfig.newBuilder();
+        connectionPoolConfigBuilder.setMaxTotalConnections(1);
+        IntHttpClient client = new IntHttpClient(new BufferedIntLogger(), gson, 1, false, ProxyInfo.NO_PROXY_INFO, connectionPoolConfigBuilder.build());
+        try {
+            client.setTransport(new LoopbackTransport());
+            Request request = new Request.Builder(new HttpUrl("https://www.blackduck.com/api")).build();
+
+            Response response = client.execute(request);
+            IntegrationException e = assertThrows(IntegrationException.class, () -> client.execute(request));
+            assertEquals("Timeout waiting for a connection from the pool", e.getMessage());
+
+            response.close();
+            try (Response nextResponse = client.execute(request)) {
+                assertEquals(200, nextResponse.getStatusCode());
+            }
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void testUseVirtualThreads() throws Exception {
+        String javaVersion = System.getProperty("java.specification.version");
+        boolean java21OrNewer = !javaVersion.startsWith("1.") && Integer.parseInt(javaVersion) >= 21;
+        assertEquals(java21OrNewer, VirtualThreadExecutors.isSupported());
+
+        Optional<ExecutorService> virtualThreadExecutor = VirtualThreadExecutors.newVirtualThreadPerTaskExecutor();
+        assertEquals(java21OrNewer, virtualThreadExecutor.isPresent());
+        if (virtualThreadExecutor.isPresent()) {
+            try {
+                assertTrue(virtualThreadExecutor.get().submit(IntHttpClientTest::isVirtualThread).get(5, TimeUnit.SECONDS));
+            } finally {
+                virtualThreadExecutor.get().shutdown();
+            }
+        }
+
+        IntHttpClient client = new IntHttpClient(new BufferedIntLogger(), gson, 30, false, ProxyInfo.NO_PROXY_INFO);
+        try {
+            assertEquals(java21OrNewer, client.useVirtualThreads());
+            CompletableFuture<Boolean> ranOnVirtualThread = new CompletableFuture<>();
+            client.setTransport(new LoopbackTransport() {
+                @Override
+                public Response execute(HttpUriRequest request, HttpContext httpContext) {
+                    ranOnVirtualThread.complete(isVirtualThread());
+                    return super.execute(request, httpContext);
+                }
+            });
+            client.executeAsync(new Request.Builder(new HttpUrl("https://www.blackduck.com/api")).build()).get(5, TimeUnit.SECONDS).close();
+            assertEquals(java21OrNewer, ranOnVirtualThread.get());
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void testNullCommonRequestHeadersAreRejected() {
+        IntHttpClient client = new IntHttpClient(new BufferedIntLogger(), gson, 30, false, ProxyInfo.NO_PROXY_INFO);
+        assertThrows(IllegalArgumentException.class, () -> client.addCommonRequestHeader("Header", null));
+        assertThrows(IllegalArgumentException.class, () -> client.addCommonRequestHeader(null, "value"));
+
+        Map<String, String> headers = new HashMap<>();
+        headers.put("Valid", "value");
+        headers.put("Invalid", null);
+        assertThrows(IllegalArgumentException.class, () -> client.addCommonRequestHeaders(headers));
+        assertFalse(client.getCommonRequestHeaders().containsKey("Valid"));
+    }
+
+    private static boolean isVirtualThread() {
+        try {
+            Method isVirtual = Thread.class.getMethod("isVirtual");
+            return (Boolean) isVirtual.invoke(Thread.currentThread());
+        } catch (ReflectiveOperationException e) {
+            return false;
+        }
+    }
+
+    private static class LoopbackTransport implements HttpTransport {
+        @Override
+        public Response execute(HttpUriRequest request, HttpContext httpContext) {
+            return new DefaultResponse(request, new LoopbackResponse());
+        }
+
+        @Override
+        public void close() {
+        }
+
+    }
+
 }
@@ -0,0 +1,194 @@
+package com.blackduck.integration.rest.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.http.HttpEntity;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.entity.InputStreamEntity;
+import org.apache.http.entity.StringEntity;
+import org.junit.jupiter.api.Test;
+
+import com.blackduck.integration.rest.LoopbackResponse;
+import com.blackduck.integration.rest.response.BufferedResponse;
+import com.blackduck.integration.rest.response.DefaultResponse;
+import com.blackduck.integration.rest.response.Response;
+
+public class SingleFlightTest {
+    private static final String URL = "https://www.blackduck.com/api/projects";
+
+    @Test
+    public void testFollowersShareOneCall() throws Exception {
+        int followerCount = 3;
+        CountDownLatch leaderSent = new CountDownLatch(1);
+        CountDownLatch followersJoined = new CountDownLatch(followerCount);
+        CountDownLatch responseReleased = new CountDownLatch(1);
+        AtomicInteger sentCount = new AtomicInteger();
+        SingleFlight singleFlight = new SingleFlight(followersJoined::countDown);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(followerCount + 1);
+        try {
+            List<Future<String>> contents = new ArrayList<>();
+            contents.add(executorService.submit(() -> executeAndRead(singleFlight, () -> {
+                sentCount.incrementAndGet();
+                leaderSent.countDown();
+                await(responseReleased);
+                return createResponse(new StringEntity("shared body", StandardCharsets.UTF_8));
+            })));
+            assertTrue(leaderSent.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < followerCount; i++) {
+                contents.add(executorService.submit(() -> executeAndRead(singleFlight, () -> {
+                    sentCount.incrementAndGet();
+                    return createResponse(new StringEntity("own body", StandardCharsets.UTF_8));
+                })));
+            }
+            assertTrue(followersJoined.await(5, TimeUnit.SECONDS));
+            responseReleased.countDown();
+
+            for (Future<String> content : contents) {
+                assertEquals("shared body", content.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        assertEquals(1, sentCount.get());
+    }
+
+    @Test
+    public void testResponseNobodyWaitsForIsNotBuffered() throws Exception {
+        Response sentResponse = createResponse(new StringEntity("own body", StandardCharsets.UTF_8));
+        try (Response response = new SingleFlight().execute(new HttpGet(URL), () -> sentResponse)) {
+            assertSame(sentResponse, response);
+        }
+    }
+
+    @Test
+    public void testResponseTooLongToShareIsPassedOnWhole() throws Exception {
+        long contentLength = SingleFlight.MAX_SHARED_CONTENT_LENGTH + 10;
+        CountDownLatch leaderSent = new CountDownLatch(1);
+        CountDownLatch followerJoined = new CountDownLatch(1);
+        AtomicInteger sentCount = new AtomicInteger();
+        SingleFlight singleFlight = new SingleFlight(followerJoined::countDown);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            Future<Long> leaderLength = executorService.submit(() -> {
+                try (Response response = singleFlight.execute(new HttpGet(URL), () -> {
+                    sentCount.incrementAndGet();
+                    leaderSent.countDown();
+                    await(followerJoined);
+                    // no Content-Length, so the limit is only found by reading
+                    return createResponse(new InputStreamEntity(new ZeroInputStream(contentLength), -1));
+                })) {
+                    assertFalse(response instanceof BufferedResponse);
+                    try (InputStream content = response.getContent()) {
+                        return IOUtils.consume(content);
+                    }
+                }
+            });
+            assertTrue(leaderSent.await(5, TimeUnit.SECONDS));
+            Future<String> followerContent = executorService.submit(() -> executeAndRead(singleFlight, () -> {
+                sentCount.incrementAndGet();
+                return createResponse(new StringEntity("own body", StandardCharsets.UTF_8));
+            }));
+
+            assertEquals(contentLength, (long) leaderLength.get(10, TimeUnit.SECONDS));
+            assertEquals("own body", followerContent.get(5, TimeUnit.SECONDS));
+        } finally {
+            executorService.shutdownNow();
+        }
+        assertEquals(2, sentCount.get());
+    }
+
+    @Test
+    public void testSharedResponseKeepsItsActualResponse() throws Exception {
+        Response response = BufferedResponse.bufferUpTo(createResponse(new StringEntity("shared body", StandardCharsets.UTF_8)), 1024);
+        assertTrue(response instanceof BufferedResponse);
+        assertNotNull(response.getActualResponse());
+        assertEquals(200, response.getActualResponse().getStatusLine().getStatusCode());
+    }
+
+    @Test
+    public void testBufferedResponseKeepsRepeatedHeaders() throws Exception {
+        List<Response> bufferedResponses = new ArrayList<>();
+        bufferedResponses.add(BufferedResponse.buffer(createResponseWithRepeatedHeader()));
+        bufferedResponses.add(BufferedResponse.bufferUpTo(createResponseWithRepeatedHeader(), 1024));
+        bufferedResponses.add(((BufferedResponse) bufferedResponses.get(0)).withRequest(new HttpGet(URL)));
+        for (Response bufferedResponse : bufferedResponses) {
+            assertEquals(2, bufferedResponse.getActualResponse().getHeaders("Set-Cookie").length);
+        }
+    }
+
+    private String executeAndRead(SingleFlight singleFlight, SingleFlight.Call call) throws Exception {
+        try (Response response = singleFlight.execute(new HttpGet(URL), call)) {
+            return response.getContentString();
+        }
+    }
+
+    private static void await(CountDownLatch latch) throws InterruptedIOException {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+    }
+
+    private Response createResponseWithRepeatedHeader() {
+        LoopbackResponse loopbackResponse = new LoopbackResponse("body");
+        loopbackResponse.addHeader("Set-Cookie", "first=1");
+        loopbackResponse.addHeader("Set-Cookie", "second=2");
+        return new DefaultResponse(new HttpGet(URL), loopbackResponse);
+    }
+
+    private Response createResponse(HttpEntity entity) {
+        LoopbackResponse loopbackResponse = new LoopbackResponse();
+        loopbackResponse.setEntity(entity);
+        return new DefaultResponse(new HttpGet(URL), loopbackResponse);
+    }
+
+    private static class ZeroInputStream extends InputStream {
+        private long remaining;
+
+        private ZeroInputStream(long length) {
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() {
+            if (remaining <= 0) {
+                return -1;
+            }
+            remaining--;
+            return 0;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int count = (int) Math.min(length, remaining);
+            remaining -= count;
+            return count;
+        }
+
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.blackduck.integration.rest.compression
+
+import com.blackduck.integration.rest.HttpMethod
+import com.blackduck.integration.rest.LoopbackResponse
+import com.blackduck.integration.rest.body.StringBodyContent
+import com.blackduck.integration.rest.client.IntHttpClient
+import com.blackduck.integration.rest.request.Request
+import com.blackduck.integration.rest.response.DefaultResponse
+import com.blackduck.integration.rest.response.Response
+import com.blackduck.integration.rest.transport.HttpTransport
+import org.apache.http.HttpEntity
+import org.apache.http.HttpEntityEnclosingRequest
+import org.apache.http.client.methods.HttpPost
+import org.apache.http.client.methods.HttpUriRequest
+import org.apache.http.entity.InputStreamEntity
+import org.apache.http.protocol.BasicHttpContext
+import org.apache.http.protocol.HttpContext
+import org.junit.jupiter.api.Test
+
+import java.nio.charset.StandardCharsets
+import java.util.zip.Deflater
+import java.util.zip.GZIPInputStream
+
+import static com.blackduck.integration.rest.IntHttpClientFixture.HTTP_URL
+import static com.blackduck.integration.rest.IntHttpClientFixture.LOGGER
+import static com.blackduck.integration.rest.IntHttpClientFixture.createClient
+
+class CompressingHttpTransportTest {
+    private static final String LARGE_BODY = '{"values":[' + (1..100).join(',') + ']}'
+
+    private boolean acceptGzip = true
+    private final List<String> receivedEncodings = []
+    private final List<String> receivedBodies = []
+
+    @Test
+    void testSendsUncompressedOnceCompressionIsRejected() {
+        IntHttpClient restConnection = createClient(createServer())
+        restConnection.setRequestCompressionPolicy(createRequestCompressionPolicy())
+
+        try {
+            [LARGE_BODY, '{}', LARGE_BODY, LARGE_BODY].eachWithIndex { String body, int index ->
+                acceptGzip = index < 2
+                Request request = new Request.Builder(HTTP_URL).method(HttpMethod.POST).bodyContent(StringBodyContent.json(body)).build()
+                restConnection.execute(request).withCloseable { Response response ->
+                    assert 200 == response.getStatusCode()
+                }
+            }
+
+            assert ['gzip', null, 'gzip', null, null] == receivedEncodings
+            assert [LARGE_BODY, '{}', LARGE_BODY, LARGE_BODY] == receivedBodies
+        } finally {
+            restConnection.close()
+        }
+    }
+
+    @Test
+    void testReturnsTheRejectionWhenTheBodyCanNotBeSentAgain() {
+        acceptGzip = false
+        CompressingHttpTransport compressingHttpTransport = new CompressingHttpTransport(createServer(), createRequestCompressionPolicy(), LOGGER)
+
+        try {
+            compressingHttpTransport.execute(createStreamedPost(), new BasicHttpContext()).withCloseable { Response response ->
+                assert 415 == response.getStatusCode()
+            }
+            assert ['gzip'] == receivedEncodings
+            assert ['https://www.blackduck.com:443'] == compressingHttpTransport.getHostsRejectingCompression()*.toURI()
+
+            compressingHttpTransport.execute(createStreamedPost(), new BasicHttpContext()).withCloseable { Response response ->
+                assert 200 == response.getStatusCode()
+            }
+            assert ['gzip', null] == receivedEncodings
+            assert [LARGE_BODY] == receivedBodies
+        } finally {
+            compressingHttpTransport.close()
+        }
+    }
+
+    private HttpTransport createServer() {
+        return { HttpUriRequest request, HttpContext httpContext ->
+            HttpEntity entity = ((HttpEntityEnclosingRequest) request).getEntity()
+            String contentEncoding = entity.getContentEncoding()?.getValue()
+            receivedEncodings.add(contentEncoding)
+            if ('gzip' == contentEncoding && !acceptGzip) {
+                return new DefaultResponse(request, new LoopbackResponse(415, ''))
+            }
+            ByteArrayOutputStream sentBody = new ByteArrayOutputStream()
+            entity.writeTo(sentBody)
+            InputStream receivedBody = new ByteArrayInputStream(sentBody.toByteArray())
+            receivedBodies.add(('gzip' == contentEncoding ? new GZIPInputStream(receivedBody) : receivedBody).getText('UTF-8'))
+            new DefaultResponse(request, new LoopbackResponse('accepted'))
+        } as HttpTransport
+    }
+
+    private RequestCompressionPolicy createRequestCompressionPolicy() {
+        RequestCompressionPolicyBuilder requestCompressionPolicyBuilder = RequestCompressionPolicy.newBuilder()
+        requestCompressionPolicyBuilder.setMinimumSizeInBytes(100)
+        requestCompressionPolicyBuilder.setCompressionLevel(Deflater.BEST_SPEED)
+        return requestCompressionPolicyBuilder.build()
+    }
+
+    private HttpPost createStreamedPost() {
+        HttpPost post = new HttpPost(HTTP_URL.uri())
+        post.setEntity(new InputStreamEntity(new ByteArrayInputStream(LARGE_BODY.getBytes(StandardCharsets.UTF_8))))
+        return post
+    }
+
+}
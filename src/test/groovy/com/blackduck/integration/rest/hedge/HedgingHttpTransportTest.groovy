@@ -0,0 +1,167 @@
+package com.blackduck.integration.rest.hedge
+
+import com.blackduck.integration.rest.LoopbackResponse
+import com.blackduck.integration.rest.client.AuthenticatingIntHttpClient
+import com.blackduck.integration.rest.client.IntHttpClient
+import com.blackduck.integration.rest.proxy.ProxyInfo
+import com.blackduck.integration.rest.response.DefaultResponse
+import com.blackduck.integration.rest.response.Response
+import com.blackduck.integration.rest.transport.HttpTransport
+import org.apache.http.HttpHeaders
+import org.apache.http.client.methods.HttpGet
+import org.apache.http.client.methods.HttpRequestBase
+import org.apache.http.client.methods.HttpUriRequest
+import org.apache.http.concurrent.Cancellable
+import org.apache.http.protocol.BasicHttpContext
+import org.apache.http.protocol.HttpContext
+import org.junit.jupiter.api.Test
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+import static com.blackduck.integration.rest.IntHttpClientFixture.CONNECTION_TIMEOUT
+import static com.blackduck.integration.rest.IntHttpClientFixture.GSON
+import static com.blackduck.integration.rest.IntHttpClientFixture.HTTP_URL
+import static com.blackduck.integration.rest.IntHttpClientFixture.LOGGER
+import static com.blackduck.integration.rest.IntHttpClientFixture.createClient
+import static com.blackduck.integration.rest.IntHttpClientFixture.get
+
+class HedgingHttpTransportTest {
+    @Test
+    void testHedgeAnswersWhileTheFirstAttemptHangs() {
+        AtomicInteger sentCount = new AtomicInteger()
+        IntHttpClient restConnection = createClient({ HttpUriRequest request, HttpContext httpContext ->
+            if (1 == sentCount.incrementAndGet()) {
+                awaitAbort(request)
+            }
+            new DefaultResponse(request, new LoopbackResponse('attempt ' + sentCount.get()))
+        } as HttpTransport)
+        restConnection.setHedgingPolicy(createHedgingPolicy())
+
+        try {
+            restConnection.execute(get()).withCloseable { Response response ->
+                assert 'attempt 2' == response.getContentString()
+            }
+            assert 2 == sentCount.get()
+        } finally {
+            restConnection.close()
+        }
+    }
+
+    @Test
+    void testHedgedRequestCanBeSentAgainAfterReauthentication() {
+        AtomicInteger authenticationCount = new AtomicInteger()
+        AtomicInteger firstTokenCount = new AtomicInteger()
+        AuthenticatingIntHttpClient restConnection = new AuthenticatingIntHttpClient(LOGGER, GSON, CONNECTION_TIMEOUT, false, ProxyInfo.NO_PROXY_INFO) {
+            @Override
+            boolean isAlreadyAuthenticated(HttpUriRequest request) {
+                return request.containsHeader(HttpHeaders.AUTHORIZATION)
+            }
+
+            @Override
+            Response attemptAuthentication() {
+                return new DefaultResponse((HttpUriRequest) null, new LoopbackResponse('token'))
+            }
+
+            @Override
+            protected void completeAuthenticationRequest(HttpUriRequest request, Response response) {
+                request.setHeader(HttpHeaders.AUTHORIZATION, "Bearer token-${authenticationCount.incrementAndGet()}".toString())
+            }
+        }
+        restConnection.setTransport({ HttpUriRequest request, HttpContext httpContext ->
+            if (request.isAborted()) {
+                // as httpclient does, a request that was aborted can not be sent again
+                throw new InterruptedIOException('aborted')
+            }
+            String authorization = request.getFirstHeader(HttpHeaders.AUTHORIZATION).getValue()
+            if ('Bearer token-1' != authorization) {
+                return new DefaultResponse(request, new LoopbackResponse('sent with ' + authorization))
+            }
+            if (1 == firstTokenCount.incrementAndGet()) {
+                // the first attempt hangs until it is aborted, so the hedge answers first, with a 401
+                awaitAbort(request)
+            }
+            new DefaultResponse(request, new LoopbackResponse(401, 'expired'))
+        } as HttpTransport)
+        restConnection.setHedgingPolicy(createHedgingPolicy())
+
+        try {
+            restConnection.execute(get()).withCloseable { Response response ->
+                assert 200 == response.getStatusCode()
+                assert 'sent with Bearer token-2' == response.getContentString()
+            }
+            assert 2 == firstTokenCount.get()
+            assert 2 == authenticationCount.get()
+        } finally {
+            restConnection.close()
+        }
+    }
+
+    @Test
+    void testHedgeIsSkippedWithoutAFreeConnection() {
+        CountDownLatch hedgeConsidered = new CountDownLatch(1)
+        AtomicInteger sentCount = new AtomicInteger()
+        HttpTransport slowTransport = { HttpUriRequest request, HttpContext httpContext ->
+            sentCount.incrementAndGet()
+            assert hedgeConsidered.await(10, TimeUnit.SECONDS)
+            new DefaultResponse(request, new LoopbackResponse('attempt ' + sentCount.get()))
+        } as HttpTransport
+        HedgingHttpTransport hedgingHttpTransport = new HedgingHttpTransport(slowTransport, createHedgingPolicy(), LOGGER, { HttpUriRequest request ->
+            hedgeConsidered.countDown()
+            Optional.empty()
+        })
+
+        try {
+            hedgingHttpTransport.execute(new HttpGet(HTTP_URL.uri()), new BasicHttpContext()).withCloseable { Response response ->
+                assert 'attempt 1' == response.getContentString()
+            }
+            assert 1 == sentCount.get()
+        } finally {
+            hedgingHttpTransport.close()
+        }
+    }
+
+    @Test
+    void testHedgesThatKeepWinningRaiseThePercentileDelay() {
+        HttpTransport slowPrimaryTransport = { HttpUriRequest request, HttpContext httpContext ->
+            if (!Thread.currentThread().getName().startsWith('int-http-client-hedge')) {
+                awaitAbort(request)
+            }
+            Thread.sleep(100)
+            new DefaultResponse(request, new LoopbackResponse('hedge'))
+        } as HttpTransport
+        HedgingPolicyBuilder hedgingPolicyBuilder = HedgingPolicy.newBuilder()
+        hedgingPolicyBuilder.setHedgeDelayInMilliseconds(20)
+        hedgingPolicyBuilder.setLatencyPercentile(0.5)
+        hedgingPolicyBuilder.setMinimumLatencySamples(3)
+        HedgingHttpTransport hedgingHttpTransport = new HedgingHttpTransport(slowPrimaryTransport, hedgingPolicyBuilder.build(), LOGGER)
+
+        try {
+            3.times {
+                hedgingHttpTransport.execute(new HttpGet(HTTP_URL.uri()), new BasicHttpContext()).withCloseable { Response response ->
+                    assert 'hedge' == response.getContentString()
+                }
+            }
+            assert hedgingHttpTransport.getHedgeDelayInMilliseconds() >= 100
+        } finally {
+            hedgingHttpTransport.close()
+        }
+    }
+
+    private HedgingPolicy createHedgingPolicy() {
+        HedgingPolicyBuilder hedgingPolicyBuilder = HedgingPolicy.newBuilder()
+        hedgingPolicyBuilder.setHedgeDelayInMilliseconds(50)
+        return hedgingPolicyBuilder.build()
+    }
+
+    private void awaitAbort(HttpUriRequest request) {
+        CountDownLatch aborted = new CountDownLatch(1)
+        ((HttpRequestBase) request).setCancellable({ aborted.countDown(); true } as Cancellable)
+        if (!request.isAborted()) {
+            assert aborted.await(10, TimeUnit.SECONDS)
+        }
+        throw new InterruptedIOException('aborted')
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.blackduck.integration.rest.ratelimit
+
+import com.blackduck.integration.exception.IntegrationException
+import com.blackduck.integration.rest.LoopbackResponse
+import com.blackduck.integration.rest.client.IntHttpClient
+import com.blackduck.integration.rest.exception.RateLimitExceededException
+import com.blackduck.integration.rest.response.DefaultResponse
+import com.blackduck.integration.rest.transport.HttpTransport
+import org.apache.http.client.methods.HttpUriRequest
+import org.apache.http.protocol.HttpContext
+import org.junit.jupiter.api.Test
+
+import static com.blackduck.integration.rest.IntHttpClientFixture.HTTP_URL
+import static com.blackduck.integration.rest.IntHttpClientFixture.createClient
+import static com.blackduck.integration.rest.IntHttpClientFixture.get
+import static org.junit.jupiter.api.Assertions.assertThrows
+
+class RateLimiterTest {
+    private static final URI SERVER_URI = URI.create('https://www.blackduck.com/api/projects')
+
+    @Test
+    void testInterruptedWaitRefundsTheReservedToken() {
+        long nowNanos = 0L
+        RateLimiterConfigBuilder rateLimiterConfigBuilder = RateLimiterConfig.newBuilder()
+        rateLimiterConfigBuilder.setDefaultRateLimit(RateLimit.perSecond(1))
+        RateLimiter rateLimiter = new RateLimiter(rateLimiterConfigBuilder.build(), { nowNanos })
+
+        rateLimiter.acquire(SERVER_URI, 'GET', 0L)
+        Thread.currentThread().interrupt()
+        try {
+            assertThrows(IntegrationException.class, { rateLimiter.acquire(SERVER_URI, 'GET', 5000L) })
+        } finally {
+            Thread.interrupted()
+        }
+
+        // had the interrupted wait kept its token, the next one would be two intervals away
+        nowNanos = 1_000_000_000L
+        assert rateLimiter.tryAcquire(SERVER_URI, 'GET')
+        assert !rateLimiter.tryAcquire(SERVER_URI, 'GET')
+        assertThrows(RateLimitExceededException.class, { rateLimiter.acquire(SERVER_URI, 'GET', 0L) })
+    }
+
+    @Test
+    void testNonBlockingLimiterRejectsRequestsOverTheLimit() {
+        IntHttpClient restConnection = createClient({ HttpUriRequest request, HttpContext httpContext ->
+            new DefaultResponse(request, new LoopbackResponse('loopback body'))
+        } as HttpTransport)
+        RateLimiterConfigBuilder rateLimiterConfigBuilder = RateLimiterConfig.newBuilder()
+        rateLimiterConfigBuilder.setRateLimitForHost(HTTP_URL, new RateLimit(0.001, 2))
+        rateLimiterConfigBuilder.setBlocking(false)
+        restConnection.setRateLimiter(new RateLimiter(rateLimiterConfigBuilder.build()))
+
+        try {
+            2.times {
+                restConnection.execute(get()).close()
+            }
+            RateLimitExceededException e = assertThrows(RateLimitExceededException.class, { restConnection.execute(get()) })
+            assert e.getMessage().contains('GET')
+
+            RateLimiterMetrics metrics = restConnection.getRateLimiter().get().getMetrics()
+            assert 2 == metrics.getAcquiredCount()
+            assert 1 == metrics.getRejectedCount()
+            assert 0 == metrics.getDelayedCount()
+        } finally {
+            restConnection.close()
+        }
+    }
+
+}
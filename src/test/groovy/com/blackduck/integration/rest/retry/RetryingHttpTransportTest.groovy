@@ -0,0 +1,101 @@
+package com.blackduck.integration.rest.retry
+
+import com.blackduck.integration.rest.HttpMethod
+import com.blackduck.integration.rest.LoopbackResponse
+import com.blackduck.integration.rest.body.StringBodyContent
+import com.blackduck.integration.rest.client.IntHttpClient
+import com.blackduck.integration.rest.request.Request
+import com.blackduck.integration.rest.response.DefaultResponse
+import com.blackduck.integration.rest.response.Response
+import com.blackduck.integration.rest.transport.HttpTransport
+import org.apache.http.HttpHeaders
+import org.apache.http.client.methods.HttpGet
+import org.apache.http.client.methods.HttpUriRequest
+import org.apache.http.protocol.BasicHttpContext
+import org.apache.http.protocol.HttpContext
+import org.junit.jupiter.api.Test
+
+import static com.blackduck.integration.rest.IntHttpClientFixture.LOGGER
+import static com.blackduck.integration.rest.IntHttpClientFixture.HTTP_URL
+import static com.blackduck.integration.rest.IntHttpClientFixture.createClient
+import static com.blackduck.integration.rest.IntHttpClientFixture.get
+
+class RetryingHttpTransportTest {
+    @Test
+    void testRetriesRetryableResponses() {
+        List<Integer> statusCodes = [503, 429, 200]
+        List<String> sentMethods = []
+        IntHttpClient restConnection = createClient({ HttpUriRequest request, HttpContext httpContext ->
+            sentMethods.add(request.getMethod())
+            int statusCode = sentMethods.size() <= statusCodes.size() ? statusCodes[sentMethods.size() - 1] : 503
+            LoopbackResponse loopbackResponse = new LoopbackResponse(statusCode, 'attempt ' + sentMethods.size())
+            if (429 == statusCode) {
+                loopbackResponse.addHeader(HttpHeaders.RETRY_AFTER, '0')
+            }
+            new DefaultResponse(request, loopbackResponse)
+        } as HttpTransport)
+        restConnection.setRetryPolicy(createRetryPolicy(3))
+
+        try {
+            restConnection.execute(get()).withCloseable { Response response ->
+                assert 200 == response.getStatusCode()
+                assert 'attempt 3' == response.getContentString()
+            }
+            assert ['GET', 'GET', 'GET'] == sentMethods
+
+            sentMethods.clear()
+            statusCodes = [503]
+            Request postRequest = new Request.Builder(HTTP_URL).method(HttpMethod.POST).bodyContent(StringBodyContent.json('{}')).build()
+            restConnection.execute(postRequest).withCloseable { Response response ->
+                assert 503 == response.getStatusCode()
+            }
+            assert ['POST'] == sentMethods
+        } finally {
+            restConnection.close()
+        }
+    }
+
+    @Test
+    void testStopsRetryingOnceTheBudgetIsSpent() {
+        long nowNanos = 0L
+        int sentCount = 0
+        HttpTransport unavailable = { HttpUriRequest request, HttpContext httpContext ->
+            sentCount++
+            new DefaultResponse(request, new LoopbackResponse(503, 'unavailable'))
+        } as HttpTransport
+        // no retries in proportion to the requests, so only the allowance of one retry a second over the window
+        RetryBudget retryBudget = new RetryBudget(0.0, 1, { nowNanos })
+        RetryingHttpTransport retryingHttpTransport = new RetryingHttpTransport(unavailable, createRetryPolicy(3), retryBudget, LOGGER)
+
+        try {
+            List<Integer> sentCounts = (1..5).collect {
+                sentCount = 0
+                retryingHttpTransport.execute(createRequest(), new BasicHttpContext()).withCloseable { Response response ->
+                    assert 503 == response.getStatusCode()
+                }
+                sentCount
+            }
+            assert [4, 4, 4, 2, 1] == sentCounts
+
+            nowNanos += RetryBudget.WINDOW_IN_SECONDS * 1_000_000_000L
+            sentCount = 0
+            retryingHttpTransport.execute(createRequest(), new BasicHttpContext()).close()
+            assert 4 == sentCount
+        } finally {
+            retryingHttpTransport.close()
+        }
+    }
+
+    private RetryPolicy createRetryPolicy(int maxRetries) {
+        RetryPolicyBuilder retryPolicyBuilder = RetryPolicy.newBuilder()
+        retryPolicyBuilder.setMaxRetries(maxRetries)
+        retryPolicyBuilder.setInitialDelayInMilliseconds(1)
+        retryPolicyBuilder.setMaxDelayInMilliseconds(10)
+        return retryPolicyBuilder.build()
+    }
+
+    private HttpUriRequest createRequest() {
+        return new HttpGet(HTTP_URL.uri())
+    }
+
+}
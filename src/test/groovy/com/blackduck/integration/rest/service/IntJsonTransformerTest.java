@@ -2,9 +2,14 @@ package com.blackduck.integration.rest.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
@@ -14,6 +19,9 @@ import com.blackduck.integration.log.IntLogger;
 import com.blackduck.integration.log.LogLevel;
 import com.blackduck.integration.log.PrintStreamIntLogger;
 import com.blackduck.integration.rest.component.IntRestComponent;
+import com.blackduck.integration.rest.component.IntRestResponse;
+import com.blackduck.integration.rest.response.BufferedResponse;
+import com.blackduck.integration.rest.response.Response;
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 
@@ -49,6 +57,8 @@ public class IntJsonTransformerTest {
 
         final ExampleComponent transformedComponent = intJsonTransformer.getComponentAs(exampleComponentJson, ExampleComponent.class);
         assertNotNull(transformedComponent);
+        assertEquals(exampleComponentJson, transformedComponent.getJson());
+        assertEquals(gson.toJson(firstSubComponent), transformedComponent.firstSubComponentField.getJson());
         assertNotNull(transformedComponent.getJson());
         assertNotNull(transformedComponent.getJsonElement());
         assertEquals(FIELD_STRING_VALUE, transformedComponent.stringField);
@@ -73,6 +83,23 @@ public class IntJsonTransformerTest {
         }
     }
 
+    @Test
+    public void getComponentAsTestWithoutComponentJson() throws IntegrationException {
+        FirstSubComponent firstSubComponent = new FirstSubComponent();
+        firstSubComponent.stringField = FIELD_STRING_VALUE;
+        ExampleComponent exampleComponent = new ExampleComponent();
+        exampleComponent.firstSubComponentField = firstSubComponent;
+
+        IntLogger intLogger = new PrintStreamIntLogger(System.out, LogLevel.DEBUG);
+        IntJsonTransformer intJsonTransformer = new IntJsonTransformer(gson, intLogger, false);
+
+        final ExampleComponent transformedComponent = intJsonTransformer.getComponentAs(gson.toJson(exampleComponent), ExampleComponent.class);
+        assertEquals(FIELD_STRING_VALUE, transformedComponent.firstSubComponentField.stringField);
+        assertNull(transformedComponent.getJson());
+        assertNull(transformedComponent.firstSubComponentField.getJson());
+        assertNotNull(transformedComponent.getJsonElement());
+    }
+
     @Test
     public void testNullJsonObject() {
         IntLogger intLogger = new PrintStreamIntLogger(System.out, LogLevel.DEBUG);
@@ -102,6 +129,65 @@ public class IntJsonTransformerTest {
         }
     }
 
+    @Test
+    public void streamResponseTest() throws IntegrationException {
+        ExampleResponse exampleResponse = new ExampleResponse();
+        exampleResponse.stringField = FIELD_STRING_VALUE;
+        exampleResponse.firstSubComponentField = new FirstSubComponent();
+        exampleResponse.firstSubComponentField.intField = FIELD_INTEGER_VALUE;
+        byte[] content = gson.toJson(exampleResponse).getBytes(StandardCharsets.UTF_8);
+
+        IntLogger intLogger = new PrintStreamIntLogger(System.out, LogLevel.DEBUG);
+        IntJsonTransformer intJsonTransformer = new IntJsonTransformer(gson, intLogger);
+
+        Response response = BufferedResponse.create(null, 200, "OK", Collections.emptyMap(), content, "application/json", null);
+        ExampleResponse transformedResponse = intJsonTransformer.streamResponse(response, ExampleResponse.class);
+        assertEquals(FIELD_STRING_VALUE, transformedResponse.stringField);
+        assertEquals(FIELD_INTEGER_VALUE, transformedResponse.firstSubComponentField.intField);
+        assertEquals(gson, transformedResponse.getGson());
+        assertNull(transformedResponse.getJsonElement());
+
+        Response emptyResponse = BufferedResponse.create(null, 204, "No Content", Collections.emptyMap(), (byte[]) null, null, null);
+        assertThrows(IntegrationException.class, () -> intJsonTransformer.streamResponse(emptyResponse, ExampleResponse.class));
+
+        Response truncatedResponse = BufferedResponse.create(null, 200, "OK", Collections.emptyMap(), Arrays.copyOf(content, content.length - 1), "application/json", null);
+        assertThrows(IntegrationException.class, () -> intJsonTransformer.streamResponse(truncatedResponse, ExampleResponse.class));
+    }
+
+    @Test
+    public void streamArrayTest() throws IntegrationException {
+        String json = "{\"totalCount\":3,\"items\":[{\"stringField\":\"test1\",\"intField\":1},null,{\"stringField\":\"test2\",\"intField\":2}],\"_meta\":{\"href\":\"https://www.blackduck.com/api/items\"}}";
+        byte[] content = json.getBytes(StandardCharsets.UTF_8);
+
+        IntLogger intLogger = new PrintStreamIntLogger(System.out, LogLevel.DEBUG);
+        IntJsonTransformer intJsonTransformer = new IntJsonTransformer(gson, intLogger);
+
+        List<FirstSubComponent> components = new ArrayList<>();
+        Response response = BufferedResponse.create(null, 200, "OK", Collections.emptyMap(), content, "application/json", null);
+        JsonObject envelope = intJsonTransformer.streamArray(response, "items", FirstSubComponent.class, components::add);
+        assertEquals(2, components.size());
+        assertEquals(FIELD_STRING_VALUE + 1, components.get(0).stringField);
+        assertEquals(Integer.valueOf(2), components.get(1).intField);
+        assertEquals("{\"stringField\":\"test2\",\"intField\":2}", components.get(1).getJson());
+        assertEquals(3, envelope.get("totalCount").getAsInt());
+        assertEquals("https://www.blackduck.com/api/items", envelope.getAsJsonObject("_meta").get("href").getAsString());
+        assertNull(envelope.get("items"));
+
+        Response failingResponse = BufferedResponse.create(null, 200, "OK", Collections.emptyMap(), content, "application/json", null);
+        assertThrows(IntegrationException.class, () -> intJsonTransformer.streamArray(failingResponse, "items", FirstSubComponent.class, component -> {
+            throw new IntegrationException("Stop reading.");
+        }));
+
+        Response arrayResponse = BufferedResponse.create(null, 200, "OK", Collections.emptyMap(), "[]".getBytes(StandardCharsets.UTF_8), "application/json", null);
+        assertThrows(IntegrationException.class, () -> intJsonTransformer.streamArray(arrayResponse, "items", FirstSubComponent.class, component -> fail("There is no array to read.")));
+    }
+
+    private class ExampleResponse extends IntRestResponse {
+        private FirstSubComponent firstSubComponentField;
+        private String stringField;
+
+    }
+
     private class ExampleComponent extends IntRestComponent {
         private FirstSubComponent firstSubComponentField;
         private String stringField;
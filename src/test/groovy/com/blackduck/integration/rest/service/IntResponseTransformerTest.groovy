@@ -0,0 +1,450 @@
+package com.blackduck.integration.rest.service
+
+import com.blackduck.integration.exception.IntegrationException
+import com.blackduck.integration.log.IntLogger
+import com.blackduck.integration.log.LogLevel
+import com.blackduck.integration.log.PrintStreamIntLogger
+import com.blackduck.integration.rest.HttpUrl
+import com.blackduck.integration.rest.LoopbackResponse
+import com.blackduck.integration.rest.batch.BatchOptionsBuilder
+import com.blackduck.integration.rest.client.IntHttpClient
+import com.blackduck.integration.rest.flow.PagedResponsePublisher
+import com.blackduck.integration.rest.component.IntRestComponent
+import com.blackduck.integration.rest.component.IntRestResponse
+import com.blackduck.integration.rest.proxy.ProxyInfo
+import com.blackduck.integration.rest.request.ContinuationTokenPageRequestHandler
+import com.blackduck.integration.rest.request.NextLinkPageRequestHandler
+import com.blackduck.integration.rest.request.PageRequestHandler
+import com.blackduck.integration.rest.request.Request
+import com.blackduck.integration.rest.response.DefaultResponse
+import com.blackduck.integration.rest.transport.HttpTransport
+import com.blackduck.integration.rest.spill.SpillConfig
+import com.blackduck.integration.rest.spill.SpillConfigBuilder
+import com.blackduck.integration.rest.spill.SpilledItems
+import com.google.gson.Gson
+import org.apache.commons.io.FileUtils
+import org.apache.http.client.methods.HttpUriRequest
+import org.apache.http.client.utils.URLEncodedUtils
+import org.apache.http.protocol.HttpContext
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.nio.file.Path
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executor
+import java.util.concurrent.Flow
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+import static org.junit.jupiter.api.Assertions.assertThrows
+
+class IntResponseTransformerTest {
+    private static final int TOTAL_COUNT = 23
+    private static final int PAGE_SIZE = 5
+
+    private final IntLogger logger = new PrintStreamIntLogger(System.out, LogLevel.INFO)
+    private final Gson gson = new Gson()
+    private final HttpUrl itemsUrl = new HttpUrl('https://www.blackduck.com/api/items')
+    private final AtomicInteger requestCount = new AtomicInteger()
+    private final AtomicInteger inFlight = new AtomicInteger()
+    private final AtomicInteger maxInFlight = new AtomicInteger()
+    private volatile CountDownLatch pagesAfterTheFirstInFlight
+
+    private IntHttpClient intHttpClient
+    private IntResponseTransformer intResponseTransformer
+
+    @BeforeEach
+    void setUp() {
+        intHttpClient = new IntHttpClient(logger, gson, 30, false, ProxyInfo.NO_PROXY_INFO)
+        intHttpClient.setTransport({ HttpUriRequest request, HttpContext httpContext ->
+            requestCount.incrementAndGet()
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math.&max)
+            try {
+                Map<String, String> parameters = URLEncodedUtils.parse(request.getURI(), StandardCharsets.UTF_8).collectEntries { [(it.getName()): it.getValue()] }
+                int offset = (parameters['offset'] ?: parameters['cursor'] ?: '0') as int
+                int limit = parameters['limit'] as int
+                if (offset > 0 && null != pagesAfterTheFirstInFlight) {
+                    // holds the page back until another is in flight alongside it, which never happens if the pages are fetched one at a time
+                    pagesAfterTheFirstInFlight.countDown()
+                    pagesAfterTheFirstInFlight.await(5, TimeUnit.SECONDS)
+                }
+                int end = Math.min(offset + limit, TOTAL_COUNT)
+                Map<String, Object> itemPage = [totalCount: TOTAL_COUNT, items: (offset..<end).collect { "item-$it".toString() }]
+                if (end < TOTAL_COUNT) {
+                    itemPage.nextToken = String.valueOf(end)
+                    itemPage._meta = [links: [[rel: 'next', href: "/api/items?cursor=$end&limit=$limit".toString()]]]
+                }
+                return new DefaultResponse(request, new LoopbackResponse(gson.toJson(itemPage)))
+            } finally {
+                inFlight.decrementAndGet()
+            }
+        } as HttpTransport)
+        intResponseTransformer = new IntResponseTransformer(intHttpClient, new IntJsonTransformer(gson, logger))
+    }
+
+    @AfterEach
+    void tearDown() {
+        intHttpClient.close()
+    }
+
+    @Test
+    void testCancellingGetResponseAsyncAbortsTheRequest() {
+        CompletableFuture<HttpUriRequest> sentRequest = new CompletableFuture<>()
+        CountDownLatch released = new CountDownLatch(1)
+        intHttpClient.setTransport({ HttpUriRequest request, HttpContext httpContext ->
+            sentRequest.complete(request)
+            released.await(5, TimeUnit.SECONDS)
+            new DefaultResponse(request, new LoopbackResponse('{}'))
+        } as HttpTransport)
+
+        CompletableFuture<ItemPage> futureResponse = intResponseTransformer.getResponseAsync(new Request.Builder(itemsUrl).build(), ItemPage.class)
+        HttpUriRequest request = sentRequest.get(5, TimeUnit.SECONDS)
+        assert !request.isAborted()
+
+        assert futureResponse.cancel(true)
+        released.countDown()
+        assert request.isAborted()
+    }
+
+    @Test
+    void testGetResponsesInParallel() {
+        BatchOptionsBuilder batchOptionsBuilder = new BatchOptionsBuilder()
+        batchOptionsBuilder.setParallelism(3)
+        pagesAfterTheFirstInFlight = new CountDownLatch(2)
+
+        ItemPage allItems = intResponseTransformer.getResponses(new Request.Builder(itemsUrl), new OffsetPageRequestHandler(), ItemPage.class, PAGE_SIZE, batchOptionsBuilder.build())
+
+        assert (0..<TOTAL_COUNT).collect { "item-$it".toString() } == allItems.items
+        assert 5 == requestCount.get()
+        assert 0 == pagesAfterTheFirstInFlight.getCount()
+        assert maxInFlight.get() > 1
+        assert maxInFlight.get() <= 3
+    }
+
+    @Test
+    void testIterateResponses() {
+        List<String> allItems = []
+        PagedResponseIterator<ItemPage> pagedResponses = intResponseTransformer.iterateResponses(new Request.Builder(itemsUrl), new OffsetPageRequestHandler(), ItemPage.class, PAGE_SIZE, 2)
+        assert 0 == requestCount.get()
+
+        while (pagedResponses.hasNext()) {
+            allItems.addAll(pagedResponses.next().items)
+        }
+
+        assert (0..<TOTAL_COUNT).collect { "item-$it".toString() } == allItems
+        assert 5 == requestCount.get()
+        assert maxInFlight.get() <= 2
+    }
+
+    @Test
+    void testGetResponsesAsStreamStopsWhenClosed() {
+        List<String> firstItems
+        intResponseTransformer.getResponsesAsStream(new Request.Builder(itemsUrl), new OffsetPageRequestHandler(), ItemPage.class, PAGE_SIZE, 1).withCloseable { pages ->
+            firstItems = pages.findFirst().get().items
+        }
+
+        assert (0..<PAGE_SIZE).collect { "item-$it".toString() } == firstItems
+        assert requestCount.get() <= 2
+    }
+
+    @Test
+    void testGetResponsesFollowingNextLinks() {
+        ItemPage allItems = intResponseTransformer.getResponses(new Request.Builder(itemsUrl), new ItemPageNextLinkHandler(), ItemPage.class, PAGE_SIZE)
+
+        assert (0..<TOTAL_COUNT).collect { "item-$it".toString() } == allItems.items
+        assert 5 == requestCount.get()
+    }
+
+    @Test
+    void testNextLinkToAnotherHostIsRejected() {
+        respondWithNextLinks(['0': 'https://www.elsewhere.com/api/items?cursor=5'])
+
+        IntegrationException e = assertThrows(IntegrationException.class, { ->
+            intResponseTransformer.getResponses(new Request.Builder(itemsUrl), new ItemPageNextLinkHandler(), ItemPage.class, PAGE_SIZE)
+        })
+        assert e.getMessage().contains('https://www.elsewhere.com/api/items?cursor=5')
+        assert 1 == requestCount.get()
+    }
+
+    @Test
+    void testNextLinksThatCycleAreRejected() {
+        respondWithNextLinks(['0': '/api/items?cursor=5', '5': '/api/items?cursor=10', '10': '/api/items?cursor=5'])
+
+        IntegrationException e = assertThrows(IntegrationException.class, { ->
+            intResponseTransformer.getResponses(new Request.Builder(itemsUrl), new ItemPageNextLinkHandler(), ItemPage.class, PAGE_SIZE)
+        })
+        assert e.getMessage().contains('/api/items?cursor=5')
+        assert 3 == requestCount.get()
+    }
+
+    @Test
+    void testIterateResponsesFollowingContinuationTokens() {
+        List<String> allItems = []
+        intResponseTransformer.getResponsesAsStream(new Request.Builder(itemsUrl), new ItemPageContinuationTokenHandler(), ItemPage.class, PAGE_SIZE).withCloseable { pages ->
+            pages.each { allItems.addAll(it.items) }
+        }
+
+        assert (0..<TOTAL_COUNT).collect { "item-$it".toString() } == allItems
+        assert 5 == requestCount.get()
+        assert maxInFlight.get() <= 1
+    }
+
+    @Test
+    void testPagedResponsePublisherFollowsDemand() {
+        PagedResponsePublisher<ItemPage> publisher = PagedResponsePublisher.ofOffsetPages(intResponseTransformer, new Request.Builder(itemsUrl), new OffsetPageRequestHandler(), ItemPage.class, PAGE_SIZE, 2)
+
+        List<String> pagedItems = collectItems(publisher, 1)
+        assert (0..<TOTAL_COUNT).collect { "item-$it".toString() } == pagedItems
+        assert 5 == requestCount.get()
+        assert 1 == maxInFlight.get()
+
+        requestCount.set(0)
+        List<String> allItems = collectItems(publisher, Long.MAX_VALUE)
+        assert (0..<TOTAL_COUNT).collect { "item-$it".toString() } == allItems
+        assert 5 == requestCount.get()
+        assert maxInFlight.get() <= 2
+    }
+
+    @Test
+    void testPagedResponsePublisherStopsWhenCancelled() {
+        // pages are sent on the subscribing thread, so every request the publisher makes has been made once subscribe returns
+        intHttpClient.setExecutor({ Runnable command -> command.run() } as Executor)
+        PagedResponsePublisher<ItemPage> publisher = PagedResponsePublisher.ofCursorPages(intResponseTransformer, new Request.Builder(itemsUrl), new ItemPageContinuationTokenHandler(), ItemPage.class, PAGE_SIZE)
+        CompletableFuture<List<String>> firstItems = new CompletableFuture<>()
+        publisher.subscribe(new Flow.Subscriber<ItemPage>() {
+            private Flow.Subscription subscription
+
+            @Override
+            void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription
+                subscription.request(Long.MAX_VALUE)
+            }
+
+            @Override
+            void onNext(ItemPage page) {
+                subscription.cancel()
+                firstItems.complete(page.items)
+            }
+
+            @Override
+            void onError(Throwable throwable) {
+                firstItems.completeExceptionally(throwable)
+            }
+
+            @Override
+            void onComplete() {
+                firstItems.completeExceptionally(new IllegalStateException('Completed after being cancelled.'))
+            }
+        })
+
+        assert (0..<PAGE_SIZE).collect { "item-$it".toString() } == firstItems.getNow(null)
+        assert 1 == requestCount.get()
+    }
+
+    @Test
+    void testPagedResponsePublisherStopsWhenOnNextThrows() {
+        intHttpClient.setExecutor({ Runnable command -> command.run() } as Executor)
+        PagedResponsePublisher<ItemPage> publisher = PagedResponsePublisher.ofOffsetPages(intResponseTransformer, new Request.Builder(itemsUrl), new OffsetPageRequestHandler(), ItemPage.class, PAGE_SIZE, 2)
+        AtomicInteger signalCount = new AtomicInteger()
+        Flow.Subscription pageSubscription = null
+        publisher.subscribe(new Flow.Subscriber<ItemPage>() {
+            @Override
+            void onSubscribe(Flow.Subscription subscription) {
+                pageSubscription = subscription
+                subscription.request(Long.MAX_VALUE)
+            }
+
+            @Override
+            void onNext(ItemPage page) {
+                signalCount.incrementAndGet()
+                throw new IllegalStateException('The subscriber failed.')
+            }
+
+            @Override
+            void onError(Throwable throwable) {
+                signalCount.incrementAndGet()
+            }
+
+            @Override
+            void onComplete() {
+                signalCount.incrementAndGet()
+            }
+        })
+
+        pageSubscription.request(1)
+        assert 1 == signalCount.get()
+        assert 1 == requestCount.get()
+    }
+
+    @Test
+    void testCollectResponseItemsSpillsToDisk() {
+        Path spillDirectory = Files.createTempDirectory('spill')
+        try {
+            SpillConfigBuilder spillConfigBuilder = SpillConfig.newBuilder()
+            spillConfigBuilder.setMemoryThresholdBytes(50)
+            spillConfigBuilder.setSpillDirectory(spillDirectory.toFile())
+
+            SpilledItems<String> spilledItems = intResponseTransformer.collectResponseItems(new Request.Builder(itemsUrl), new OffsetPageRequestHandler(), ItemPage.class, PAGE_SIZE,
+                { ItemPage page -> page.items }, String.class, spillConfigBuilder.build())
+            assert spilledItems.isSpilled()
+            assert TOTAL_COUNT == spilledItems.size()
+            assert 1 == spillDirectory.toFile().list().length
+            assert (0..<TOTAL_COUNT).collect { "item-$it".toString() } == spilledItems.collect()
+            spilledItems.stream().withCloseable { items ->
+                assert 'item-22' == items.skip(TOTAL_COUNT - 1).findFirst().get()
+            }
+
+            Iterator<String> abandonedItems = spilledItems.iterator()
+            assert 'item-0' == abandonedItems.next()
+
+            spilledItems.close()
+            assert 0 == spillDirectory.toFile().list().length
+            assertThrows(UncheckedIOException.class, { abandonedItems.next() })
+
+            SpilledItems<String> bufferedItems = intResponseTransformer.collectResponseItems(new Request.Builder(itemsUrl), new OffsetPageRequestHandler(), ItemPage.class, PAGE_SIZE,
+                { ItemPage page -> page.items }, String.class, SpillConfig.DEFAULT)
+            assert !bufferedItems.isSpilled()
+            assert (0..<TOTAL_COUNT).collect { "item-$it".toString() } == bufferedItems.collect()
+            bufferedItems.close()
+        } finally {
+            FileUtils.deleteDirectory(spillDirectory.toFile())
+        }
+    }
+
+    @Test
+    void testCollectResponseItemsKeepsTheJsonOfComponents() {
+        intHttpClient.setTransport({ HttpUriRequest request, HttpContext httpContext ->
+            Map<String, Object> itemPage = [totalCount: 2, items: ['item-0', 'item-1'], namedItems: [[name: 'item-0', id: 0], [name: 'item-1', id: 1]]]
+            new DefaultResponse(request, new LoopbackResponse(gson.toJson(itemPage)))
+        } as HttpTransport)
+        SpillConfigBuilder spillConfigBuilder = SpillConfig.newBuilder()
+        spillConfigBuilder.setMemoryThresholdBytes(30)
+
+        [SpillConfig.DEFAULT, spillConfigBuilder.build()].each { SpillConfig spillConfig ->
+            SpilledItems<NamedItem> namedItems = intResponseTransformer.collectResponseItems(new Request.Builder(itemsUrl), new OffsetPageRequestHandler(), ItemPage.class, PAGE_SIZE,
+                { ItemPage page -> page.namedItems }, NamedItem.class, spillConfig)
+            try {
+                assert (SpillConfig.DEFAULT != spillConfig) == namedItems.isSpilled()
+                assert ['item-0', 'item-1'] == namedItems.collect { it.name }
+                assert ['{"name":"item-0","id":0}', '{"name":"item-1","id":1}'] == namedItems.collect { it.getJson() }
+                assert [0, 1] == namedItems.collect { it.getJsonElement().getAsJsonObject().get('id').getAsInt() }
+            } finally {
+                namedItems.close()
+            }
+        }
+    }
+
+    private void respondWithNextLinks(Map<String, String> nextLinksByCursor) {
+        intHttpClient.setTransport({ HttpUriRequest request, HttpContext httpContext ->
+            requestCount.incrementAndGet()
+            String cursor = URLEncodedUtils.parse(request.getURI(), StandardCharsets.UTF_8).find { 'cursor' == it.getName() }?.getValue() ?: '0'
+            Map<String, Object> itemPage = [totalCount: TOTAL_COUNT, items: [], _meta: [links: [[rel: 'next', href: nextLinksByCursor[cursor]]]]]
+            new DefaultResponse(request, new LoopbackResponse(gson.toJson(itemPage)))
+        } as HttpTransport)
+    }
+
+    private List<String> collectItems(Flow.Publisher<ItemPage> publisher, long demand) {
+        List<String> items = Collections.synchronizedList([])
+        CompletableFuture<Void> completed = new CompletableFuture<>()
+        publisher.subscribe(new Flow.Subscriber<ItemPage>() {
+            private Flow.Subscription subscription
+
+            @Override
+            void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription
+                subscription.request(demand)
+            }
+
+            @Override
+            void onNext(ItemPage page) {
+                items.addAll(page.items)
+                if (Long.MAX_VALUE != demand) {
+                    subscription.request(demand)
+                }
+            }
+
+            @Override
+            void onError(Throwable throwable) {
+                completed.completeExceptionally(throwable)
+            }
+
+            @Override
+            void onComplete() {
+                completed.complete(null)
+            }
+        })
+        completed.get(10, TimeUnit.SECONDS)
+        return items
+    }
+
+    static class ItemPage extends IntRestResponse {
+        int totalCount
+        List<String> items = []
+        List<NamedItem> namedItems = []
+        String nextToken
+
+        static ItemPage combine(Collection<ItemPage> pagedResponses) {
+            ItemPage combined = new ItemPage(totalCount: TOTAL_COUNT)
+            pagedResponses.each { combined.items.addAll(it.items) }
+            return combined
+        }
+    }
+
+    static class NamedItem extends IntRestComponent {
+        String name
+    }
+
+    static class ItemPageNextLinkHandler extends NextLinkPageRequestHandler {
+        ItemPageNextLinkHandler() {
+            super('limit')
+        }
+
+        @Override
+        <R extends IntRestResponse> R combineResponses(Collection<R> pagedResponses) {
+            return (R) ItemPage.combine((Collection<ItemPage>) pagedResponses)
+        }
+    }
+
+    static class ItemPageContinuationTokenHandler extends ContinuationTokenPageRequestHandler {
+        ItemPageContinuationTokenHandler() {
+            super('cursor', 'limit')
+        }
+
+        @Override
+        <R extends IntRestResponse> Optional<String> getContinuationToken(R response) {
+            return Optional.ofNullable(((ItemPage) response).nextToken)
+        }
+
+        @Override
+        <R extends IntRestResponse> R combineResponses(Collection<R> pagedResponses) {
+            return (R) ItemPage.combine((Collection<ItemPage>) pagedResponses)
+        }
+    }
+
+    static class OffsetPageRequestHandler implements PageRequestHandler {
+        @Override
+        Request createPageRequest(Request.Builder requestBuilder, int offset, int limit) {
+            return new Request.Builder(requestBuilder).setQueryParameter('offset', String.valueOf(offset)).setQueryParameter('limit', String.valueOf(limit)).build()
+        }
+
+        @Override
+        <R extends IntRestResponse> int getTotalResponseCount(R response) {
+            return ((ItemPage) response).totalCount
+        }
+
+        @Override
+        <R extends IntRestResponse> int getCurrentResponseCount(R response) {
+            return ((ItemPage) response).items.size()
+        }
+
+        @Override
+        <R extends IntRestResponse> R combineResponses(Collection<R> pagedResponses) {
+            return (R) ItemPage.combine((Collection<ItemPage>) pagedResponses)
+        }
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.blackduck.integration.rest;
+
+import org.apache.http.HttpVersion;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.message.BasicHttpResponse;
+
+/**
+ * A response for transports in tests to return without a server.
+ */
+public class LoopbackResponse extends BasicHttpResponse implements CloseableHttpResponse {
+    public LoopbackResponse() {
+        super(HttpVersion.HTTP_1_1, RestConstants.OK_200, "OK");
+    }
+
+    public LoopbackResponse(String body) {
+        this(RestConstants.OK_200, body);
+    }
+
+    public LoopbackResponse(int statusCode, String body) {
+        super(HttpVersion.HTTP_1_1, statusCode, "Loopback");
+        setEntity(new StringEntity(body, ContentType.DEFAULT_TEXT));
+    }
+
+    @Override
+    public void close() {
+    }
+
+}
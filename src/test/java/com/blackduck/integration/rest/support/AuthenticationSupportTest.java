@@ -1,31 +1,38 @@
 package com.blackduck.integration.rest.support;
 
 import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.http.HttpHeaders;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.client.methods.RequestBuilder;
-import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClientBuilder;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import com.blackduck.integration.exception.IntegrationException;
+import com.blackduck.integration.log.LogLevel;
+import com.blackduck.integration.log.PrintStreamIntLogger;
 import com.blackduck.integration.rest.HttpMethod;
 import com.blackduck.integration.rest.HttpUrl;
+import com.blackduck.integration.rest.LoopbackResponse;
+import com.blackduck.integration.rest.RestConstants;
+import com.blackduck.integration.rest.circuitbreaker.CircuitBreakerConfig;
+import com.blackduck.integration.rest.circuitbreaker.CircuitBreakerConfigBuilder;
+import com.blackduck.integration.rest.circuitbreaker.CircuitBreakerRegistry;
 import com.blackduck.integration.rest.client.AuthenticatingIntHttpClient;
+import com.blackduck.integration.rest.exception.CircuitBreakerOpenException;
+import com.blackduck.integration.rest.proxy.ProxyInfo;
+import com.blackduck.integration.rest.response.DefaultResponse;
+import com.blackduck.integration.rest.response.Response;
+import com.blackduck.integration.rest.transport.HttpTransport;
+import com.google.gson.Gson;
 
 class AuthenticationSupportTest {
     @Test
     void testContentLengthSetWithoutEntity() throws IntegrationException, IOException {
-        CloseableHttpClient mockHttpClient = Mockito.mock(CloseableHttpClient.class);
-        HttpClientBuilder mockHttpClientBuilder = Mockito.mock(HttpClientBuilder.class);
-        Mockito.when(mockHttpClientBuilder.build()).thenReturn(mockHttpClient);
-
         AuthenticatingIntHttpClient mockClient = Mockito.mock(AuthenticatingIntHttpClient.class);
-        Mockito.when(mockClient.getClientBuilder()).thenReturn(mockHttpClientBuilder);
 
         AuthenticationSupport authenticationSupport = new AuthenticationSupport();
 
@@ -34,22 +41,56 @@ class AuthenticationSupportTest {
 
         authenticationSupport.attemptAuthentication(mockClient, new HttpUrl("https://www.blackduck.com"), requestBuilder);
 
-        Mockito.verify(mockHttpClient).execute(requestCaptor.capture());
+        Mockito.verify(mockClient).executeWithinLimits(requestCaptor.capture(), Mockito.any());
 
         Assertions.assertTrue(requestCaptor.getValue().containsHeader(HttpHeaders.CONTENT_LENGTH));
         Assertions.assertEquals("0", requestCaptor.getValue().getFirstHeader(HttpHeaders.CONTENT_LENGTH).getValue());
     }
 
-
+    @Test
+    void testAuthenticationIsNotSentWhileTheCircuitIsOpen() throws IntegrationException, IOException {
+        AtomicInteger sentCount = new AtomicInteger();
+        AuthenticatingIntHttpClient client = new AuthenticatingIntHttpClient(new PrintStreamIntLogger(System.out, LogLevel.INFO), new Gson(), 120, false, ProxyInfo.NO_PROXY_INFO) {
+            @Override
+            public boolean isAlreadyAuthenticated(HttpUriRequest request) {
+                return true;
+            }
+
+            @Override
+            public Response attemptAuthentication() {
+                return null;
+            }
+
+            @Override
+            protected void completeAuthenticationRequest(HttpUriRequest request, Response response) {
+            }
+        };
+        client.setTransport((request, httpContext) -> {
+            sentCount.incrementAndGet();
+            return new DefaultResponse(request, new LoopbackResponse(RestConstants.INTERNAL_ERROR_500, "unavailable"));
+        });
+        CircuitBreakerConfigBuilder circuitBreakerConfigBuilder = CircuitBreakerConfig.newBuilder();
+        circuitBreakerConfigBuilder.setSlidingWindowSize(1);
+        circuitBreakerConfigBuilder.setMinimumNumberOfCalls(1);
+        client.setCircuitBreakerRegistry(new CircuitBreakerRegistry(circuitBreakerConfigBuilder.build()));
+
+        try {
+            HttpUrl url = new HttpUrl("https://www.blackduck.com");
+            AuthenticationSupport authenticationSupport = new AuthenticationSupport();
+            authenticationSupport.attemptAuthentication(client, url, RequestBuilder.create(HttpMethod.POST.name())).close();
+            Assertions.assertThrows(CircuitBreakerOpenException.class, () -> authenticationSupport.attemptAuthentication(client, url, RequestBuilder.create(HttpMethod.POST.name())));
+            Assertions.assertEquals(1, sentCount.get());
+        } finally {
+            client.close();
+        }
+    }
 
     @Test
     void testReplaceAuthorizationHeader() {
-        CloseableHttpClient mockHttpClient = Mockito.mock(CloseableHttpClient.class);
-        HttpClientBuilder mockHttpClientBuilder = Mockito.mock(HttpClientBuilder.class);
-        Mockito.when(mockHttpClientBuilder.build()).thenReturn(mockHttpClient);
+        HttpTransport mockTransport = Mockito.mock(HttpTransport.class);
 
         AuthenticatingIntHttpClient mockClient = Mockito.mock(AuthenticatingIntHttpClient.class);
-        Mockito.when(mockClient.getClientBuilder()).thenReturn(mockHttpClientBuilder);
+        Mockito.when(mockClient.getTransport()).thenReturn(mockTransport);
 
         AuthenticationSupport authenticationSupport = new AuthenticationSupport();
         RequestBuilder requestBuilder = RequestBuilder.create(HttpMethod.POST.name());